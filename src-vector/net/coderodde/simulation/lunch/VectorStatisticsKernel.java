@@ -0,0 +1,233 @@
+package net.coderodde.simulation.lunch;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * This class implements the statistics kernel with the incubating Vector 
+ * API. The observations are widened to {@code long} lanes on load, so that
+ * the sums and the sums of squares never overflow. Each group keeps its own
+ * lane accumulators which are updated under the mask of the lanes belonging
+ * to the group; hence all the groups are handled in one pass. The histogram
+ * bins of a block of lanes are counted right after the block is loaded, 
+ * while it is still in the cache; the Vector API has no conflict-free 
+ * scatter to count them in lanes. The class is 
+ * loaded reflectively by {@link StatisticsKernel} and requires the module 
+ * {@code jdk.incubator.vector}, which is why it lives in the optional source
+ * root {@code src-vector} rather than in {@code src}.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+final class VectorStatisticsKernel extends StatisticsKernel {
+    
+    private static final VectorSpecies<Long> LONG_SPECIES = 
+            LongVector.SPECIES_PREFERRED;
+    
+    // Half as wide as the long species, so that both have as many lanes.
+    private static final VectorSpecies<Integer> INT_SPECIES = 
+            VectorSpecies.of(int.class, 
+                             VectorShape.forBitSize(
+                                     LONG_SPECIES.vectorBitSize() / 2));
+    
+    private static final int LANES = LONG_SPECIES.length();
+    
+    /**
+     * The largest number of groups handled by the vectorized pass; as many as
+     * there may be academic degrees in a {@link PackedPopulation}. More 
+     * groups are delegated to the scalar kernel.
+     */
+    private static final int MAXIMUM_GROUPS = 4;
+
+    @Override
+    void accumulate(int[] groups, int[] values, int length, Moments moments) {
+        if (moments.counts.length > MAXIMUM_GROUPS) {
+            getScalarInstance().accumulate(groups, values, length, moments);
+            return;
+        }
+        
+        // Four sets of accumulators living in registers; the sets of absent
+        // groups simply never match.
+        LongVector sum0 = LongVector.zero(LONG_SPECIES);
+        LongVector sum1 = sum0;
+        LongVector sum2 = sum0;
+        LongVector sum3 = sum0;
+        LongVector squareSum0 = sum0;
+        LongVector squareSum1 = sum0;
+        LongVector squareSum2 = sum0;
+        LongVector squareSum3 = sum0;
+        LongVector minimum0 = 
+                LongVector.broadcast(LONG_SPECIES, Integer.MAX_VALUE);
+        LongVector minimum1 = minimum0;
+        LongVector minimum2 = minimum0;
+        LongVector minimum3 = minimum0;
+        LongVector maximum0 = 
+                LongVector.broadcast(LONG_SPECIES, Integer.MIN_VALUE);
+        LongVector maximum1 = maximum0;
+        LongVector maximum2 = maximum0;
+        LongVector maximum3 = maximum0;
+        long count0 = 0L;
+        long count1 = 0L;
+        long count2 = 0L;
+        long count3 = 0L;
+        long[][] histograms = moments.histograms;
+        
+        int bound = INT_SPECIES.loopBound(length);
+        int i = 0;
+        
+        for (; i < bound; i += LANES) {
+            LongVector value = widen(values, i);
+            LongVector square = value.mul(value);
+            // Comparing the widened groups is much faster than casting an
+            // int mask to the long shape.
+            LongVector group = widen(groups, i);
+            VectorMask<Long> mask;
+            
+            mask = group.eq(0L);
+            count0 += mask.trueCount();
+            sum0 = sum0.add(value, mask);
+            squareSum0 = squareSum0.add(square, mask);
+            minimum0 = minimum0.lanewise(VectorOperators.MIN, value, mask);
+            maximum0 = maximum0.lanewise(VectorOperators.MAX, value, mask);
+            
+            mask = group.eq(1L);
+            count1 += mask.trueCount();
+            sum1 = sum1.add(value, mask);
+            squareSum1 = squareSum1.add(square, mask);
+            minimum1 = minimum1.lanewise(VectorOperators.MIN, value, mask);
+            maximum1 = maximum1.lanewise(VectorOperators.MAX, value, mask);
+            
+            mask = group.eq(2L);
+            count2 += mask.trueCount();
+            sum2 = sum2.add(value, mask);
+            squareSum2 = squareSum2.add(square, mask);
+            minimum2 = minimum2.lanewise(VectorOperators.MIN, value, mask);
+            maximum2 = maximum2.lanewise(VectorOperators.MAX, value, mask);
+            
+            mask = group.eq(3L);
+            count3 += mask.trueCount();
+            sum3 = sum3.add(value, mask);
+            squareSum3 = squareSum3.add(square, mask);
+            minimum3 = minimum3.lanewise(VectorOperators.MIN, value, mask);
+            maximum3 = maximum3.lanewise(VectorOperators.MAX, value, mask);
+            
+            if (histograms != null) {
+                for (int j = i; j < i + LANES; ++j) {
+                    ++histograms[groups[j]][
+                            StatisticsAccumulator.getHistogramBin(values[j])];
+                }
+            }
+        }
+        
+        // Reduce the lanes right away; passing the vectors on to a method
+        // would force the compiler to box them.
+        long[] counts = {
+            count0,
+            count1,
+            count2,
+            count3
+        };
+        long[] sums = {
+            sum0.reduceLanes(VectorOperators.ADD),
+            sum1.reduceLanes(VectorOperators.ADD),
+            sum2.reduceLanes(VectorOperators.ADD),
+            sum3.reduceLanes(VectorOperators.ADD)
+        };
+        long[] squareSums = {
+            squareSum0.reduceLanes(VectorOperators.ADD),
+            squareSum1.reduceLanes(VectorOperators.ADD),
+            squareSum2.reduceLanes(VectorOperators.ADD),
+            squareSum3.reduceLanes(VectorOperators.ADD)
+        };
+        long[] minimums = {
+            minimum0.reduceLanes(VectorOperators.MIN),
+            minimum1.reduceLanes(VectorOperators.MIN),
+            minimum2.reduceLanes(VectorOperators.MIN),
+            minimum3.reduceLanes(VectorOperators.MIN)
+        };
+        long[] maximums = {
+            maximum0.reduceLanes(VectorOperators.MAX),
+            maximum1.reduceLanes(VectorOperators.MAX),
+            maximum2.reduceLanes(VectorOperators.MAX),
+            maximum3.reduceLanes(VectorOperators.MAX)
+        };
+        
+        for (int group = 0; group < moments.counts.length; ++group) {
+            moments.counts[group] += counts[group];
+            moments.sums[group] += sums[group];
+            moments.squareSums[group] += squareSums[group];
+            moments.minimums[group] = Math.min(moments.minimums[group],
+                                               (int) minimums[group]);
+            moments.maximums[group] = Math.max(moments.maximums[group],
+                                               (int) maximums[group]);
+        }
+        
+        // The tail.
+        for (; i < length; ++i) {
+            int g = groups[i];
+            int value = values[i];
+            ++moments.counts[g];
+            moments.sums[g] += value;
+            moments.squareSums[g] += (long) value * value;
+            moments.minimums[g] = Math.min(moments.minimums[g], value);
+            moments.maximums[g] = Math.max(moments.maximums[g], value);
+            
+            if (histograms != null) {
+                ++histograms[g][StatisticsAccumulator.getHistogramBin(value)];
+            }
+        }
+    }
+
+    @Override
+    void accumulate(int[] values, int length, Moments moments) {
+        LongVector sum = LongVector.zero(LONG_SPECIES);
+        LongVector squareSum = LongVector.zero(LONG_SPECIES);
+        IntVector minimum = IntVector.broadcast(INT_SPECIES, Integer.MAX_VALUE);
+        IntVector maximum = IntVector.broadcast(INT_SPECIES, Integer.MIN_VALUE);
+        int bound = INT_SPECIES.loopBound(length);
+        int i = 0;
+        
+        for (; i < bound; i += LANES) {
+            IntVector valueVector = IntVector.fromArray(INT_SPECIES, values, i);
+            LongVector longVector = 
+                    (LongVector) valueVector.convertShape(VectorOperators.I2L,
+                                                          LONG_SPECIES, 
+                                                          0);
+            sum = sum.add(longVector);
+            squareSum = squareSum.add(longVector.mul(longVector));
+            minimum = minimum.min(valueVector);
+            maximum = maximum.max(valueVector);
+        }
+        
+        long tailSum = 0L;
+        long tailSquareSum = 0L;
+        int tailMinimum = minimum.reduceLanes(VectorOperators.MIN);
+        int tailMaximum = maximum.reduceLanes(VectorOperators.MAX);
+        
+        for (; i < length; ++i) {
+            int value = values[i];
+            tailSum += value;
+            tailSquareSum += (long) value * value;
+            tailMinimum = Math.min(tailMinimum, value);
+            tailMaximum = Math.max(tailMaximum, value);
+        }
+        
+        moments.counts[0] += length;
+        moments.sums[0] += sum.reduceLanes(VectorOperators.ADD) + tailSum;
+        moments.squareSums[0] += 
+                squareSum.reduceLanes(VectorOperators.ADD) + tailSquareSum;
+        moments.minimums[0] = Math.min(moments.minimums[0], tailMinimum);
+        moments.maximums[0] = Math.max(moments.maximums[0], tailMaximum);
+    }
+    
+    private static LongVector widen(int[] array, int offset) {
+        return (LongVector) IntVector.fromArray(INT_SPECIES, array, offset)
+                                     .convertShape(VectorOperators.I2L,
+                                                   LONG_SPECIES, 
+                                                   0);
+    }
+}
@@ -43,5 +43,17 @@ public class Demo {
                           (endTime - startTime) / 1e6);
         
         System.out.println(result);
+        
+        if (args.length > 0 && args[0].equals("--profile")) {
+            // Profiled separately, so that the counting stays out of the 
+            // time reported above.
+            SimulationResult profiledResult = 
+                    Simulator.simulate()
+                             .withPopulation(population)
+                             .withProfiling()
+                             .withCashier(cashier);
+            
+            System.out.println(profiledResult.getPhaseProfile());
+        }
     }
 }
\ No newline at end of file
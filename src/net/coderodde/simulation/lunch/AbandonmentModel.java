@@ -0,0 +1,246 @@
+package net.coderodde.simulation.lunch;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Random;
+import static net.coderodde.simulation.lunch.Utils.checkMean;
+import static net.coderodde.simulation.lunch.Utils.checkStandardDeviation;
+
+/**
+ * This class describes how people abandon the lunch queue. On arrival, a 
+ * person <i>balks</i> (leaves at once) if at least as many people as the 
+ * balking threshold of the degree of the person are already waiting. 
+ * Otherwise the person draws a patience from the normal distribution of the
+ * degree and <i>reneges</i> (leaves the queue) if the service does not start
+ * within the patience. The degrees without a configuration neither balk nor
+ * renege.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public final class AbandonmentModel {
+    
+    /**
+     * Denotes a balking threshold that is never reached.
+     */
+    public static final int NO_BALKING = Integer.MAX_VALUE;
+    
+    /**
+     * Returned as patience by degrees that never renege.
+     */
+    static final int INFINITE_PATIENCE = Integer.MAX_VALUE;
+    
+    private static final int DEGREES = AcademicDegree.values().length;
+    
+    private final Random random;
+    private final boolean[] reneging;
+    private final double[] meanPatiences;
+    private final double[] patienceStandardDeviations;
+    private final int[] balkingThresholds;
+    
+    /**
+     * Initiates the strong fluent API for constructing an 
+     * {@code AbandonmentModel}.
+     * 
+     * @param  random the random number generator for patience draws.
+     * @return a degree selector.
+     */
+    public static DegreeSelector withRandom(Random random) {
+        Objects.requireNonNull(random, "The input Random is null.");
+        
+        boolean[] reneging = new boolean[DEGREES];
+        int[] balkingThresholds = new int[DEGREES];
+        Arrays.fill(balkingThresholds, NO_BALKING);
+        
+        return new DegreeSelector(new AbandonmentModel(random,
+                                                       reneging,
+                                                       new double[DEGREES],
+                                                       new double[DEGREES],
+                                                       balkingThresholds));
+    }
+    
+    /**
+     * Starts configuring one more degree. This model is not modified.
+     * 
+     * @param  degree the academic degree to configure.
+     * @return a mean patience selector.
+     */
+    public MeanPatienceSelector andForDegree(AcademicDegree degree) {
+        return new DegreeSelector(this).forDegree(degree);
+    }
+    
+    public static final class DegreeSelector {
+        
+        private final AbandonmentModel model;
+        
+        private DegreeSelector(AbandonmentModel model) {
+            this.model = model;
+        }
+        
+        public MeanPatienceSelector forDegree(AcademicDegree degree) {
+            Objects.requireNonNull(degree, "The input degree is null.");
+            return new MeanPatienceSelector(model, degree);
+        }
+    }
+    
+    public static final class MeanPatienceSelector {
+        
+        private final AbandonmentModel model;
+        private final AcademicDegree degree;
+        
+        private MeanPatienceSelector(AbandonmentModel model, 
+                                     AcademicDegree degree) {
+            this.model = model;
+            this.degree = degree;
+        }
+        
+        /**
+         * Selects the mean patience of the degree in seconds.
+         * 
+         * @param  meanPatience the mean patience.
+         * @return a patience standard deviation selector.
+         */
+        public PatienceStandardDeviationSelector 
+            withMeanPatience(double meanPatience) {
+            checkMean(meanPatience);
+            return new PatienceStandardDeviationSelector(model, 
+                                                         degree, 
+                                                         meanPatience);
+        }
+        
+        /**
+         * Selects infinite patience for the degree, so that its people never
+         * renege.
+         * 
+         * @return a balking threshold selector.
+         */
+        public BalkingThresholdSelector withInfinitePatience() {
+            return new BalkingThresholdSelector(model, 
+                                                degree,
+                                                false, 
+                                                0.0, 
+                                                0.0);
+        }
+    }
+    
+    public static final class PatienceStandardDeviationSelector {
+        
+        private final AbandonmentModel model;
+        private final AcademicDegree degree;
+        private final double meanPatience;
+        
+        private PatienceStandardDeviationSelector(AbandonmentModel model,
+                                                  AcademicDegree degree,
+                                                  double meanPatience) {
+            this.model = model;
+            this.degree = degree;
+            this.meanPatience = meanPatience;
+        }
+        
+        public BalkingThresholdSelector withPatienceStandardDeviation(
+                double patienceStandardDeviation) {
+            checkStandardDeviation(patienceStandardDeviation);
+            return new BalkingThresholdSelector(model, 
+                                                degree, 
+                                                true,
+                                                meanPatience,
+                                                patienceStandardDeviation);
+        }
+    }
+    
+    public static final class BalkingThresholdSelector {
+        
+        private final AbandonmentModel model;
+        private final AcademicDegree degree;
+        private final boolean reneging;
+        private final double meanPatience;
+        private final double patienceStandardDeviation;
+        
+        private BalkingThresholdSelector(AbandonmentModel model,
+                                         AcademicDegree degree,
+                                         boolean reneging,
+                                         double meanPatience,
+                                         double patienceStandardDeviation) {
+            this.model = model;
+            this.degree = degree;
+            this.reneging = reneging;
+            this.meanPatience = meanPatience;
+            this.patienceStandardDeviation = patienceStandardDeviation;
+        }
+        
+        /**
+         * Selects the balking threshold and returns the model.
+         * 
+         * @param  balkingThreshold the number of waiting people at which a 
+         *                          person of the degree balks, or 
+         *                          {@link #NO_BALKING}.
+         * @return the abandonment model.
+         */
+        public AbandonmentModel withBalkingThreshold(int balkingThreshold) {
+            if (balkingThreshold < 0) {
+                throw new IllegalArgumentException(
+                        "The balking threshold is negative: " + 
+                        balkingThreshold);
+            }
+            
+            int i = degree.ordinal();
+            AbandonmentModel copy = 
+                    new AbandonmentModel(model.random,
+                                         model.reneging.clone(),
+                                         model.meanPatiences.clone(),
+                                         model.patienceStandardDeviations
+                                              .clone(),
+                                         model.balkingThresholds.clone());
+            
+            copy.reneging[i] = reneging;
+            copy.meanPatiences[i] = meanPatience;
+            copy.patienceStandardDeviations[i] = patienceStandardDeviation;
+            copy.balkingThresholds[i] = balkingThreshold;
+            return copy;
+        }
+        
+        /**
+         * Selects no balking and returns the model.
+         * 
+         * @return the abandonment model.
+         */
+        public AbandonmentModel withoutBalking() {
+            return withBalkingThreshold(NO_BALKING);
+        }
+    }
+    
+    private AbandonmentModel(Random random,
+                             boolean[] reneging,
+                             double[] meanPatiences,
+                             double[] patienceStandardDeviations,
+                             int[] balkingThresholds) {
+        this.random = random;
+        this.reneging = reneging;
+        this.meanPatiences = meanPatiences;
+        this.patienceStandardDeviations = patienceStandardDeviations;
+        this.balkingThresholds = balkingThresholds;
+    }
+    
+    int getBalkingThreshold(int degree) {
+        return balkingThresholds[degree];
+    }
+    
+    /**
+     * Draws the patience of a person in seconds. Negative draws are clamped to
+     * zero.
+     * 
+     * @param  degree the ordinal of the academic degree.
+     * @return the patience or {@link #INFINITE_PATIENCE}.
+     */
+    int getPatience(int degree) {
+        if (!reneging[degree]) {
+            return INFINITE_PATIENCE;
+        }
+        
+        long patience = Math.round(meanPatiences[degree] + 
+                                   patienceStandardDeviations[degree] * 
+                                   random.nextGaussian());
+        
+        return (int) Math.max(0L, Math.min(patience, INFINITE_PATIENCE - 1));
+    }
+}
@@ -0,0 +1,146 @@
+package net.coderodde.simulation.lunch;
+
+/**
+ * This class runs the single cashier simulation over an arrival stream with
+ * balking and reneging. The waiting people are kept in an 
+ * {@link IndexedPrioritizedQueue}, and the moments at which they run out of 
+ * patience are scheduled in an {@link EventList}, so that a reneging 
+ * person is removed from the queue in logarithmic time. A person whose 
+ * patience ends exactly when the service would start is still served.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+final class AbandonmentSimulation {
+    
+    private static final AcademicDegree[] DEGREES = AcademicDegree.values();
+    
+    private final AbandonmentModel model;
+    private final IndexedPrioritizedQueue queue = 
+            new IndexedPrioritizedQueue();
+    private final EventList renegingCalendar;
+    private final StatisticsAccumulator accumulator = 
+            new StatisticsAccumulator();
+    
+    private final int[] arrivalCounts = new int[DEGREES.length];
+    private final int[] balkingCounts = new int[DEGREES.length];
+    private final int[] renegingCounts = new int[DEGREES.length];
+    
+    AbandonmentSimulation(AbandonmentModel model, 
+                          EventListType eventListType) {
+        this.model = model;
+        this.renegingCalendar = EventList.of(eventListType);
+    }
+    
+    SimulationResult run(ArrivalStream arrivalStream, Cashier cashier) {
+        if (!arrivalStream.hasNext()) {
+            return toResult();
+        }
+        
+        arrivalStream.next();
+        boolean arrivalPending = true;
+        int currentClock = arrivalStream.getArrivalTime();
+        int previousArrivalTime = currentClock;
+        int idleTime = 0;
+        
+        while (true) {
+            while (arrivalPending 
+                    && arrivalStream.getArrivalTime() <= currentClock) {
+                int arrivalTime = arrivalStream.getArrivalTime();
+                
+                if (arrivalTime < previousArrivalTime) {
+                    throw new IllegalStateException(
+                            "The arrival stream is not sorted: " + 
+                            arrivalTime + " after " + previousArrivalTime);
+                }
+                
+                previousArrivalTime = arrivalTime;
+                arrive(arrivalTime,
+                       arrivalStream.getAcademicDegree().ordinal(),
+                       arrivalStream.getId());
+                
+                arrivalPending = arrivalStream.hasNext();
+                
+                if (arrivalPending) {
+                    arrivalStream.next();
+                }
+            }
+            
+            renegeBefore(currentClock);
+            
+            if (queue.isEmpty()) {
+                if (!arrivalPending) {
+                    break;
+                }
+                
+                idleTime += arrivalStream.getArrivalTime() - currentClock;
+                currentClock = arrivalStream.getArrivalTime();
+                continue;
+            }
+            
+            accumulator.addIdleTime(idleTime);
+            idleTime = 0;
+            
+            int degree = queue.pop();
+            currentClock += cashier.getServiceTime();
+            accumulator.addWaitTime(degree, 
+                                    currentClock - queue.getLastArrivalTime());
+        }
+        
+        return toResult();
+    }
+    
+    private void arrive(int arrivalTime, int degree, long id) {
+        // The queue length seen by the arriving person must not include the
+        // people who reneged before the arrival.
+        renegeBefore(arrivalTime);
+        ++arrivalCounts[degree];
+        
+        if (queue.size() >= model.getBalkingThreshold(degree)) {
+            ++balkingCounts[degree];
+            return;
+        }
+        
+        int handle = queue.push(degree, arrivalTime, id);
+        int patience = model.getPatience(degree);
+        
+        if (patience != AbandonmentModel.INFINITE_PATIENCE) {
+            long deadline = (long) arrivalTime + patience;
+            renegingCalendar.schedule(
+                    (int) Math.min(deadline, Integer.MAX_VALUE), 
+                    handle, 
+                    queue.getGeneration(handle));
+        }
+    }
+    
+    private void renegeBefore(int time) {
+        while (!renegingCalendar.isEmpty() 
+                && renegingCalendar.getMinimumTime() < time) {
+            renegingCalendar.removeMinimum();
+            
+            // Served people leave stale entries behind; their handles have 
+            // moved on to a new generation.
+            if (queue.remove(renegingCalendar.getLastFirstPayload(),
+                             renegingCalendar.getLastSecondPayload())) {
+                ++renegingCounts[queue.getLastDegree()];
+            }
+        }
+    }
+    
+    private SimulationResult toResult() {
+        SimulationResult result = accumulator.toSimulationResult();
+        
+        for (AcademicDegree degree : DEGREES) {
+            int i = degree.ordinal();
+            
+            if (arrivalCounts[i] > 0) {
+                result.putAbandonmentCounts(degree,
+                                            arrivalCounts[i],
+                                            balkingCounts[i],
+                                            renegingCounts[i]);
+            }
+        }
+        
+        return result;
+    }
+}
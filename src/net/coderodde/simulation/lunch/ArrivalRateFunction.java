@@ -0,0 +1,221 @@
+package net.coderodde.simulation.lunch;
+
+import java.util.Arrays;
+
+/**
+ * This class implements a piecewise constant arrival rate function
+ * <tt>lambda(t)</tt> over a single day. Each piece is a half-open interval
+ * <tt>[start, end)</tt> of seconds since the midnight together with the
+ * rate (expected number of arrivals per second) within it. Outside the pieces
+ * the rate is zero. Several pieces describe several lunch waves, for example,
+ * one per the end of a lecture.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public final class ArrivalRateFunction {
+
+    /**
+     * The number of seconds in a day.
+     */
+    public static final int SECONDS_PER_DAY = 24 * 60 * 60;
+
+    private static final ArrivalRateFunction CLOSED =
+            new ArrivalRateFunction(new int[0], new int[0], new double[0]);
+
+    private final int[] starts;
+    private final int[] ends;
+    private final double[] rates;
+    private final double maximumRate;
+
+    /**
+     * Returns a rate function of a day during which nobody arrives, such as
+     * a weekend day.
+     *
+     * @return an all-zero rate function.
+     */
+    public static ArrivalRateFunction closed() {
+        return CLOSED;
+    }
+
+    /**
+     * Initiates the strong fluent API for constructing an
+     * {@code ArrivalRateFunction} by selecting the first piece.
+     *
+     * @param  start the first second of the piece since the midnight.
+     * @param  end   the first second after the piece since the midnight.
+     * @return a rate selector.
+     */
+    public static RateSelector between(int start, int end) {
+        return CLOSED.andBetween(start, end);
+    }
+
+    /**
+     * Starts adding one more piece to this rate function. This rate function
+     * is not modified.
+     *
+     * @param  start the first second of the piece since the midnight.
+     * @param  end   the first second after the piece since the midnight.
+     * @return a rate selector.
+     */
+    public RateSelector andBetween(int start, int end) {
+        if (start < 0) {
+            throw new IllegalArgumentException(
+                    "The start of a piece is negative: " + start);
+        }
+
+        if (end > SECONDS_PER_DAY) {
+            throw new IllegalArgumentException(
+                    "The end of a piece exceeds the length of a day: " + end);
+        }
+
+        if (start >= end) {
+            throw new IllegalArgumentException(
+                    "The piece is empty: [" + start + ", " + end + ").");
+        }
+
+        for (int i = 0; i < starts.length; ++i) {
+            if (start < ends[i] && starts[i] < end) {
+                throw new IllegalArgumentException(
+                        "The piece [" + start + ", " + end + ") overlaps " +
+                        "with [" + starts[i] + ", " + ends[i] + ").");
+            }
+        }
+
+        return new RateSelector(this, start, end);
+    }
+
+    public static final class RateSelector {
+
+        private final ArrivalRateFunction function;
+        private final int start;
+        private final int end;
+
+        private RateSelector(ArrivalRateFunction function, int start, int end) {
+            this.function = function;
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * Selects the arrival rate of the piece being constructed.
+         *
+         * @param  rate the expected number of arrivals per second.
+         * @return a rate function with the new piece.
+         */
+        public ArrivalRateFunction withRate(double rate) {
+            if (Double.isNaN(rate) || Double.isInfinite(rate) || rate < 0.0) {
+                throw new IllegalArgumentException(
+                        "The arrival rate is invalid: " + rate);
+            }
+
+            int n = function.starts.length;
+            int[] starts = Arrays.copyOf(function.starts, n + 1);
+            int[] ends = Arrays.copyOf(function.ends, n + 1);
+            double[] rates = Arrays.copyOf(function.rates, n + 1);
+
+            // Insertion sort step: keep the pieces sorted by their starts.
+            int i = n;
+
+            while (i > 0 && starts[i - 1] > start) {
+                starts[i] = starts[i - 1];
+                ends[i] = ends[i - 1];
+                rates[i] = rates[i - 1];
+                --i;
+            }
+
+            starts[i] = start;
+            ends[i] = end;
+            rates[i] = rate;
+            return new ArrivalRateFunction(starts, ends, rates);
+        }
+    }
+
+    private ArrivalRateFunction(int[] starts, int[] ends, double[] rates) {
+        this.starts = starts;
+        this.ends = ends;
+        this.rates = rates;
+
+        double max = 0.0;
+
+        for (double rate : rates) {
+            max = Math.max(max, rate);
+        }
+
+        this.maximumRate = max;
+    }
+
+    /**
+     * Returns the arrival rate at the given time of the day.
+     *
+     * @param  secondOfDay the time since the midnight in seconds.
+     * @return the arrival rate.
+     */
+    public double getRate(double secondOfDay) {
+        int low = 0;
+        int high = starts.length - 1;
+
+        // Find the last piece starting at or before 'secondOfDay'.
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+
+            if (starts[middle] <= secondOfDay) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        if (high < 0 || secondOfDay >= ends[high]) {
+            return 0.0;
+        }
+
+        return rates[high];
+    }
+
+    /**
+     * Returns the largest rate over the day.
+     *
+     * @return the maximum rate.
+     */
+    public double getMaximumRate() {
+        return maximumRate;
+    }
+
+    /**
+     * Returns the expected number of arrivals during the day, that is, the
+     * integral of the rate function.
+     *
+     * @return the expected number of arrivals.
+     */
+    public double getExpectedArrivals() {
+        double sum = 0.0;
+
+        for (int i = 0; i < starts.length; ++i) {
+            sum += rates[i] * (ends[i] - starts[i]);
+        }
+
+        return sum;
+    }
+
+    /**
+     * Returns the first second of the earliest piece, or zero if there are
+     * no pieces.
+     *
+     * @return the start of the support of this function.
+     */
+    public int getStart() {
+        return starts.length == 0 ? 0 : starts[0];
+    }
+
+    /**
+     * Returns the first second after the latest piece, or zero if there are
+     * no pieces.
+     *
+     * @return the end of the support of this function.
+     */
+    public int getEnd() {
+        // The pieces are sorted and do not overlap.
+        return ends.length == 0 ? 0 : ends[ends.length - 1];
+    }
+}
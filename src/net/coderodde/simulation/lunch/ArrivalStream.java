@@ -0,0 +1,59 @@
+package net.coderodde.simulation.lunch;
+
+/**
+ * This interface describes a cursor over arrivals sorted by their arrival
+ * times. Unlike {@link Population}, an arrival stream does not need to hold
+ * all the arrivals in memory at once, which allows simulating very long
+ * horizons.
+ * <p>
+ * A typical usage is:
+ * <pre>
+ * while (stream.hasNext()) {
+ *     stream.next();
+ *     int time = stream.getArrivalTime();
+ *     ...
+ * }
+ * </pre>
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public interface ArrivalStream {
+
+    /**
+     * Returns {@code true} if there is at least one more arrival in this
+     * stream.
+     *
+     * @return {@code true} if there are more arrivals.
+     */
+    boolean hasNext();
+
+    /**
+     * Advances this stream to the next arrival. The arrival times of
+     * consecutive arrivals must be non-decreasing.
+     *
+     * @throws java.util.NoSuchElementException if there are no more arrivals.
+     */
+    void next();
+
+    /**
+     * Returns the arrival time of the current arrival in seconds.
+     *
+     * @return the arrival time.
+     */
+    int getArrivalTime();
+
+    /**
+     * Returns the academic degree of the current arrival.
+     *
+     * @return the academic degree.
+     */
+    AcademicDegree getAcademicDegree();
+
+    /**
+     * Returns the identity of the current arrival.
+     *
+     * @return the identity.
+     */
+    long getId();
+}
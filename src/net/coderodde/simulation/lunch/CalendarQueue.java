@@ -0,0 +1,297 @@
+package net.coderodde.simulation.lunch;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements the future event list as a calendar queue (R. Brown,
+ * 1988). The integer time line is cut into days of <tt>2^shift</tt> seconds,
+ * and the day {@code d} is kept in the bucket <tt>d mod bucketCount</tt> as a
+ * sorted linked list. The earliest event is found by walking the buckets day
+ * by day from the day of the last removed event. Whenever the number of 
+ * events outgrows or undershoots the number of buckets, the calendar is 
+ * rebuilt with half or twice the buckets and a day length fitted to the 
+ * average spacing of the events, which makes both the operations take 
+ * amortized constant time.
+ * <p>
+ * The linked list nodes live in parallel primitive arrays and are recycled,
+ * so no objects are allocated per event.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+final class CalendarQueue implements EventList {
+    
+    private static final int MINIMUM_BUCKETS = 16;
+    private static final int INITIAL_NODES = 64;
+    private static final int NIL = -1;
+    
+    // Nodes.
+    private int[] nodeTimes = new int[INITIAL_NODES];
+    private long[] nodeSequences = new long[INITIAL_NODES];
+    private int[] nodeFirstPayloads = new int[INITIAL_NODES];
+    private int[] nodeSecondPayloads = new int[INITIAL_NODES];
+    private int[] nodeNexts = new int[INITIAL_NODES];
+    private int usedNodes;
+    private int freeNode = NIL;
+    
+    // Buckets.
+    private int[] heads;
+    private int[] tails;
+    private int mask;
+    private int shift;
+    
+    /**
+     * The day being scanned; no event is earlier than this day.
+     */
+    private int currentDay;
+    
+    private int size;
+    private long nextSequence;
+    
+    private int lastTime;
+    private int lastFirstPayload;
+    private int lastSecondPayload;
+    
+    CalendarQueue() {
+        allocateBuckets(MINIMUM_BUCKETS);
+    }
+    
+    @Override
+    public void schedule(int time, int firstPayload, int secondPayload) {
+        if (size + 1 > 2 * heads.length) {
+            resize(2 * heads.length);
+        }
+        
+        int node = allocateNode();
+        nodeTimes[node] = time;
+        nodeSequences[node] = nextSequence++;
+        nodeFirstPayloads[node] = firstPayload;
+        nodeSecondPayloads[node] = secondPayload;
+        
+        int day = time >> shift;
+        
+        if (size == 0 || day < currentDay) {
+            currentDay = day;
+        }
+        
+        insert(node);
+        ++size;
+    }
+    
+    @Override
+    public void removeMinimum() {
+        int bucket = findMinimumBucket();
+        int node = heads[bucket];
+        lastTime = nodeTimes[node];
+        lastFirstPayload = nodeFirstPayloads[node];
+        lastSecondPayload = nodeSecondPayloads[node];
+        
+        heads[bucket] = nodeNexts[node];
+        
+        if (heads[bucket] == NIL) {
+            tails[bucket] = NIL;
+        }
+        
+        nodeNexts[node] = freeNode;
+        freeNode = node;
+        --size;
+        
+        if (size < heads.length / 2 && heads.length > MINIMUM_BUCKETS) {
+            resize(heads.length / 2);
+        }
+    }
+    
+    @Override
+    public int getMinimumTime() {
+        return nodeTimes[heads[findMinimumBucket()]];
+    }
+
+    @Override
+    public int getLastTime() {
+        return lastTime;
+    }
+
+    @Override
+    public int getLastFirstPayload() {
+        return lastFirstPayload;
+    }
+
+    @Override
+    public int getLastSecondPayload() {
+        return lastSecondPayload;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear() {
+        allocateBuckets(MINIMUM_BUCKETS);
+        shift = 0;
+        usedNodes = 0;
+        freeNode = NIL;
+        size = 0;
+        nextSequence = 0L;
+    }
+    
+    /**
+     * Returns the bucket whose head is the earliest event, advancing the 
+     * current day up to the day of that event.
+     * 
+     * @return the bucket of the earliest event.
+     */
+    private int findMinimumBucket() {
+        if (size == 0) {
+            throw new NoSuchElementException(
+                    "Accessing an empty calendar queue.");
+        }
+        
+        // Walk one year day by day.
+        for (int i = 0; i < heads.length; ++i) {
+            int bucket = currentDay & mask;
+            int head = heads[bucket];
+            
+            if (head != NIL && (nodeTimes[head] >> shift) == currentDay) {
+                return bucket;
+            }
+            
+            ++currentDay;
+        }
+        
+        // The events are sparse compared to the day length; jump directly to
+        // the earliest one.
+        int minimumBucket = NIL;
+        
+        for (int bucket = 0; bucket < heads.length; ++bucket) {
+            int head = heads[bucket];
+            
+            if (head != NIL && (minimumBucket == NIL 
+                    || less(head, heads[minimumBucket]))) {
+                minimumBucket = bucket;
+            }
+        }
+        
+        currentDay = nodeTimes[heads[minimumBucket]] >> shift;
+        return minimumBucket;
+    }
+    
+    // Inserts the node into its bucket keeping the bucket sorted.
+    private void insert(int node) {
+        int bucket = (nodeTimes[node] >> shift) & mask;
+        int tail = tails[bucket];
+        nodeNexts[node] = NIL;
+        
+        if (tail == NIL) {
+            heads[bucket] = node;
+            tails[bucket] = node;
+            return;
+        }
+        
+        if (!less(node, tail)) {
+            // The common case: the new event is the latest in its bucket.
+            nodeNexts[tail] = node;
+            tails[bucket] = node;
+            return;
+        }
+        
+        int head = heads[bucket];
+        
+        if (less(node, head)) {
+            nodeNexts[node] = head;
+            heads[bucket] = node;
+            return;
+        }
+        
+        int previous = head;
+        
+        while (!less(node, nodeNexts[previous])) {
+            previous = nodeNexts[previous];
+        }
+        
+        nodeNexts[node] = nodeNexts[previous];
+        nodeNexts[previous] = node;
+    }
+    
+    private boolean less(int node1, int node2) {
+        return nodeTimes[node1] < nodeTimes[node2] 
+           || (nodeTimes[node1] == nodeTimes[node2] 
+               && nodeSequences[node1] < nodeSequences[node2]);
+    }
+    
+    /**
+     * Rebuilds this calendar with the given number of buckets and a day 
+     * length of about three average event spacings.
+     * 
+     * @param bucketCount the new number of buckets, a power of two.
+     */
+    private void resize(int bucketCount) {
+        int[] oldHeads = heads;
+        long minimumTime = Long.MAX_VALUE;
+        long maximumTime = Long.MIN_VALUE;
+        
+        for (int head : oldHeads) {
+            for (int node = head; node != NIL; node = nodeNexts[node]) {
+                minimumTime = Math.min(minimumTime, nodeTimes[node]);
+                maximumTime = Math.max(maximumTime, nodeTimes[node]);
+            }
+        }
+        
+        if (size > 1) {
+            long dayLength = 3 * (maximumTime - minimumTime) / size;
+            shift = 63 - Long.numberOfLeadingZeros(Math.max(1L, dayLength));
+            // Keep the days within the integer range.
+            shift = Math.min(shift, 30);
+        }
+        
+        allocateBuckets(bucketCount);
+        
+        for (int head : oldHeads) {
+            int node = head;
+            
+            while (node != NIL) {
+                int next = nodeNexts[node];
+                insert(node);
+                node = next;
+            }
+        }
+        
+        if (size > 0) {
+            currentDay = (int) minimumTime >> shift;
+        }
+    }
+    
+    private void allocateBuckets(int bucketCount) {
+        heads = new int[bucketCount];
+        tails = new int[bucketCount];
+        Arrays.fill(heads, NIL);
+        Arrays.fill(tails, NIL);
+        mask = bucketCount - 1;
+    }
+    
+    private int allocateNode() {
+        if (freeNode != NIL) {
+            int node = freeNode;
+            freeNode = nodeNexts[node];
+            return node;
+        }
+        
+        if (usedNodes == nodeTimes.length) {
+            int capacity = 2 * nodeTimes.length;
+            nodeTimes = Arrays.copyOf(nodeTimes, capacity);
+            nodeSequences = Arrays.copyOf(nodeSequences, capacity);
+            nodeFirstPayloads = Arrays.copyOf(nodeFirstPayloads, capacity);
+            nodeSecondPayloads = Arrays.copyOf(nodeSecondPayloads, capacity);
+            nodeNexts = Arrays.copyOf(nodeNexts, capacity);
+        }
+        
+        return usedNodes++;
+    }
+}
@@ -0,0 +1,347 @@
+package net.coderodde.simulation.lunch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+
+/**
+ * This class simulates a number of canteens at once. A person arriving at a
+ * canteen with a long line walks to the nearest other canteen, which takes
+ * the walk time between the two, and may walk on from there if the line
+ * there is long too, up to a maximum number of diversions.
+ * <p>
+ * Each canteen is a logical process that exchanges the diverted people with
+ * the others as messages. In parallel, each process runs on its own thread
+ * under conservative synchronization in time windows: at the start of a
+ * window, the earliest pending arrival time <i>t</i> over all canteens is
+ * found, and every canteen handles its events before <i>t + w</i>, where
+ * <i>w</i> is the shortest walk time a diverted person can take. Any person
+ * diverted within the window arrives at the target canteen no earlier than
+ * <i>t + w</i>, so no canteen ever receives a message from its past. Since
+ * the order of the events of a canteen does not depend on the threads, the
+ * result is identical to the one of {@link #simulateSequentially()}.
+ * <p>
+ * A simulation consumes the arrival streams and draws from the cashiers of
+ * its canteens, so it can be run only once.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public final class CampusSimulation {
+
+    private final CanteenProcess[] processes;
+    private final long lookahead;
+    private long windowEnd;
+    private long windows;
+    private boolean simulated;
+    private volatile boolean failed;
+
+    /**
+     * Initiates the strong fluent API for constructing a
+     * {@code CampusSimulation}.
+     *
+     * @param  canteens the canteens, indexed in the given order.
+     * @return a walk time selector.
+     */
+    public static WalkTimeSelector withCanteens(List<Canteen> canteens) {
+        Objects.requireNonNull(canteens, "The input canteen list is null.");
+
+        if (canteens.isEmpty()) {
+            throw new IllegalArgumentException("No canteens given.");
+        }
+
+        List<Canteen> list = new ArrayList<>(canteens.size());
+
+        for (Canteen canteen : canteens) {
+            Objects.requireNonNull(canteen, "A canteen is null.");
+
+            if (list.contains(canteen)) {
+                throw new IllegalArgumentException(
+                        "The canteen " + canteen + " is given twice.");
+            }
+
+            list.add(canteen);
+        }
+
+        return new WalkTimeSelector(list);
+    }
+
+    public static WalkTimeSelector withCanteens(Canteen... canteens) {
+        Objects.requireNonNull(canteens, "The input canteen array is null.");
+        return withCanteens(Arrays.asList(canteens));
+    }
+
+    public static final class WalkTimeSelector {
+
+        private final List<Canteen> canteens;
+
+        private WalkTimeSelector(List<Canteen> canteens) {
+            this.canteens = canteens;
+        }
+
+        /**
+         * Selects the walk times between the canteens. The walk time from
+         * the canteen {@code i} to the canteen {@code j} is
+         * {@code walkTimes[i][j]}; the diagonal is ignored.
+         *
+         * @param  walkTimes the positive walk times in seconds.
+         * @return a diversion selector.
+         */
+        public DiversionSelector withWalkTimes(int[][] walkTimes) {
+            Objects.requireNonNull(walkTimes,
+                                   "The input walk time matrix is null.");
+            int n = canteens.size();
+
+            if (walkTimes.length != n) {
+                throw new IllegalArgumentException(
+                        "The walk time matrix has " + walkTimes.length +
+                        " rows, expected " + n + ".");
+            }
+
+            int[][] copy = new int[n][];
+
+            for (int i = 0; i < n; ++i) {
+                if (walkTimes[i] == null || walkTimes[i].length != n) {
+                    throw new IllegalArgumentException(
+                            "The row " + i + " of the walk time matrix " +
+                            "does not have " + n + " entries.");
+                }
+
+                for (int j = 0; j < n; ++j) {
+                    if (i != j && walkTimes[i][j] < 1) {
+                        throw new IllegalArgumentException(
+                                "The walk time from " + i + " to " + j +
+                                " is not positive: " + walkTimes[i][j]);
+                    }
+                }
+
+                copy[i] = walkTimes[i].clone();
+            }
+
+            return new DiversionSelector(canteens, copy);
+        }
+    }
+
+    public static final class DiversionSelector {
+
+        private final List<Canteen> canteens;
+        private final int[][] walkTimes;
+
+        private DiversionSelector(List<Canteen> canteens, int[][] walkTimes) {
+            this.canteens = canteens;
+            this.walkTimes = walkTimes;
+        }
+
+        /**
+         * Selects the number of times a person may be diverted. After that
+         * many diversions, the person joins the line, however long.
+         *
+         * @param  maximumDiversions the maximum number of diversions.
+         * @return the simulation.
+         */
+        public CampusSimulation withMaximumDiversions(int maximumDiversions) {
+            if (maximumDiversions < 0) {
+                throw new IllegalArgumentException(
+                        "The maximum number of diversions is negative: " +
+                        maximumDiversions);
+            }
+
+            return new CampusSimulation(canteens,
+                                        walkTimes,
+                                        maximumDiversions);
+        }
+    }
+
+    private CampusSimulation(List<Canteen> canteens,
+                             int[][] walkTimes,
+                             int maximumDiversions) {
+        int n = canteens.size();
+        this.processes = new CanteenProcess[n];
+
+        for (int i = 0; i < n; ++i) {
+            processes[i] = new CanteenProcess(i,
+                                              canteens.get(i),
+                                              maximumDiversions);
+        }
+
+        long shortestWalk = CanteenProcess.NEVER;
+
+        for (int i = 0; i < n; ++i) {
+            // Divert to the nearest other canteen, the lowest index first.
+            int target = -1;
+
+            for (int j = 0; j < n; ++j) {
+                if (j != i && (target < 0 ||
+                               walkTimes[i][j] < walkTimes[i][target])) {
+                    target = j;
+                }
+            }
+
+            if (target >= 0 && maximumDiversions > 0 &&
+                    canteens.get(i).getDiversionThreshold() !=
+                    Canteen.NO_DIVERSION) {
+                processes[i].setTarget(processes[target],
+                                       walkTimes[i][target]);
+                shortestWalk = Math.min(shortestWalk, walkTimes[i][target]);
+            }
+        }
+
+        this.lookahead = shortestWalk;
+    }
+
+    /**
+     * Simulates all the canteens in the current thread.
+     *
+     * @return the result of the simulation.
+     */
+    public CampusSimulationResult simulateSequentially() {
+        markSimulated();
+
+        do {
+            startWindow();
+
+            for (CanteenProcess process : processes) {
+                process.advance(windowEnd);
+            }
+        } while (windowEnd != CanteenProcess.NEVER);
+
+        return createResult();
+    }
+
+    /**
+     * Simulates each canteen on its own thread.
+     *
+     * @return the result of the simulation, identical to the one of
+     *         {@link #simulateSequentially()}.
+     */
+    public CampusSimulationResult simulateInParallel() {
+        markSimulated();
+        CyclicBarrier barrier = new CyclicBarrier(processes.length,
+                                                  this::startWindow);
+        Thread[] threads = new Thread[processes.length];
+        Throwable[] failures = new Throwable[processes.length];
+
+        for (int i = 0; i < processes.length; ++i) {
+            CanteenProcess process = processes[i];
+            int index = i;
+            threads[i] = new Thread(() -> {
+                try {
+                    long end;
+
+                    do {
+                        barrier.await();
+                        // The barrier publishes the window end of its action.
+                        end = windowEnd;
+
+                        if (failed) {
+                            continue;
+                        }
+
+                        try {
+                            process.advance(end);
+                        } catch (Throwable ex) {
+                            // Stay in the barrier protocol, so that the
+                            // others reach the barrier and its action ends
+                            // the simulation with the next window.
+                            failures[index] = ex;
+                            failed = true;
+                        }
+                    } while (end != CanteenProcess.NEVER);
+                } catch (InterruptedException ex) {
+                    failures[index] = ex;
+                } catch (BrokenBarrierException ex) {
+                    // Another thread was interrupted; its failure is
+                    // reported.
+                }
+            }, "canteen-" + process.getName());
+            threads[i].start();
+        }
+
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(
+                        "Interrupted while waiting for the canteens.", ex);
+            }
+        }
+
+        for (Throwable failure : failures) {
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            }
+
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+
+            if (failure != null) {
+                throw new IllegalStateException(failure);
+            }
+        }
+
+        return createResult();
+    }
+
+    /**
+     * Computes the end of the next window. Called while no process is
+     * advancing. After a failure, the next window is the last one.
+     */
+    private void startWindow() {
+        if (failed) {
+            windowEnd = CanteenProcess.NEVER;
+            return;
+        }
+
+        long earliestArrivalTime = CanteenProcess.NEVER;
+
+        for (CanteenProcess process : processes) {
+            earliestArrivalTime = Math.min(earliestArrivalTime,
+                                           process.getNextArrivalTime());
+        }
+
+        windowEnd = earliestArrivalTime == CanteenProcess.NEVER ||
+                    lookahead == CanteenProcess.NEVER ?
+                    CanteenProcess.NEVER :
+                    earliestArrivalTime + lookahead;
+        ++windows;
+    }
+
+    private void markSimulated() {
+        if (simulated) {
+            throw new IllegalStateException(
+                    "The campus has already been simulated.");
+        }
+
+        simulated = true;
+    }
+
+    private CampusSimulationResult createResult() {
+        int n = processes.length;
+        String[] names = new String[n];
+        SimulationResult[] results = new SimulationResult[n];
+        long[] divertedCounts = new long[n];
+        long[] receivedCounts = new long[n];
+        StatisticsAccumulator sojournAccumulator = new StatisticsAccumulator();
+
+        for (int i = 0; i < n; ++i) {
+            CanteenProcess process = processes[i];
+            names[i] = process.getName();
+            results[i] = process.getWaitAccumulator().toSimulationResult();
+            divertedCounts[i] = process.getDivertedCount();
+            receivedCounts[i] = process.getReceivedCount();
+            sojournAccumulator.merge(process.getSojournAccumulator());
+        }
+
+        return new CampusSimulationResult(names,
+                                          results,
+                                          divertedCounts,
+                                          receivedCounts,
+                                          sojournAccumulator,
+                                          windows);
+    }
+}
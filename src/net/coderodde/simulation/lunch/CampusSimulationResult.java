@@ -0,0 +1,134 @@
+package net.coderodde.simulation.lunch;
+
+/**
+ * This class holds the statistics of a campus simulation. The result of a
+ * canteen covers the people served there, their wait time counted from the
+ * arrival at that canteen. The sojourn time of a person is the time from
+ * the arrival at the first canteen to the departure from the cashier at the
+ * last one, including the walks.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public final class CampusSimulationResult {
+
+    private static final String NL = "\n";
+    private static final String SKIP = "    ";
+    private static final int NO_DATA = -1;
+
+    private final String[] canteenNames;
+    private final SimulationResult[] canteenResults;
+    private final long[] divertedCounts;
+    private final long[] receivedCounts;
+    private final StatisticsAccumulator sojournAccumulator;
+    private final long windows;
+
+    CampusSimulationResult(String[] canteenNames,
+                           SimulationResult[] canteenResults,
+                           long[] divertedCounts,
+                           long[] receivedCounts,
+                           StatisticsAccumulator sojournAccumulator,
+                           long windows) {
+        this.canteenNames = canteenNames;
+        this.canteenResults = canteenResults;
+        this.divertedCounts = divertedCounts;
+        this.receivedCounts = receivedCounts;
+        this.sojournAccumulator = sojournAccumulator;
+        this.windows = windows;
+    }
+
+    public long getPeopleCount(AcademicDegree degree) {
+        return sojournAccumulator.getWaitCount(degree.ordinal());
+    }
+
+    public double getAverageSojournTime(AcademicDegree degree) {
+        long count = getPeopleCount(degree);
+
+        if (count == 0L) {
+            return Double.NaN;
+        }
+
+        return 1.0 * sojournAccumulator.getWaitSum(degree.ordinal()) / count;
+    }
+
+    public int getMaximumSojournTime(AcademicDegree degree) {
+        if (getPeopleCount(degree) == 0L) {
+            return NO_DATA;
+        }
+
+        return sojournAccumulator.getWaitMaximum(degree.ordinal());
+    }
+
+    public int getCanteenCount() {
+        return canteenNames.length;
+    }
+
+    public String getCanteenName(int canteen) {
+        return canteenNames[canteen];
+    }
+
+    public SimulationResult getCanteenResult(int canteen) {
+        return canteenResults[canteen];
+    }
+
+    /**
+     * Returns the number of people who arrived at a canteen and walked on to
+     * another one.
+     *
+     * @param  canteen the index of the canteen.
+     * @return the number of diverted people.
+     */
+    public long getDivertedCount(int canteen) {
+        return divertedCounts[canteen];
+    }
+
+    /**
+     * Returns the number of people who arrived at a canteen diverted from
+     * another one.
+     *
+     * @param  canteen the index of the canteen.
+     * @return the number of received people.
+     */
+    public long getReceivedCount(int canteen) {
+        return receivedCounts[canteen];
+    }
+
+    /**
+     * Returns the number of synchronization windows the simulation took.
+     *
+     * @return the number of windows.
+     */
+    public long getWindowCount() {
+        return windows;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+
+        for (AcademicDegree degree : AcademicDegree.values()) {
+            sb.append(degree).append(":").append(NL)
+              .append(SKIP).append("Average sojourn time: ")
+              .append(String.format("%.2f", getAverageSojournTime(degree)))
+              .append(" seconds.").append(NL)
+              .append(SKIP).append("Maximum sojourn time: ")
+              .append(getMaximumSojournTime(degree))
+              .append(" seconds.").append(NL);
+        }
+
+        for (int i = 0; i < canteenNames.length; ++i) {
+            sb.append(canteenNames[i]).append(":").append(NL)
+              .append(SKIP).append("Diverted: ")
+              .append(divertedCounts[i]).append(NL)
+              .append(SKIP).append("Received: ")
+              .append(receivedCounts[i]).append(NL)
+              .append(canteenResults[i]);
+
+            if (i < canteenNames.length - 1) {
+                sb.append(NL);
+            }
+        }
+
+        return sb.toString();
+    }
+}
@@ -0,0 +1,158 @@
+package net.coderodde.simulation.lunch;
+
+import java.util.Objects;
+
+/**
+ * This class describes a canteen of a {@link CampusSimulation}: a single
+ * cashier lunch queue with its own stream of arrivals. A person arriving at
+ * a canteen whose line is long, that is, at which at least as many people as
+ * the diversion threshold are already waiting, walks to the nearest other
+ * canteen instead of joining the line.
+ * <p>
+ * A canteen consumes its arrival stream and draws from its cashier when
+ * simulated, so it can be simulated only once.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public final class Canteen {
+
+    /**
+     * Denotes a diversion threshold that is never reached.
+     */
+    public static final int NO_DIVERSION = Integer.MAX_VALUE;
+
+    private final String name;
+    private final ArrivalStream arrivalStream;
+    private final int diversionThreshold;
+    private final Cashier cashier;
+
+    /**
+     * Initiates the strong fluent API for constructing a {@code Canteen}.
+     *
+     * @param  name the name of the canteen.
+     * @return an arrival selector.
+     */
+    public static ArrivalSelector withName(String name) {
+        Objects.requireNonNull(name, "The canteen name is null.");
+        return new ArrivalSelector(name);
+    }
+
+    public static final class ArrivalSelector {
+
+        private final String name;
+
+        private ArrivalSelector(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Selects the stream of the people coming to the canteen directly,
+         * sorted by arrival time.
+         *
+         * @param  arrivalStream the stream of arrivals.
+         * @return a diversion selector.
+         */
+        public DiversionSelector withArrivals(ArrivalStream arrivalStream) {
+            Objects.requireNonNull(arrivalStream,
+                                   "The input arrival stream is null.");
+            return new DiversionSelector(name, arrivalStream);
+        }
+
+        public DiversionSelector withArrivals(PackedPopulation population) {
+            Objects.requireNonNull(population, "The input population is null.");
+            return withArrivals(population.toArrivalStream());
+        }
+    }
+
+    public static final class DiversionSelector {
+
+        private final String name;
+        private final ArrivalStream arrivalStream;
+
+        private DiversionSelector(String name, ArrivalStream arrivalStream) {
+            this.name = name;
+            this.arrivalStream = arrivalStream;
+        }
+
+        /**
+         * Selects the number of waiting people at which an arriving person
+         * walks to another canteen.
+         *
+         * @param  diversionThreshold the diversion threshold.
+         * @return a cashier selector.
+         */
+        public CashierSelector withDiversionThreshold(int diversionThreshold) {
+            if (diversionThreshold < 1) {
+                throw new IllegalArgumentException(
+                        "The diversion threshold is not positive: " +
+                        diversionThreshold);
+            }
+
+            return new CashierSelector(name,
+                                       arrivalStream,
+                                       diversionThreshold);
+        }
+
+        public CashierSelector withoutDiversion() {
+            return withDiversionThreshold(NO_DIVERSION);
+        }
+    }
+
+    public static final class CashierSelector {
+
+        private final String name;
+        private final ArrivalStream arrivalStream;
+        private final int diversionThreshold;
+
+        private CashierSelector(String name,
+                                ArrivalStream arrivalStream,
+                                int diversionThreshold) {
+            this.name = name;
+            this.arrivalStream = arrivalStream;
+            this.diversionThreshold = diversionThreshold;
+        }
+
+        public Canteen withCashier(Cashier cashier) {
+            Objects.requireNonNull(cashier, "The input cashier is null.");
+            return new Canteen(name,
+                               arrivalStream,
+                               diversionThreshold,
+                               cashier);
+        }
+    }
+
+    private Canteen(String name,
+                    ArrivalStream arrivalStream,
+                    int diversionThreshold,
+                    Cashier cashier) {
+        this.name = name;
+        this.arrivalStream = arrivalStream;
+        this.diversionThreshold = diversionThreshold;
+        this.cashier = cashier;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getDiversionThreshold() {
+        return diversionThreshold;
+    }
+
+    ArrivalStream getArrivalStream() {
+        return arrivalStream;
+    }
+
+    Cashier getCashier() {
+        return cashier;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + name + ", diversion threshold: " +
+               (diversionThreshold == NO_DIVERSION ?
+                "none" :
+                diversionThreshold) + "]";
+    }
+}
@@ -0,0 +1,296 @@
+package net.coderodde.simulation.lunch;
+
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * This class implements the logical process of a single canteen in a
+ * {@link CampusSimulation}. The process handles the arrivals and the
+ * admissions to the cashier of its canteen in the order of time, and talks
+ * to the other processes only through the diversion messages, each of which
+ * carries a person walking over from another canteen.
+ * <p>
+ * At the same time, arrivals go before admissions, just as in the single
+ * cashier simulation. Arrivals at the same time are ordered by the index of
+ * the canteen they come from, the canteen itself counting as the source of
+ * its direct arrivals, and then by the order in which the source produced
+ * them. The order of events therefore depends only on the model, never on
+ * the scheduling of the threads.
+ * <p>
+ * A negative service time drawn from the cashier is clamped to zero, since
+ * an admission may not be scheduled before the current time. The single
+ * cashier simulation does not clamp, so a single canteen gives its results
+ * only if no negative service time is drawn.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+final class CanteenProcess {
+
+    /**
+     * The time of an event that never happens.
+     */
+    static final long NEVER = Long.MAX_VALUE;
+
+    private final int index;
+    private final String name;
+    private final ArrivalStream arrivalStream;
+    private final Cashier cashier;
+    private final int diversionThreshold;
+    private final int maximumDiversions;
+
+    private final Queue<Diversion> inbox = new ConcurrentLinkedQueue<>();
+    private final PriorityQueue<Diversion> pendingDiversions =
+            new PriorityQueue<>();
+    private final PrimitivePrioritizedQueue queue =
+            new PrimitivePrioritizedQueue();
+    private final StatisticsAccumulator waitAccumulator =
+            new StatisticsAccumulator();
+    private final StatisticsAccumulator sojournAccumulator =
+            new StatisticsAccumulator();
+
+    private CanteenProcess target;
+    private int walkTime;
+
+    private boolean directArrivalPending;
+    private int directArrivalTime;
+    private int directArrivalDegree;
+    private long diversionSequence;
+
+    private boolean started;
+    private long freeTime;
+    private long nonEmptyTime;
+    private long divertedCount;
+    private long receivedCount;
+
+    CanteenProcess(int index, Canteen canteen, int maximumDiversions) {
+        this.index = index;
+        this.name = canteen.getName();
+        this.arrivalStream = canteen.getArrivalStream();
+        this.cashier = canteen.getCashier();
+        this.diversionThreshold = canteen.getDiversionThreshold();
+        this.maximumDiversions = maximumDiversions;
+        loadDirectArrival();
+    }
+
+    /**
+     * Sets the canteen to which the people diverted from this canteen walk.
+     *
+     * @param target   the process of the target canteen.
+     * @param walkTime the walk time in seconds, which is positive.
+     */
+    void setTarget(CanteenProcess target, int walkTime) {
+        this.target = target;
+        this.walkTime = walkTime;
+    }
+
+    /**
+     * Returns the time of the earliest arrival known to this process, or
+     * {@link #NEVER} if it knows none. Arrivals still travelling from other
+     * canteens are not known.
+     *
+     * @return the time of the next known arrival.
+     */
+    long getNextArrivalTime() {
+        drainInbox();
+        long time = directArrivalPending ? directArrivalTime : NEVER;
+
+        if (!pendingDiversions.isEmpty()) {
+            time = Math.min(time, pendingDiversions.peek().time);
+        }
+
+        return time;
+    }
+
+    /**
+     * Handles all the events before {@code bound}. The caller guarantees
+     * that no diversion message earlier than {@code bound} is yet to come.
+     *
+     * @param bound the time up to which the events are safe to handle.
+     */
+    void advance(long bound) {
+        while (true) {
+            long arrivalTime = getNextArrivalTime();
+            long admissionTime = queue.isEmpty() ?
+                                 NEVER :
+                                 Math.max(freeTime, nonEmptyTime);
+
+            if (arrivalTime <= admissionTime) {
+                if (arrivalTime >= bound) {
+                    return;
+                }
+
+                arrive();
+            } else {
+                if (admissionTime >= bound) {
+                    return;
+                }
+
+                admit(admissionTime);
+            }
+        }
+    }
+
+    void receive(Diversion diversion) {
+        inbox.add(diversion);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    StatisticsAccumulator getWaitAccumulator() {
+        return waitAccumulator;
+    }
+
+    StatisticsAccumulator getSojournAccumulator() {
+        return sojournAccumulator;
+    }
+
+    long getDivertedCount() {
+        return divertedCount;
+    }
+
+    long getReceivedCount() {
+        return receivedCount;
+    }
+
+    private void arrive() {
+        int time;
+        int degree;
+        int originalArrivalTime;
+        int diversions;
+        Diversion diversion = pendingDiversions.peek();
+
+        if (directArrivalPending
+                && (diversion == null
+                    || directArrivalTime < diversion.time
+                    || (directArrivalTime == diversion.time
+                        && index < diversion.source))) {
+            time = directArrivalTime;
+            degree = directArrivalDegree;
+            originalArrivalTime = time;
+            diversions = 0;
+            loadDirectArrival();
+        } else {
+            pendingDiversions.remove();
+            time = diversion.time;
+            degree = diversion.degree;
+            originalArrivalTime = diversion.originalArrivalTime;
+            diversions = diversion.diversions;
+            ++receivedCount;
+        }
+
+        if (target != null
+                && diversions < maximumDiversions
+                && queue.size() >= diversionThreshold) {
+            ++divertedCount;
+            target.receive(new Diversion(time + walkTime,
+                                         degree,
+                                         originalArrivalTime,
+                                         diversions + 1,
+                                         index,
+                                         diversionSequence++));
+            return;
+        }
+
+        if (queue.isEmpty()) {
+            nonEmptyTime = time;
+        }
+
+        // The identity of a queued person is the original arrival time.
+        queue.push(degree, time, originalArrivalTime);
+    }
+
+    private void admit(long admissionTime) {
+        int idleTime = started ? (int)(admissionTime - freeTime) : 0;
+        started = true;
+        waitAccumulator.addIdleTime(idleTime);
+
+        int degree = queue.pop();
+        // Negative draws would travel back in time.
+        int departureTime = (int) admissionTime +
+                            Math.max(0, cashier.getServiceTime());
+        int originalArrivalTime = (int) queue.getLastId();
+        freeTime = departureTime;
+
+        if (!queue.isEmpty()) {
+            nonEmptyTime = admissionTime;
+        }
+
+        waitAccumulator.addWaitTime(degree,
+                                    departureTime -
+                                    queue.getLastArrivalTime());
+        sojournAccumulator.addWaitTime(degree,
+                                       departureTime - originalArrivalTime);
+    }
+
+    private void loadDirectArrival() {
+        if (!arrivalStream.hasNext()) {
+            directArrivalPending = false;
+            return;
+        }
+
+        int previousArrivalTime = directArrivalTime;
+        arrivalStream.next();
+        directArrivalTime = arrivalStream.getArrivalTime();
+
+        if (directArrivalPending && directArrivalTime < previousArrivalTime) {
+            throw new IllegalStateException(
+                    "The arrival stream of " + name + " is not sorted: " +
+                    directArrivalTime + " after " + previousArrivalTime);
+        }
+
+        directArrivalDegree = arrivalStream.getAcademicDegree().ordinal();
+        directArrivalPending = true;
+    }
+
+    private void drainInbox() {
+        Diversion diversion;
+
+        while ((diversion = inbox.poll()) != null) {
+            pendingDiversions.add(diversion);
+        }
+    }
+
+    /**
+     * A person walking from one canteen to another.
+     */
+    static final class Diversion implements Comparable<Diversion> {
+
+        private final int time;
+        private final int degree;
+        private final int originalArrivalTime;
+        private final int diversions;
+        private final int source;
+        private final long sequence;
+
+        Diversion(int time,
+                  int degree,
+                  int originalArrivalTime,
+                  int diversions,
+                  int source,
+                  long sequence) {
+            this.time = time;
+            this.degree = degree;
+            this.originalArrivalTime = originalArrivalTime;
+            this.diversions = diversions;
+            this.source = source;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Diversion other) {
+            if (time != other.time) {
+                return Integer.compare(time, other.time);
+            }
+
+            if (source != other.source) {
+                return Integer.compare(source, other.source);
+            }
+
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+}
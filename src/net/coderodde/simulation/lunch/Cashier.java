@@ -30,6 +30,20 @@ public final class Cashier {
         return new MeanServiceTimeSelector(configuration);
     }
     
+    /**
+     * Initiates a strong fluent API for creating a {@code Cashier} whose 
+     * random number generator is seeded with {@code seed}. The cashier draws
+     * the same service times as one created with 
+     * {@code withRandom(new Random(seed))}, and the state of its generator can
+     * be copied cheaply, which {@link WhatIfSimulator} requires.
+     * 
+     * @param  seed the seed of the random number generator.
+     * @return the mean service time selector.
+     */
+    public static MeanServiceTimeSelector withSeed(long seed) {
+        return withRandom(new CopyableRandom(seed));
+    }
+    
     /**
      * Initiates a strong fluent API for creating a {@code Cashier} using a 
      * default random number generator.
@@ -102,6 +116,18 @@ public final class Cashier {
                                     random.nextGaussian()));
     }
     
+    double getMeanServiceTime() {
+        return meanServiceTime;
+    }
+    
+    double getStandardDeviationOfServiceTime() {
+        return standardDeviationOfServiceTime;
+    }
+    
+    Random getRandom() {
+        return random;
+    }
+    
     private static final class Configuration {
         private Random random;
         private double meanServiceTime;
@@ -0,0 +1,86 @@
+package net.coderodde.simulation.lunch;
+
+import java.util.Random;
+
+/**
+ * This class implements the linear congruential generator specified for
+ * {@link Random}, keeping its whole state, the pending Gaussian included, in
+ * plain fields so that it can be copied in constant time. Seeded alike, it
+ * produces exactly the same numbers as {@code new Random(seed)}. Unlike
+ * {@link Random}, an instance is not thread-safe.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+final class CopyableRandom extends Random {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final long MULTIPLIER = 0x5deece66dL;
+    private static final long ADDEND = 0xbL;
+    private static final long MASK = (1L << 48) - 1;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    // Set by setSeed() from the constructor of Random, hence no initializers.
+    private long state;
+    private double nextNextGaussian;
+    private boolean haveNextNextGaussian;
+
+    CopyableRandom(long seed) {
+        super(seed);
+    }
+
+    /**
+     * Returns a generator that produces the same numbers as this one from
+     * now on.
+     *
+     * @return the copy.
+     */
+    CopyableRandom copy() {
+        CopyableRandom copy = new CopyableRandom(0L);
+        copy.state = state;
+        copy.nextNextGaussian = nextNextGaussian;
+        copy.haveNextNextGaussian = haveNextNextGaussian;
+        return copy;
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        state = (seed ^ MULTIPLIER) & MASK;
+        haveNextNextGaussian = false;
+    }
+
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int)(state >>> (48 - bits));
+    }
+
+    @Override
+    public double nextDouble() {
+        return (((long)(next(26)) << 27) + next(27)) * DOUBLE_UNIT;
+    }
+
+    @Override
+    public double nextGaussian() {
+        if (haveNextNextGaussian) {
+            haveNextNextGaussian = false;
+            return nextNextGaussian;
+        }
+
+        double v1;
+        double v2;
+        double s;
+
+        do {
+            v1 = 2 * nextDouble() - 1;
+            v2 = 2 * nextDouble() - 1;
+            s = v1 * v1 + v2 * v2;
+        } while (s >= 1 || s == 0);
+
+        double multiplier = StrictMath.sqrt(-2 * StrictMath.log(s) / s);
+        nextNextGaussian = v2 * multiplier;
+        haveNextNextGaussian = true;
+        return v1 * multiplier;
+    }
+}
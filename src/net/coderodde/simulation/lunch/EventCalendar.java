@@ -0,0 +1,181 @@
+package net.coderodde.simulation.lunch;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements the future event list as a binary min-heap over 
+ * parallel primitive arrays. Events with equal timestamps are dequeued in 
+ * the order they were scheduled, which keeps the simulation deterministic.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+final class EventCalendar implements EventList {
+    
+    private static final int INITIAL_CAPACITY = 64;
+    
+    private int[] times = new int[INITIAL_CAPACITY];
+    private long[] sequences = new long[INITIAL_CAPACITY];
+    private int[] firstPayloads = new int[INITIAL_CAPACITY];
+    private int[] secondPayloads = new int[INITIAL_CAPACITY];
+    
+    private int size;
+    private long nextSequence;
+    
+    private int lastTime;
+    private int lastFirstPayload;
+    private int lastSecondPayload;
+    
+    @Override
+    public void schedule(int time, int firstPayload, int secondPayload) {
+        if (size == times.length) {
+            expand();
+        }
+        
+        long sequence = nextSequence++;
+        int index = size++;
+        
+        // Sift up.
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            
+            if (!less(time, sequence, parent)) {
+                break;
+            }
+            
+            move(parent, index);
+            index = parent;
+        }
+        
+        set(index, time, sequence, firstPayload, secondPayload);
+    }
+    
+    @Override
+    public void removeMinimum() {
+        if (size == 0) {
+            throw new NoSuchElementException(
+                    "Removing from an empty event calendar.");
+        }
+        
+        lastTime = times[0];
+        lastFirstPayload = firstPayloads[0];
+        lastSecondPayload = secondPayloads[0];
+        
+        --size;
+        
+        if (size == 0) {
+            return;
+        }
+        
+        int time = times[size];
+        long sequence = sequences[size];
+        int firstPayload = firstPayloads[size];
+        int secondPayload = secondPayloads[size];
+        int index = 0;
+        
+        // Sift down.
+        for (;;) {
+            int child = 2 * index + 1;
+            
+            if (child >= size) {
+                break;
+            }
+            
+            if (child + 1 < size && less(child + 1, child)) {
+                ++child;
+            }
+            
+            if (!lessThanValues(child, time, sequence)) {
+                break;
+            }
+            
+            move(child, index);
+            index = child;
+        }
+        
+        set(index, time, sequence, firstPayload, secondPayload);
+    }
+    
+    @Override
+    public int getMinimumTime() {
+        if (size == 0) {
+            throw new NoSuchElementException(
+                    "Peeking into an empty event calendar.");
+        }
+        
+        return times[0];
+    }
+    
+    @Override
+    public int getLastTime() {
+        return lastTime;
+    }
+    
+    @Override
+    public int getLastFirstPayload() {
+        return lastFirstPayload;
+    }
+    
+    @Override
+    public int getLastSecondPayload() {
+        return lastSecondPayload;
+    }
+    
+    @Override
+    public int size() {
+        return size;
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    @Override
+    public void clear() {
+        size = 0;
+        nextSequence = 0L;
+    }
+    
+    private boolean less(int time, long sequence, int index) {
+        return time < times[index] 
+           || (time == times[index] && sequence < sequences[index]);
+    }
+    
+    private boolean less(int index1, int index2) {
+        return less(times[index1], sequences[index1], index2);
+    }
+    
+    private boolean lessThanValues(int index, int time, long sequence) {
+        return times[index] < time 
+           || (times[index] == time && sequences[index] < sequence);
+    }
+    
+    private void move(int from, int to) {
+        set(to, 
+            times[from],
+            sequences[from],
+            firstPayloads[from], 
+            secondPayloads[from]);
+    }
+    
+    private void set(int index, 
+                     int time, 
+                     long sequence,
+                     int firstPayload,
+                     int secondPayload) {
+        times[index] = time;
+        sequences[index] = sequence;
+        firstPayloads[index] = firstPayload;
+        secondPayloads[index] = secondPayload;
+    }
+    
+    private void expand() {
+        int capacity = 2 * times.length;
+        times = Arrays.copyOf(times, capacity);
+        sequences = Arrays.copyOf(sequences, capacity);
+        firstPayloads = Arrays.copyOf(firstPayloads, capacity);
+        secondPayloads = Arrays.copyOf(secondPayloads, capacity);
+    }
+}
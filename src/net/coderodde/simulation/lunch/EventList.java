@@ -0,0 +1,56 @@
+package net.coderodde.simulation.lunch;
+
+/**
+ * This interface describes a future event list. Each event carries an 
+ * integer timestamp and two integer payloads. Events with equal timestamps 
+ * are removed in the order they were scheduled, so every implementation 
+ * yields exactly the same simulation.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+interface EventList {
+    
+    /**
+     * Creates an empty event list of the given type.
+     * 
+     * @param  type the type of the event list.
+     * @return an empty event list.
+     */
+    static EventList of(EventListType type) {
+        switch (type) {
+            case BINARY_HEAP:
+                return new EventCalendar();
+                
+            case CALENDAR_QUEUE:
+                return new CalendarQueue();
+                
+            default:
+                throw new IllegalArgumentException(
+                        "Unknown event list type: " + type);
+        }
+    }
+    
+    void schedule(int time, int firstPayload, int secondPayload);
+    
+    /**
+     * Removes the earliest event. Its fields are available via 
+     * {@link #getLastTime()}, {@link #getLastFirstPayload()} and 
+     * {@link #getLastSecondPayload()}.
+     */
+    void removeMinimum();
+    
+    int getMinimumTime();
+    
+    int getLastTime();
+    
+    int getLastFirstPayload();
+    
+    int getLastSecondPayload();
+    
+    int size();
+    
+    boolean isEmpty();
+    
+    void clear();
+}
@@ -0,0 +1,79 @@
+package net.coderodde.simulation.lunch;
+
+import java.util.SplittableRandom;
+
+/**
+ * This class compares the event list implementations in the classic hold 
+ * model: with {@code n} events pending, each operation removes the earliest
+ * event and schedules a new one an exponentially distributed time later. 
+ * The number of pending events is doubled until it reaches 2<sup>20</sup>
+ * or the value of the optional argument, and the smallest size at which the
+ * calendar queue beats the binary heap is reported.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public final class EventListBenchmark {
+    
+    private static final double MEAN_INCREMENT = 100.0;
+    private static final int MINIMUM_OPERATIONS = 2_000_000;
+    
+    private EventListBenchmark() {}
+    
+    public static void main(String... args) {
+        int maximumSize = args.length > 0 ? 
+                          Integer.parseInt(args[0]) : 
+                          1 << 20;
+        int crossover = -1;
+        
+        // Warm up both implementations.
+        hold(EventListType.BINARY_HEAP, 1024);
+        hold(EventListType.CALENDAR_QUEUE, 1024);
+        
+        for (int size = 4; size <= maximumSize; size *= 2) {
+            double heapNanos = hold(EventListType.BINARY_HEAP, size);
+            double calendarNanos = hold(EventListType.CALENDAR_QUEUE, size);
+            System.out.printf("%,10d events, heap: %6.1f ns/op, " + 
+                              "calendar queue: %6.1f ns/op\n",
+                              size,
+                              heapNanos,
+                              calendarNanos);
+            
+            if (crossover < 0 && calendarNanos < heapNanos) {
+                crossover = size;
+            }
+        }
+        
+        System.out.println(crossover < 0 ? 
+                           "The calendar queue was never faster." :
+                           "The calendar queue is faster from " + crossover +
+                           " pending events on.");
+    }
+    
+    // Returns the mean time of a hold operation in nanoseconds.
+    private static double hold(EventListType type, int size) {
+        SplittableRandom random = new SplittableRandom(size);
+        EventList eventList = EventList.of(type);
+        
+        for (int i = 0; i < size; ++i) {
+            eventList.schedule(nextIncrement(random), i, 0);
+        }
+        
+        int operations = Math.max(MINIMUM_OPERATIONS, 4 * size);
+        long startTime = System.nanoTime();
+        
+        for (int i = 0; i < operations; ++i) {
+            eventList.removeMinimum();
+            eventList.schedule(eventList.getLastTime() + nextIncrement(random),
+                               eventList.getLastFirstPayload(),
+                               0);
+        }
+        
+        long endTime = System.nanoTime();
+        return 1.0 * (endTime - startTime) / operations;
+    }
+    
+    private static int nextIncrement(SplittableRandom random) {
+        return (int) (-MEAN_INCREMENT * Math.log(1.0 - random.nextDouble()));
+    }
+}
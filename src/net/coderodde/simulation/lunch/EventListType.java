@@ -0,0 +1,25 @@
+package net.coderodde.simulation.lunch;
+
+/**
+ * This enumeration lists the available implementations of the future event 
+ * list of the event driven simulations. All of them produce identical 
+ * results; they differ in speed only.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public enum EventListType {
+    
+    /**
+     * A binary heap; logarithmic time per operation. The best choice while
+     * only a handful of events are pending at a time.
+     */
+    BINARY_HEAP,
+    
+    /**
+     * A calendar queue of integer timestamp buckets; amortized constant time
+     * per operation. The better choice for long event lists, such as the 
+     * pending reneging deadlines of a long line.
+     */
+    CALENDAR_QUEUE
+}
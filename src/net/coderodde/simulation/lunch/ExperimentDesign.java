@@ -0,0 +1,26 @@
+package net.coderodde.simulation.lunch;
+
+/**
+ * This enumeration lists the ways of placing the parameter points of a
+ * simulation experiment in the unit cube of the varying parameters.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public enum ExperimentDesign {
+
+    /**
+     * A randomly shifted Sobol sequence; a quasi-Monte Carlo design. Its
+     * points fill the cube far more evenly than independent random points,
+     * so the averages over them converge nearly as the inverse of the point
+     * count rather than its square root, and the sequence extends to more
+     * points without losing its balance.
+     */
+    SOBOL,
+
+    /**
+     * A fresh random Latin hypercube per batch of points. Each parameter on
+     * its own is stratified, but their combinations are random.
+     */
+    LATIN_HYPERCUBE
+}
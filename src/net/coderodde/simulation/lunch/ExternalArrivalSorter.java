@@ -0,0 +1,480 @@
+package net.coderodde.simulation.lunch;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * This class sorts arrivals that do not fit in memory by the arrival time
+ * and serves them as an {@link ArrivalStream}. The arrivals are collected
+ * into a fixed-size buffer of primitive arrays; whenever the buffer fills
+ * up, it is sorted and spilled to a temporary run file. The sorted stream
+ * merges the runs with a binary heap over the run heads, first merging
+ * groups of at most {@link #MAXIMUM_FAN_IN} runs into longer runs if there
+ * are too many of them to keep open at once. The heap memory is bounded by
+ * the run size and the read buffers, regardless of the number of arrivals.
+ * <p>
+ * The sort is stable: arrivals with the same arrival time and degree keep
+ * the order in which they were added. Closing the sorter deletes all its
+ * temporary files.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public final class ExternalArrivalSorter implements Closeable {
+
+    /**
+     * The default number of arrivals in a run.
+     */
+    public static final int DEFAULT_RUN_SIZE = 1 << 21;
+
+    /**
+     * The maximum number of runs merged at once.
+     */
+    static final int MAXIMUM_FAN_IN = 256;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final AcademicDegree[] DEGREES = AcademicDegree.values();
+
+    private final Path directory;
+    private final int[] packedPeople;
+    private final long[] ids;
+    private final long[] keys;
+    private final List<Path> runs = new ArrayList<>();
+    private final List<RunMerger> mergers = new ArrayList<>();
+
+    private int bufferSize;
+    private long size;
+    private boolean sorted;
+
+    /**
+     * Creates a sorter spilling runs of the default size.
+     *
+     * @param  directory the directory of the temporary run files.
+     * @return a sorter.
+     */
+    public static ExternalArrivalSorter create(Path directory) {
+        return create(directory, DEFAULT_RUN_SIZE);
+    }
+
+    /**
+     * Creates a sorter spilling runs of the given size. A run takes 20 bytes
+     * of heap per arrival.
+     *
+     * @param  directory the directory of the temporary run files.
+     * @param  runSize   the number of arrivals in a run.
+     * @return a sorter.
+     */
+    public static ExternalArrivalSorter create(Path directory, int runSize) {
+        Objects.requireNonNull(directory, "The input directory is null.");
+
+        if (runSize < 1) {
+            throw new IllegalArgumentException(
+                    "The run size is not positive: " + runSize);
+        }
+
+        return new ExternalArrivalSorter(directory, runSize);
+    }
+
+    private ExternalArrivalSorter(Path directory, int runSize) {
+        this.directory = directory;
+        this.packedPeople = new int[runSize];
+        this.ids = new long[runSize];
+        this.keys = new long[runSize];
+    }
+
+    /**
+     * Adds an arrival in any order.
+     *
+     * @param  id          the identity of the person.
+     * @param  degree      the academic degree of the person.
+     * @param  arrivalTime the arrival time of the person.
+     * @throws IOException if a run could not be spilled.
+     */
+    public void add(long id, AcademicDegree degree, int arrivalTime)
+    throws IOException {
+        Objects.requireNonNull(degree, "The input degree is null.");
+
+        if (sorted) {
+            throw new IllegalStateException(
+                    "Adding to a sorter after sorting.");
+        }
+
+        if (arrivalTime < PackedPopulation.MINIMUM_ARRIVAL_TIME
+                || arrivalTime > PackedPopulation.MAXIMUM_ARRIVAL_TIME) {
+            throw new IllegalArgumentException(
+                    "The arrival time " + arrivalTime + " cannot be packed.");
+        }
+
+        if (bufferSize == packedPeople.length) {
+            spill();
+        }
+
+        packedPeople[bufferSize] =
+                PackedPopulation.pack(arrivalTime, degree.ordinal());
+        ids[bufferSize] = id;
+        ++bufferSize;
+        ++size;
+    }
+
+    /**
+     * Returns the number of arrivals added.
+     *
+     * @return the number of arrivals.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of runs spilled to disk so far.
+     *
+     * @return the number of runs.
+     */
+    public int getRunCount() {
+        return runs.size();
+    }
+
+    /**
+     * Finishes adding and returns the arrivals sorted by arrival time. Reading
+     * the stream may throw {@link UncheckedIOException}.
+     *
+     * @return the sorted arrival stream.
+     * @throws IOException if the runs could not be merged.
+     */
+    public ArrivalStream sort() throws IOException {
+        if (sorted) {
+            throw new IllegalStateException("Sorting twice.");
+        }
+
+        sorted = true;
+
+        if (runs.isEmpty()) {
+            sortBuffer();
+            return new BufferStream();
+        }
+
+        if (bufferSize > 0) {
+            spill();
+        }
+
+        List<Path> current = new ArrayList<>(runs);
+
+        while (current.size() > MAXIMUM_FAN_IN) {
+            List<Path> merged = new ArrayList<>();
+
+            for (int from = 0; from < current.size(); from += MAXIMUM_FAN_IN) {
+                int to = Math.min(current.size(), from + MAXIMUM_FAN_IN);
+                merged.add(mergeToRun(current.subList(from, to)));
+            }
+
+            for (Path run : current) {
+                Files.deleteIfExists(run);
+            }
+
+            current = merged;
+        }
+
+        RunMerger merger = new RunMerger(current);
+        mergers.add(merger);
+        return merger;
+    }
+
+    /**
+     * Closes the open runs and deletes all the temporary files.
+     *
+     * @throws IOException if a file could not be closed or deleted.
+     */
+    @Override
+    public void close() throws IOException {
+        for (RunMerger merger : mergers) {
+            merger.close();
+        }
+
+        for (Path run : runs) {
+            Files.deleteIfExists(run);
+        }
+
+        mergers.clear();
+        runs.clear();
+    }
+
+    /**
+     * Sorts the buffer by the packed person and then by the input order.
+     */
+    private void sortBuffer() {
+        for (int i = 0; i < bufferSize; ++i) {
+            keys[i] = ((long) packedPeople[i] << 32) | i;
+        }
+
+        Arrays.sort(keys, 0, bufferSize);
+    }
+
+    private void spill() throws IOException {
+        sortBuffer();
+        Path run = createRun();
+
+        try (DataOutputStream out = openOutput(run)) {
+            for (int i = 0; i < bufferSize; ++i) {
+                int index = (int) keys[i];
+                out.writeInt(packedPeople[index]);
+                out.writeLong(ids[index]);
+            }
+        }
+
+        bufferSize = 0;
+    }
+
+    private Path mergeToRun(List<Path> group) throws IOException {
+        Path run = createRun();
+
+        try (RunMerger merger = new RunMerger(group);
+             DataOutputStream out = openOutput(run)) {
+            while (merger.hasNext()) {
+                merger.next();
+                out.writeInt(merger.packedPerson);
+                out.writeLong(merger.id);
+            }
+        }
+
+        return run;
+    }
+
+    private Path createRun() throws IOException {
+        Path run = Files.createTempFile(directory, "arrivals", ".run");
+        runs.add(run);
+        return run;
+    }
+
+    private static DataOutputStream openOutput(Path run) throws IOException {
+        return new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(run),
+                                         BUFFER_SIZE));
+    }
+
+    /**
+     * Streams a sorted buffer that never spilled.
+     */
+    private final class BufferStream implements ArrivalStream {
+
+        private int index = -1;
+        private int current;
+
+        @Override
+        public boolean hasNext() {
+            return index + 1 < bufferSize;
+        }
+
+        @Override
+        public void next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more arrivals.");
+            }
+
+            current = (int) keys[++index];
+        }
+
+        @Override
+        public int getArrivalTime() {
+            return PackedPopulation.unpackArrivalTime(packedPeople[current]);
+        }
+
+        @Override
+        public AcademicDegree getAcademicDegree() {
+            return DEGREES[PackedPopulation.unpackDegree(
+                    packedPeople[current])];
+        }
+
+        @Override
+        public long getId() {
+            return ids[current];
+        }
+    }
+
+    /**
+     * Merges sorted runs. The heap holds the indices of the runs ordered by
+     * their head arrivals, ties broken by the run index, which keeps the
+     * merge stable.
+     */
+    private static final class RunMerger implements ArrivalStream, Closeable {
+
+        private final DataInputStream[] inputs;
+        private final long[] remaining;
+        private final int[] headPackedPeople;
+        private final long[] headIds;
+        private final int[] heap;
+        private int heapSize;
+
+        private int packedPerson;
+        private long id;
+
+        RunMerger(List<Path> runs) throws IOException {
+            int count = runs.size();
+            inputs = new DataInputStream[count];
+            remaining = new long[count];
+            headPackedPeople = new int[count];
+            headIds = new long[count];
+            heap = new int[count];
+
+            try {
+                for (int run = 0; run < count; ++run) {
+                    remaining[run] = Files.size(runs.get(run)) /
+                                     (Integer.BYTES + Long.BYTES);
+                    inputs[run] = new DataInputStream(
+                            new BufferedInputStream(
+                                    Files.newInputStream(runs.get(run)),
+                                    BUFFER_SIZE));
+
+                    if (advance(run)) {
+                        heap[heapSize] = run;
+                        siftUp(heapSize++);
+                    }
+                }
+            } catch (IOException ex) {
+                close();
+                throw ex;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return heapSize > 0;
+        }
+
+        @Override
+        public void next() {
+            if (heapSize == 0) {
+                throw new NoSuchElementException("No more arrivals.");
+            }
+
+            int run = heap[0];
+            packedPerson = headPackedPeople[run];
+            id = headIds[run];
+
+            try {
+                if (!advance(run)) {
+                    heap[0] = heap[--heapSize];
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+
+            if (heapSize > 0) {
+                siftDown(0);
+            }
+        }
+
+        @Override
+        public int getArrivalTime() {
+            return PackedPopulation.unpackArrivalTime(packedPerson);
+        }
+
+        @Override
+        public AcademicDegree getAcademicDegree() {
+            return DEGREES[PackedPopulation.unpackDegree(packedPerson)];
+        }
+
+        @Override
+        public long getId() {
+            return id;
+        }
+
+        @Override
+        public void close() throws IOException {
+            IOException exception = null;
+
+            for (DataInputStream input : inputs) {
+                if (input == null) {
+                    continue;
+                }
+
+                try {
+                    input.close();
+                } catch (IOException ex) {
+                    exception = ex;
+                }
+            }
+
+            if (exception != null) {
+                throw exception;
+            }
+        }
+
+        /**
+         * Reads the next arrival of a run into its head, or closes the run if
+         * it is exhausted.
+         */
+        private boolean advance(int run) throws IOException {
+            if (remaining[run] == 0L) {
+                inputs[run].close();
+                return false;
+            }
+
+            headPackedPeople[run] = inputs[run].readInt();
+            headIds[run] = inputs[run].readLong();
+            --remaining[run];
+            return true;
+        }
+
+        private boolean less(int run1, int run2) {
+            int packedPerson1 = headPackedPeople[run1];
+            int packedPerson2 = headPackedPeople[run2];
+            return packedPerson1 < packedPerson2
+                || (packedPerson1 == packedPerson2 && run1 < run2);
+        }
+
+        private void siftUp(int index) {
+            int run = heap[index];
+
+            while (index > 0) {
+                int parentIndex = (index - 1) >>> 1;
+
+                if (!less(run, heap[parentIndex])) {
+                    break;
+                }
+
+                heap[index] = heap[parentIndex];
+                index = parentIndex;
+            }
+
+            heap[index] = run;
+        }
+
+        private void siftDown(int index) {
+            int run = heap[index];
+
+            while (true) {
+                int childIndex = 2 * index + 1;
+
+                if (childIndex >= heapSize) {
+                    break;
+                }
+
+                if (childIndex + 1 < heapSize
+                        && less(heap[childIndex + 1], heap[childIndex])) {
+                    ++childIndex;
+                }
+
+                if (!less(heap[childIndex], run)) {
+                    break;
+                }
+
+                heap[index] = heap[childIndex];
+                index = childIndex;
+            }
+
+            heap[index] = run;
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package net.coderodde.simulation.lunch;
+
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * This class approximates the lunch queue of a very large population by a
+ * fluid model. The people of each academic degree arrive as a continuous
+ * flow whose rate follows the normal density of the lunch times, and the
+ * cashier drains the queue contents at the rate of one person per mean
+ * service time, always draining the highest priority nonempty degree first.
+ * The per-degree queue contents are integrated with the explicit Euler
+ * method over the arrival window of eight standard deviations around the
+ * mean lunch time; after the window the remaining contents are drained in
+ * closed form.
+ * <p>
+ * Within a degree the flow is first in, first out, so the fluid arriving at
+ * time <i>t</i> leaves at the time <i>u</i> at which the cumulative
+ * departures of its degree reach the cumulative arrivals at <i>t</i>. The
+ * wait time at <i>t</i> is <i>u - t</i>, but not less than the mean service
+ * time. The approximation ignores the randomness of the service times and
+ * of the arrivals, so it underestimates the waits of an underloaded cashier
+ * and is accurate when the queue is long. The cost does not depend on the
+ * population size.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public final class FluidApproximation {
+
+    /**
+     * The default number of Euler steps over the arrival window.
+     */
+    public static final int DEFAULT_STEPS = 4000;
+
+    /**
+     * The half width of the arrival window in standard deviations.
+     */
+    private static final double WINDOW_DEVIATIONS = 8.0;
+
+    /**
+     * The relative amount of fluid regarded as rounding noise.
+     */
+    private static final double TOLERANCE = 1e-9;
+
+    private static final AcademicDegree[] DEGREES = AcademicDegree.values();
+    private static final String NL = "\n";
+    private static final String SKIP = "    ";
+
+    private final ReplicationConfiguration configuration;
+    private final double[] times;
+    private final double[][] queueLengths;
+    private final double[][] waitTimes;
+    private final double[] meanWaitTimes = new double[DEGREES.length];
+    private final double[] maximumWaitTimes = new double[DEGREES.length];
+
+    /**
+     * Initiates the strong fluent API for computing a fluid approximation.
+     *
+     * @param  configuration the configuration to approximate. The seed
+     *                       independent parameters are used only.
+     * @return a step selector.
+     */
+    public static StepSelector of(ReplicationConfiguration configuration) {
+        Objects.requireNonNull(configuration,
+                               "The input configuration is null.");
+        return new StepSelector(configuration);
+    }
+
+    public static final class StepSelector {
+
+        private final ReplicationConfiguration configuration;
+
+        private StepSelector(ReplicationConfiguration configuration) {
+            this.configuration = configuration;
+        }
+
+        /**
+         * Computes the approximation with the given number of Euler steps
+         * over the arrival window. The curves have one point per step.
+         *
+         * @param  steps the number of steps.
+         * @return the approximation.
+         */
+        public FluidApproximation withSteps(int steps) {
+            if (steps < 1) {
+                throw new IllegalArgumentException(
+                        "The number of steps is not positive: " + steps);
+            }
+
+            return new FluidApproximation(configuration, steps);
+        }
+
+        public FluidApproximation withDefaultSteps() {
+            return withSteps(DEFAULT_STEPS);
+        }
+    }
+
+    private FluidApproximation(ReplicationConfiguration configuration,
+                               int steps) {
+        this.configuration = configuration;
+        this.times = new double[steps + 1];
+        this.queueLengths = new double[DEGREES.length][steps + 1];
+        this.waitTimes = new double[DEGREES.length][steps + 1];
+
+        double meanLunchTime = configuration.getMeanLunchTime();
+        double lunchTimeDeviation =
+                configuration.getLunchTimeStandardDeviation();
+        double meanServiceTime = configuration.getMeanServiceTime();
+        double start = meanLunchTime - WINDOW_DEVIATIONS * lunchTimeDeviation;
+        double step = 2.0 * WINDOW_DEVIATIONS * lunchTimeDeviation / steps;
+        double serviceRate = 1.0 / meanServiceTime;
+
+        double[][] arrivals = new double[DEGREES.length][steps + 1];
+        double[][] departures = new double[DEGREES.length][steps + 1];
+        double[] previousArrivals = new double[DEGREES.length];
+
+        for (int i = 0; i <= steps; ++i) {
+            times[i] = start + i * step;
+            double fraction = normalCdf(times[i],
+                                        meanLunchTime,
+                                        lunchTimeDeviation);
+
+            // The first point takes the whole flow before the window too.
+            double capacity = step * serviceRate;
+
+            for (int degree = 0; degree < DEGREES.length; ++degree) {
+                double arrived =
+                        configuration.getPeopleCount(DEGREES[degree]) *
+                        (i == steps ? 1.0 : fraction);
+                double inflow = arrived - previousArrivals[degree];
+                double queue = (i == 0 ? 0.0 : queueLengths[degree][i - 1]) +
+                               inflow;
+                double outflow = Math.min(queue, capacity);
+
+                capacity -= outflow;
+                arrivals[degree][i] = arrived;
+                departures[degree][i] =
+                        (i == 0 ? 0.0 : departures[degree][i - 1]) + outflow;
+                queueLengths[degree][i] = queue - outflow;
+                previousArrivals[degree] = arrived;
+            }
+        }
+
+        // Drain the rest in the priority order after the window.
+        double drainStart = times[steps];
+
+        for (int degree = 0; degree < DEGREES.length; ++degree) {
+            double[] degreeArrivals = arrivals[degree];
+            double[] degreeDepartures = departures[degree];
+            double remaining = queueLengths[degree][steps];
+            int j = 0;
+            double weightedSum = 0.0;
+            double maximum = 0.0;
+
+            for (int i = 0; i <= steps; ++i) {
+                double target = degreeArrivals[i];
+                double departureTime;
+
+                if (target - degreeDepartures[steps] > TOLERANCE * target) {
+                    departureTime =
+                            drainStart +
+                            (target - degreeDepartures[steps]) / serviceRate;
+                } else {
+                    // Find the first point by which the target has departed.
+                    while (j < steps && degreeDepartures[j] < target) {
+                        ++j;
+                    }
+
+                    if (j == 0 || degreeDepartures[j] < target) {
+                        departureTime = times[j];
+                    } else {
+                        double low = degreeDepartures[j - 1];
+                        double high = degreeDepartures[j];
+                        departureTime = times[j - 1] +
+                                        step * (target - low) / (high - low);
+                    }
+                }
+
+                double wait = Math.max(departureTime - times[i],
+                                       meanServiceTime);
+                waitTimes[degree][i] = wait;
+                maximum = Math.max(maximum, wait);
+                weightedSum += wait * (degreeArrivals[i] -
+                                       (i == 0 ? 0.0 : degreeArrivals[i - 1]));
+            }
+
+            int count = configuration.getPeopleCount(DEGREES[degree]);
+            meanWaitTimes[degree] = count == 0 ?
+                                    Double.NaN :
+                                    weightedSum / count;
+            maximumWaitTimes[degree] = count == 0 ? Double.NaN : maximum;
+            drainStart += remaining / serviceRate;
+        }
+    }
+
+    /**
+     * Returns the times of the curve points.
+     *
+     * @return the times.
+     */
+    public double[] getTimes() {
+        return times.clone();
+    }
+
+    /**
+     * Returns the number of people of the given degree waiting at each curve
+     * point.
+     *
+     * @param  degree the academic degree.
+     * @return the queue length curve.
+     */
+    public double[] getQueueLengths(AcademicDegree degree) {
+        return queueLengths[degree.ordinal()].clone();
+    }
+
+    /**
+     * Returns the wait time of a person of the given degree arriving at each
+     * curve point.
+     *
+     * @param  degree the academic degree.
+     * @return the wait time curve.
+     */
+    public double[] getWaitTimes(AcademicDegree degree) {
+        return waitTimes[degree.ordinal()].clone();
+    }
+
+    public double getMeanWaitTime(AcademicDegree degree) {
+        return meanWaitTimes[degree.ordinal()];
+    }
+
+    public double getMaximumWaitTime(AcademicDegree degree) {
+        return maximumWaitTimes[degree.ordinal()];
+    }
+
+    /**
+     * Simulates the configuration with the given seed over a packed
+     * population, which has exactly the configured number of people, and
+     * compares the result to this approximation.
+     *
+     * @param  seed the seed of the simulation.
+     * @return the comparison.
+     */
+    public FluidApproximationError validate(long seed) {
+        Random random = new Random(seed);
+        long start = System.nanoTime();
+        PackedPopulation population =
+                configuration.generatePackedPopulation(random);
+        SimulationResult result =
+                Simulator.simulate()
+                         .withArrivalStream(population.toArrivalStream())
+                         .withCashier(configuration.createCashier(random));
+        long simulationNanos = System.nanoTime() - start;
+        return new FluidApproximationError(this, result, simulationNanos);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+
+        for (AcademicDegree degree : DEGREES) {
+            if (configuration.getPeopleCount(degree) == 0) {
+                continue;
+            }
+
+            sb.append(degree).append(":").append(NL)
+              .append(SKIP).append("Average wait time:  ")
+              .append(String.format("%.2f", getMeanWaitTime(degree)))
+              .append(" seconds.").append(NL)
+              .append(SKIP).append("Maximum wait time:  ")
+              .append(String.format("%.2f", getMaximumWaitTime(degree)))
+              .append(" seconds.").append(NL);
+        }
+
+        return sb.toString().trim();
+    }
+
+    /**
+     * Returns the standard normal distribution function at
+     * <tt>(x - mean) / deviation</tt>, or a step at {@code mean} if the
+     * deviation is zero.
+     */
+    private static double normalCdf(double x, double mean, double deviation) {
+        if (deviation == 0.0) {
+            return x < mean ? 0.0 : 1.0;
+        }
+
+        return 0.5 * erfc(-(x - mean) / (deviation * Math.sqrt(2.0)));
+    }
+
+    /**
+     * Computes the complementary error function with a fractional error less
+     * than 1.2e-7 by the Chebyshev fitting of Numerical Recipes.
+     */
+    private static double erfc(double x) {
+        double z = Math.abs(x);
+        double t = 1.0 / (1.0 + 0.5 * z);
+        double value =
+                t * Math.exp(-z * z - 1.26551223 +
+                        t * (1.00002368 +
+                        t * (0.37409196 +
+                        t * (0.09678418 +
+                        t * (-0.18628806 +
+                        t * (0.27886807 +
+                        t * (-1.13520398 +
+                        t * (1.48851587 +
+                        t * (-0.82215223 +
+                        t * 0.17087277)))))))));
+        return x >= 0.0 ? value : 2.0 - value;
+    }
+}
@@ -0,0 +1,106 @@
+package net.coderodde.simulation.lunch;
+
+/**
+ * This class compares a {@link FluidApproximation} to a simulation of the
+ * same configuration.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public final class FluidApproximationError {
+
+    private static final String NL = "\n";
+    private static final String SKIP = "    ";
+
+    private final FluidApproximation approximation;
+    private final SimulationResult simulationResult;
+    private final long simulationNanos;
+
+    FluidApproximationError(FluidApproximation approximation,
+                            SimulationResult simulationResult,
+                            long simulationNanos) {
+        this.approximation = approximation;
+        this.simulationResult = simulationResult;
+        this.simulationNanos = simulationNanos;
+    }
+
+    public SimulationResult getSimulationResult() {
+        return simulationResult;
+    }
+
+    /**
+     * Returns the time spent on generating and simulating the population.
+     *
+     * @return the simulation time in nanoseconds.
+     */
+    public long getSimulationNanos() {
+        return simulationNanos;
+    }
+
+    /**
+     * Returns the approximated minus the simulated average wait time.
+     *
+     * @param  degree the academic degree.
+     * @return the error in seconds.
+     */
+    public double getMeanWaitTimeError(AcademicDegree degree) {
+        return approximation.getMeanWaitTime(degree) -
+               simulationResult.getWaitAverage(degree);
+    }
+
+    /**
+     * Returns the error of the average wait time relative to the simulated
+     * average wait time.
+     *
+     * @param  degree the academic degree.
+     * @return the relative error.
+     */
+    public double getRelativeMeanWaitTimeError(AcademicDegree degree) {
+        return getMeanWaitTimeError(degree) /
+               simulationResult.getWaitAverage(degree);
+    }
+
+    /**
+     * Returns the approximated minus the simulated maximum wait time.
+     *
+     * @param  degree the academic degree.
+     * @return the error in seconds.
+     */
+    public double getMaximumWaitTimeError(AcademicDegree degree) {
+        return approximation.getMaximumWaitTime(degree) -
+               simulationResult.getMaximumWaitTime(degree);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Simulation time: ")
+          .append(String.format("%.1f", simulationNanos / 1e6))
+          .append(" milliseconds.").append(NL);
+
+        for (AcademicDegree degree : AcademicDegree.values()) {
+            if (Double.isNaN(approximation.getMeanWaitTime(degree))) {
+                continue;
+            }
+
+            sb.append(degree).append(":").append(NL)
+              .append(SKIP).append("Average wait time:  ")
+              .append(String.format("%.2f",
+                                    approximation.getMeanWaitTime(degree)))
+              .append(" vs. ")
+              .append(simulationResult.getWaitAverage(degree))
+              .append(" seconds (")
+              .append(String.format("%+.1f%%",
+                      100.0 * getRelativeMeanWaitTimeError(degree)))
+              .append(").").append(NL)
+              .append(SKIP).append("Maximum wait time:  ")
+              .append(String.format("%.2f",
+                                    approximation.getMaximumWaitTime(degree)))
+              .append(" vs. ")
+              .append(simulationResult.getMaximumWaitTime(degree))
+              .append(" seconds.").append(NL);
+        }
+
+        return sb.toString().trim();
+    }
+}
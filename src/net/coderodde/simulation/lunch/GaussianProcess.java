@@ -0,0 +1,331 @@
+package net.coderodde.simulation.lunch;
+
+import java.util.Arrays;
+
+/**
+ * This class implements Gaussian process regression over the unit cube with
+ * the squared exponential kernel with a separate length scale per input
+ * dimension. Each observation carries its own known noise variance, which
+ * is the variance of the estimate produced by a number of replications.
+ * The outputs are standardized, and the length scales and the signal
+ * variance are chosen by maximizing the log marginal likelihood with a
+ * coordinate search in the logarithmic space.
+ * <p>
+ * After fitting, a prediction costs <i>O(nd + n<sup>2</sup>)</i> for
+ * <i>n</i> observations in <i>d</i> dimensions.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+final class GaussianProcess {
+
+    private static final double MINIMUM_LOG_LENGTH_SCALE = Math.log(0.01);
+    private static final double MAXIMUM_LOG_LENGTH_SCALE = Math.log(10.0);
+    private static final double MINIMUM_LOG_SIGNAL_VARIANCE = Math.log(1e-3);
+    private static final double MAXIMUM_LOG_SIGNAL_VARIANCE = Math.log(1e2);
+    private static final double INITIAL_STEP = 1.0;
+    private static final double MINIMUM_STEP = 1.0 / 32.0;
+
+    /**
+     * Added to the standardized noise variances to keep the covariance
+     * matrix positive definite.
+     */
+    private static final double JITTER = 1e-8;
+
+    private final double[][] inputs;
+    private final double outputMean;
+    private final double outputScale;
+    private final double[] inverseSquaredLengthScales;
+    private final double signalVariance;
+    private final double[][] cholesky;
+    private final double[] weights;
+
+    /**
+     * Fits a process to the given observations.
+     *
+     * @param inputs         the inputs in the unit cube.
+     * @param outputs        the observed outputs.
+     * @param noiseVariances the noise variance of each output.
+     */
+    GaussianProcess(double[][] inputs,
+                    double[] outputs,
+                    double[] noiseVariances) {
+        int n = inputs.length;
+        int d = n == 0 ? 0 : inputs[0].length;
+        double sum = 0.0;
+        double squareSum = 0.0;
+
+        for (double output : outputs) {
+            sum += output;
+            squareSum += output * output;
+        }
+
+        double mean = sum / n;
+        double variance = Math.max(0.0, squareSum / n - mean * mean);
+        double scale = variance > 0.0 ? Math.sqrt(variance) : 1.0;
+        double[] y = new double[n];
+        double[] noise = new double[n];
+
+        for (int i = 0; i < n; ++i) {
+            y[i] = (outputs[i] - mean) / scale;
+            noise[i] = noiseVariances[i] / (scale * scale) + JITTER;
+        }
+
+        // Parameters 0, ..., d - 1 are the log length scales, d is the log
+        // signal variance.
+        double[] parameters = new double[d + 1];
+        Arrays.fill(parameters, 0, d, Math.log(0.5));
+        double best = logLikelihood(inputs, y, noise, parameters);
+        double step = INITIAL_STEP;
+
+        while (step >= MINIMUM_STEP) {
+            boolean improved = false;
+
+            for (int p = 0; p <= d; ++p) {
+                for (int sign = -1; sign <= 1; sign += 2) {
+                    double saved = parameters[p];
+                    parameters[p] = clamp(p, d, saved + sign * step);
+
+                    if (parameters[p] == saved) {
+                        continue;
+                    }
+
+                    double candidate =
+                            logLikelihood(inputs, y, noise, parameters);
+
+                    if (candidate > best) {
+                        best = candidate;
+                        improved = true;
+                        break;
+                    }
+
+                    parameters[p] = saved;
+                }
+            }
+
+            if (!improved) {
+                step /= 2.0;
+            }
+        }
+
+        this.inputs = inputs;
+        this.outputMean = mean;
+        this.outputScale = scale;
+        this.inverseSquaredLengthScales = new double[d];
+
+        for (int j = 0; j < d; ++j) {
+            inverseSquaredLengthScales[j] = Math.exp(-2.0 * parameters[j]);
+        }
+
+        this.signalVariance = Math.exp(parameters[d]);
+        this.cholesky = decompose(covariance(inputs,
+                                             noise,
+                                             inverseSquaredLengthScales,
+                                             signalVariance));
+
+        if (cholesky == null) {
+            throw new IllegalStateException(
+                    "The covariance matrix is not positive definite.");
+        }
+
+        this.weights = y.clone();
+        solveLower(cholesky, weights);
+        solveUpper(cholesky, weights);
+    }
+
+    int size() {
+        return inputs.length;
+    }
+
+    /**
+     * Returns the standard deviation of the observed outputs, or one if they
+     * are all equal.
+     *
+     * @return the output scale.
+     */
+    double getOutputScale() {
+        return outputScale;
+    }
+
+    /**
+     * Predicts the latent function at the given point.
+     *
+     * @param input  the point in the unit cube.
+     * @param result the array receiving the predicted mean at index 0 and
+     *               the predicted variance at index 1.
+     */
+    void predict(double[] input, double[] result) {
+        int n = inputs.length;
+        double[] k = new double[n];
+        double mean = 0.0;
+
+        for (int i = 0; i < n; ++i) {
+            k[i] = kernel(input, inputs[i]);
+            mean += k[i] * weights[i];
+        }
+
+        solveLower(cholesky, k);
+        double explained = 0.0;
+
+        for (int i = 0; i < n; ++i) {
+            explained += k[i] * k[i];
+        }
+
+        double variance = Math.max(0.0, signalVariance - explained);
+        result[0] = outputMean + outputScale * mean;
+        result[1] = outputScale * outputScale * variance;
+    }
+
+    private double kernel(double[] x1, double[] x2) {
+        return kernel(x1, x2, inverseSquaredLengthScales, signalVariance);
+    }
+
+    private static double kernel(double[] x1,
+                                 double[] x2,
+                                 double[] inverseSquaredLengthScales,
+                                 double signalVariance) {
+        double distance = 0.0;
+
+        for (int j = 0; j < x1.length; ++j) {
+            double delta = x1[j] - x2[j];
+            distance += delta * delta * inverseSquaredLengthScales[j];
+        }
+
+        return signalVariance * Math.exp(-0.5 * distance);
+    }
+
+    private static double clamp(int parameter, int d, double value) {
+        if (parameter < d) {
+            return Math.max(MINIMUM_LOG_LENGTH_SCALE,
+                            Math.min(MAXIMUM_LOG_LENGTH_SCALE, value));
+        }
+
+        return Math.max(MINIMUM_LOG_SIGNAL_VARIANCE,
+                        Math.min(MAXIMUM_LOG_SIGNAL_VARIANCE, value));
+    }
+
+    /**
+     * Returns the log marginal likelihood of the standardized outputs, or
+     * negative infinity if the covariance matrix is not positive definite.
+     */
+    private static double logLikelihood(double[][] inputs,
+                                        double[] y,
+                                        double[] noise,
+                                        double[] parameters) {
+        int d = parameters.length - 1;
+        double[] inverseSquaredLengthScales = new double[d];
+
+        for (int j = 0; j < d; ++j) {
+            inverseSquaredLengthScales[j] = Math.exp(-2.0 * parameters[j]);
+        }
+
+        double[][] l = decompose(covariance(inputs,
+                                            noise,
+                                            inverseSquaredLengthScales,
+                                            Math.exp(parameters[d])));
+
+        if (l == null) {
+            return Double.NEGATIVE_INFINITY;
+        }
+
+        double[] z = y.clone();
+        solveLower(l, z);
+        double value = 0.0;
+
+        for (int i = 0; i < z.length; ++i) {
+            value -= 0.5 * z[i] * z[i] + Math.log(l[i][i]);
+        }
+
+        return value;
+    }
+
+    private static double[][] covariance(double[][] inputs,
+                                         double[] noise,
+                                         double[] inverseSquaredLengthScales,
+                                         double signalVariance) {
+        int n = inputs.length;
+        double[][] matrix = new double[n][n];
+
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < i; ++j) {
+                matrix[i][j] = kernel(inputs[i],
+                                      inputs[j],
+                                      inverseSquaredLengthScales,
+                                      signalVariance);
+                matrix[j][i] = matrix[i][j];
+            }
+
+            matrix[i][i] = signalVariance + noise[i];
+        }
+
+        return matrix;
+    }
+
+    /**
+     * Computes the lower triangular Cholesky factor in place, or returns
+     * {@code null} if the matrix is not positive definite.
+     */
+    private static double[][] decompose(double[][] matrix) {
+        int n = matrix.length;
+
+        for (int j = 0; j < n; ++j) {
+            double[] rowJ = matrix[j];
+            double diagonal = rowJ[j];
+
+            for (int k = 0; k < j; ++k) {
+                diagonal -= rowJ[k] * rowJ[k];
+            }
+
+            if (!(diagonal > 0.0)) {
+                return null;
+            }
+
+            diagonal = Math.sqrt(diagonal);
+            rowJ[j] = diagonal;
+
+            for (int i = j + 1; i < n; ++i) {
+                double[] rowI = matrix[i];
+                double value = rowI[j];
+
+                for (int k = 0; k < j; ++k) {
+                    value -= rowI[k] * rowJ[k];
+                }
+
+                rowI[j] = value / diagonal;
+            }
+        }
+
+        return matrix;
+    }
+
+    /**
+     * Solves <tt>L x = b</tt> in place.
+     */
+    private static void solveLower(double[][] l, double[] b) {
+        for (int i = 0; i < b.length; ++i) {
+            double value = b[i];
+            double[] row = l[i];
+
+            for (int k = 0; k < i; ++k) {
+                value -= row[k] * b[k];
+            }
+
+            b[i] = value / row[i];
+        }
+    }
+
+    /**
+     * Solves <tt>L<sup>T</sup> x = b</tt> in place.
+     */
+    private static void solveUpper(double[][] l, double[] b) {
+        for (int i = b.length - 1; i >= 0; --i) {
+            double value = b[i];
+
+            for (int k = i + 1; k < b.length; ++k) {
+                value -= l[k][i] * b[k];
+            }
+
+            b[i] = value / l[i][i];
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package net.coderodde.simulation.lunch;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements the same serving order as {@link PrioritizedQueue}
+ * (the earliest person of the highest priority degree first) as an indexed 
+ * binary heap. Each pushed person receives an integer handle, through which
+ * the person may be removed from the middle of the queue in logarithmic 
+ * time, for example, when the person runs out of patience. Handles are 
+ * recycled; the generation of a handle tells apart its successive owners.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+final class IndexedPrioritizedQueue {
+    
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int NOT_IN_HEAP = -1;
+    
+    // Per handle data.
+    private int[] degrees = new int[INITIAL_CAPACITY];
+    private int[] arrivalTimes = new int[INITIAL_CAPACITY];
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] sequences = new long[INITIAL_CAPACITY];
+    private int[] positions = new int[INITIAL_CAPACITY];
+    private int[] generations = new int[INITIAL_CAPACITY];
+    
+    private int[] heap = new int[INITIAL_CAPACITY];
+    private int size;
+    
+    private final IntRingQueue freeHandles = new IntRingQueue();
+    private int handleCount;
+    private long nextSequence;
+    
+    private int lastDegree;
+    private int lastArrivalTime;
+    private long lastId;
+    
+    /**
+     * Pushes a person to the queue.
+     * 
+     * @param  degree      the ordinal of the academic degree.
+     * @param  arrivalTime the arrival time.
+     * @param  id          the identity of the person.
+     * @return the handle of the person.
+     */
+    int push(int degree, int arrivalTime, long id) {
+        int handle = allocateHandle();
+        degrees[handle] = degree;
+        arrivalTimes[handle] = arrivalTime;
+        ids[handle] = id;
+        sequences[handle] = nextSequence++;
+        
+        heap[size] = handle;
+        positions[handle] = size;
+        siftUp(size++);
+        return handle;
+    }
+    
+    /**
+     * Removes the head of the queue. The data of the removed person is 
+     * available via {@link #getLastArrivalTime()} and {@link #getLastId()}.
+     * 
+     * @return the ordinal of the academic degree of the removed person.
+     */
+    int pop() {
+        if (size == 0) {
+            throw new NoSuchElementException(
+                    "Popping from an empty prioritized queue.");
+        }
+        
+        removeAt(0);
+        return lastDegree;
+    }
+    
+    /**
+     * Removes the person with the given handle, if the handle is still owned
+     * by the generation {@code generation} and the person is still waiting.
+     * 
+     * @param  handle     the handle of the person.
+     * @param  generation the generation of the handle.
+     * @return {@code true} if the person was removed.
+     */
+    boolean remove(int handle, int generation) {
+        if (handle >= handleCount 
+                || generations[handle] != generation 
+                || positions[handle] == NOT_IN_HEAP) {
+            return false;
+        }
+        
+        removeAt(positions[handle]);
+        return true;
+    }
+    
+    int getGeneration(int handle) {
+        return generations[handle];
+    }
+    
+    int getLastDegree() {
+        return lastDegree;
+    }
+    
+    int getLastArrivalTime() {
+        return lastArrivalTime;
+    }
+    
+    long getLastId() {
+        return lastId;
+    }
+    
+    int size() {
+        return size;
+    }
+    
+    boolean isEmpty() {
+        return size == 0;
+    }
+    
+    private void removeAt(int index) {
+        int handle = heap[index];
+        lastDegree = degrees[handle];
+        lastArrivalTime = arrivalTimes[handle];
+        lastId = ids[handle];
+        
+        positions[handle] = NOT_IN_HEAP;
+        ++generations[handle];
+        freeHandles.add(handle);
+        
+        --size;
+        
+        if (index == size) {
+            return;
+        }
+        
+        int last = heap[size];
+        heap[index] = last;
+        positions[last] = index;
+        
+        if (index > 0 && less(last, heap[(index - 1) >>> 1])) {
+            siftUp(index);
+        } else {
+            siftDown(index);
+        }
+    }
+    
+    private void siftUp(int index) {
+        int handle = heap[index];
+        
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            int parentHandle = heap[parent];
+            
+            if (!less(handle, parentHandle)) {
+                break;
+            }
+            
+            heap[index] = parentHandle;
+            positions[parentHandle] = index;
+            index = parent;
+        }
+        
+        heap[index] = handle;
+        positions[handle] = index;
+    }
+    
+    private void siftDown(int index) {
+        int handle = heap[index];
+        
+        for (;;) {
+            int child = 2 * index + 1;
+            
+            if (child >= size) {
+                break;
+            }
+            
+            if (child + 1 < size && less(heap[child + 1], heap[child])) {
+                ++child;
+            }
+            
+            int childHandle = heap[child];
+            
+            if (!less(childHandle, handle)) {
+                break;
+            }
+            
+            heap[index] = childHandle;
+            positions[childHandle] = index;
+            index = child;
+        }
+        
+        heap[index] = handle;
+        positions[handle] = index;
+    }
+    
+    private boolean less(int handle1, int handle2) {
+        int degree1 = degrees[handle1];
+        int degree2 = degrees[handle2];
+        
+        if (degree1 != degree2) {
+            return degree1 < degree2;
+        }
+        
+        return sequences[handle1] < sequences[handle2];
+    }
+    
+    private int allocateHandle() {
+        if (!freeHandles.isEmpty()) {
+            return freeHandles.remove();
+        }
+        
+        if (handleCount == degrees.length) {
+            int capacity = 2 * handleCount;
+            degrees = Arrays.copyOf(degrees, capacity);
+            arrivalTimes = Arrays.copyOf(arrivalTimes, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+            sequences = Arrays.copyOf(sequences, capacity);
+            positions = Arrays.copyOf(positions, capacity);
+            generations = Arrays.copyOf(generations, capacity);
+            heap = Arrays.copyOf(heap, capacity);
+        }
+        
+        return handleCount++;
+    }
+}
@@ -0,0 +1,65 @@
+package net.coderodde.simulation.lunch;
+
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements a growable FIFO queue of primitive integers.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+final class IntRingQueue {
+    
+    private static final int INITIAL_CAPACITY = 16;
+    
+    private int[] elements = new int[INITIAL_CAPACITY];
+    private int head;
+    private int size;
+    
+    void add(int element) {
+        if (size == elements.length) {
+            int[] newElements = new int[2 * size];
+            System.arraycopy(elements, head, newElements, 0, size - head);
+            System.arraycopy(elements, 0, newElements, size - head, head);
+            elements = newElements;
+            head = 0;
+        }
+        
+        elements[(head + size) & (elements.length - 1)] = element;
+        ++size;
+    }
+    
+    int remove() {
+        if (size == 0) {
+            throw new NoSuchElementException(
+                    "Removing from an empty queue.");
+        }
+        
+        int element = elements[head];
+        head = (head + 1) & (elements.length - 1);
+        --size;
+        return element;
+    }
+    
+    int peek() {
+        if (size == 0) {
+            throw new NoSuchElementException(
+                    "Peeking an empty queue.");
+        }
+        
+        return elements[head];
+    }
+    
+    int size() {
+        return size;
+    }
+    
+    boolean isEmpty() {
+        return size == 0;
+    }
+    
+    void clear() {
+        head = 0;
+        size = 0;
+    }
+}
@@ -0,0 +1,43 @@
+package net.coderodde.simulation.lunch;
+
+import java.util.Random;
+
+/**
+ * This class generates Latin hypercube samples of the unit cube: along each
+ * dimension, each of the {@code size} equal slices of the unit interval
+ * holds exactly one of the points.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+final class LatinHypercube {
+
+    private LatinHypercube() {}
+
+    /**
+     * Creates a random Latin hypercube sample.
+     *
+     * @param  size       the number of points.
+     * @param  dimensions the number of dimensions.
+     * @param  random     the random number generator.
+     * @return the points.
+     */
+    static double[][] create(int size, int dimensions, Random random) {
+        double[][] points = new double[size][dimensions];
+        int[] permutation = new int[size];
+
+        for (int j = 0; j < dimensions; ++j) {
+            for (int i = 0; i < size; ++i) {
+                int k = random.nextInt(i + 1);
+                permutation[i] = permutation[k];
+                permutation[k] = i;
+            }
+
+            for (int i = 0; i < size; ++i) {
+                points[i][j] = (permutation[i] + random.nextDouble()) / size;
+            }
+        }
+
+        return points;
+    }
+}
@@ -0,0 +1,102 @@
+package net.coderodde.simulation.lunch;
+
+/**
+ * This class maintains the lengths of cashier lines in an indexed binary 
+ * min-heap, so that the shortest line is found in constant time and a length
+ * is updated in logarithmic time. Lines of equal length are ordered by their
+ * indices.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+final class LineLengthHeap {
+    
+    private final int[] heap;
+    private final int[] positions;
+    private final int[] lengths;
+    
+    LineLengthHeap(int lines) {
+        this.heap = new int[lines];
+        this.positions = new int[lines];
+        this.lengths = new int[lines];
+        
+        // All lengths are zero, so the identity permutation is a heap.
+        for (int i = 0; i < lines; ++i) {
+            heap[i] = i;
+            positions[i] = i;
+        }
+    }
+    
+    int getShortestLine() {
+        return heap[0];
+    }
+    
+    int getLength(int line) {
+        return lengths[line];
+    }
+    
+    void increment(int line) {
+        ++lengths[line];
+        siftDown(positions[line]);
+    }
+    
+    void decrement(int line) {
+        --lengths[line];
+        siftUp(positions[line]);
+    }
+    
+    private void siftUp(int index) {
+        int line = heap[index];
+        
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            int parentLine = heap[parent];
+            
+            if (!less(line, parentLine)) {
+                break;
+            }
+            
+            heap[index] = parentLine;
+            positions[parentLine] = index;
+            index = parent;
+        }
+        
+        heap[index] = line;
+        positions[line] = index;
+    }
+    
+    private void siftDown(int index) {
+        int line = heap[index];
+        int size = heap.length;
+        
+        for (;;) {
+            int child = 2 * index + 1;
+            
+            if (child >= size) {
+                break;
+            }
+            
+            if (child + 1 < size && less(heap[child + 1], heap[child])) {
+                ++child;
+            }
+            
+            int childLine = heap[child];
+            
+            if (!less(childLine, line)) {
+                break;
+            }
+            
+            heap[index] = childLine;
+            positions[childLine] = index;
+            index = child;
+        }
+        
+        heap[index] = line;
+        positions[line] = index;
+    }
+    
+    private boolean less(int line1, int line2) {
+        return lengths[line1] < lengths[line2] 
+           || (lengths[line1] == lengths[line2] && line1 < line2);
+    }
+}
@@ -0,0 +1,265 @@
+package net.coderodde.simulation.lunch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class simulates several variants of the single cashier lunch queue
+ * over the same arrivals in one pass. Each variant has its own cashier, its
+ * own queue discipline and its own queue and statistics, but the arrivals
+ * are read from the stream only once: they are buffered in blocks of
+ * {@link #BLOCK_SIZE} packed people, and every variant consumes a block
+ * before the next one is read, so that a block stays in the cache while the
+ * variants go through it. Since all the variants see exactly the same
+ * arrivals, the differences of their results are due to the cashiers and
+ * the disciplines only, which is the method of common random numbers on the
+ * arrival side.
+ * <p>
+ * A variant with the {@link QueueDiscipline#PRIORITY} discipline and a
+ * cashier gives the same result as {@link Simulator} over the same arrival
+ * stream and an identically seeded cashier.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public final class LockstepSimulator {
+
+    /**
+     * The number of arrivals read from the stream at a time.
+     */
+    static final int BLOCK_SIZE = 1 << 12;
+
+    private static final int DEGREES = AcademicDegree.values().length;
+
+    /**
+     * Initiates the strong fluent API for simulating variants over a stream
+     * of arrivals sorted by arrival time.
+     *
+     * @param  arrivalStream the stream of arrivals.
+     * @return a variant selector.
+     */
+    public static VariantSelector withArrivalStream(
+            ArrivalStream arrivalStream) {
+        Objects.requireNonNull(arrivalStream,
+                               "The input arrival stream is null.");
+        return new VariantSelector(arrivalStream);
+    }
+
+    public static VariantSelector withPopulation(PackedPopulation population) {
+        Objects.requireNonNull(population, "The input population is null.");
+        return new VariantSelector(population.toArrivalStream());
+    }
+
+    public static VariantSelector withPopulation(Population population) {
+        Objects.requireNonNull(population, "The input population is null.");
+        return withPopulation(population.toPackedPopulation());
+    }
+
+    public static final class VariantSelector {
+
+        private final ArrivalStream arrivalStream;
+        private final List<Cashier> cashiers = new ArrayList<>();
+        private final List<QueueDiscipline> disciplines = new ArrayList<>();
+
+        private VariantSelector(ArrivalStream arrivalStream) {
+            this.arrivalStream = arrivalStream;
+        }
+
+        /**
+         * Adds a variant served by the given cashier under the
+         * {@link QueueDiscipline#PRIORITY} discipline.
+         *
+         * @param  cashier the cashier of the variant.
+         * @return this selector.
+         */
+        public VariantSelector withVariant(Cashier cashier) {
+            return withVariant(cashier, QueueDiscipline.PRIORITY);
+        }
+
+        /**
+         * Adds a variant served by the given cashier under the given
+         * discipline. The variants must not share a cashier, since the
+         * cashier draws the service times.
+         *
+         * @param  cashier    the cashier of the variant.
+         * @param  discipline the queue discipline of the variant.
+         * @return this selector.
+         */
+        public VariantSelector withVariant(Cashier cashier,
+                                           QueueDiscipline discipline) {
+            Objects.requireNonNull(cashier, "The input cashier is null.");
+            Objects.requireNonNull(discipline,
+                                   "The input discipline is null.");
+
+            for (Cashier other : cashiers) {
+                if (other == cashier) {
+                    throw new IllegalArgumentException(
+                            "The cashier is already used by a variant.");
+                }
+            }
+
+            cashiers.add(cashier);
+            disciplines.add(discipline);
+            return this;
+        }
+
+        /**
+         * Runs all the variants in one pass over the arrivals.
+         *
+         * @return the results of the variants in the order they were added.
+         */
+        public List<SimulationResult> simulate() {
+            if (cashiers.isEmpty()) {
+                throw new IllegalStateException("No variants to simulate.");
+            }
+
+            Variant[] variants = new Variant[cashiers.size()];
+
+            for (int i = 0; i < variants.length; ++i) {
+                variants[i] = new Variant(cashiers.get(i),
+                                          disciplines.get(i));
+            }
+
+            run(arrivalStream, variants);
+            List<SimulationResult> results = new ArrayList<>(variants.length);
+
+            for (Variant variant : variants) {
+                results.add(variant.accumulator.toSimulationResult());
+            }
+
+            return Collections.unmodifiableList(results);
+        }
+    }
+
+    private LockstepSimulator() {}
+
+    private static void run(ArrivalStream arrivalStream, Variant[] variants) {
+        int[] block = new int[BLOCK_SIZE];
+        int previousArrivalTime = Integer.MIN_VALUE;
+
+        while (arrivalStream.hasNext()) {
+            int length = 0;
+
+            while (length < BLOCK_SIZE && arrivalStream.hasNext()) {
+                arrivalStream.next();
+                int arrivalTime = arrivalStream.getArrivalTime();
+
+                if (arrivalTime < previousArrivalTime) {
+                    throw new IllegalStateException(
+                            "The arrival stream is not sorted: " +
+                            arrivalTime + " after " + previousArrivalTime);
+                }
+
+                if (arrivalTime < PackedPopulation.MINIMUM_ARRIVAL_TIME ||
+                    arrivalTime > PackedPopulation.MAXIMUM_ARRIVAL_TIME) {
+                    throw new IllegalStateException(
+                            "The arrival time " + arrivalTime +
+                            " cannot be packed.");
+                }
+
+                previousArrivalTime = arrivalTime;
+                block[length++] = PackedPopulation.pack(
+                        arrivalTime,
+                        arrivalStream.getAcademicDegree().ordinal());
+            }
+
+            for (Variant variant : variants) {
+                variant.consume(block, length);
+            }
+        }
+
+        for (Variant variant : variants) {
+            variant.drain();
+        }
+    }
+
+    /**
+     * The state of a single variant. The queues hold packed people, one
+     * queue per degree under the priority discipline and a single queue
+     * under the FIFO discipline.
+     */
+    private static final class Variant {
+
+        private final Cashier cashier;
+        private final IntRingQueue[] queues;
+        private final StatisticsAccumulator accumulator =
+                new StatisticsAccumulator();
+
+        private boolean started;
+        private int clock;
+        private int pendingIdleTime;
+
+        Variant(Cashier cashier, QueueDiscipline discipline) {
+            this.cashier = cashier;
+            this.queues = new IntRingQueue[
+                    discipline == QueueDiscipline.PRIORITY ? DEGREES : 1];
+
+            for (int i = 0; i < queues.length; ++i) {
+                queues[i] = new IntRingQueue();
+            }
+        }
+
+        /**
+         * Serves everybody who is admitted before each of the arrivals of a
+         * block and then queues the arrival. An arrival at the very moment
+         * of an admission is queued before the admission.
+         */
+        void consume(int[] block, int length) {
+            for (int i = 0; i < length; ++i) {
+                int packedPerson = block[i];
+                int arrivalTime =
+                        PackedPopulation.unpackArrivalTime(packedPerson);
+
+                if (!started) {
+                    started = true;
+                    clock = arrivalTime;
+                }
+
+                while (clock < arrivalTime) {
+                    if (!serveNext()) {
+                        // The queue ran empty; the cashier idles until now.
+                        pendingIdleTime += arrivalTime - clock;
+                        clock = arrivalTime;
+                    }
+                }
+
+                queues[queues.length == 1 ?
+                       0 :
+                       PackedPopulation.unpackDegree(packedPerson)]
+                        .add(packedPerson);
+            }
+        }
+
+        void drain() {
+            while (serveNext()) {}
+        }
+
+        /**
+         * Admits the earliest person of the highest priority queue to the
+         * cashier and serves the person.
+         *
+         * @return {@code false} if nobody is waiting.
+         */
+        private boolean serveNext() {
+            for (IntRingQueue queue : queues) {
+                if (queue.isEmpty()) {
+                    continue;
+                }
+
+                int packedPerson = queue.remove();
+                accumulator.addIdleTime(pendingIdleTime);
+                pendingIdleTime = 0;
+                clock += cashier.getServiceTime();
+                accumulator.addWaitTime(
+                        PackedPopulation.unpackDegree(packedPerson),
+                        clock - PackedPopulation.unpackArrivalTime(
+                                packedPerson));
+                return true;
+            }
+
+            return false;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package net.coderodde.simulation.lunch;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * This class represents a packed population memory-mapped from a file 
+ * written by {@link PackedPopulation#writeTo(Path)} or 
+ * {@link Population#writeTo(Path)}. Opening a file maps it without reading
+ * the people; the simulator reads them straight from the mapping via 
+ * {@link #toArrivalStream()}.
+ * <p>
+ * The file consists of a 16-byte header (magic, version, number of people 
+ * and a reserved word) followed by the sorted packed people, all as 
+ * little-endian {@code int}s.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public final class MappedPopulation {
+    
+    static final int MAGIC = 0x4c515050; // "LQPP"
+    static final int VERSION = 1;
+    
+    private static final int HEADER_SIZE = 16;
+    private static final AcademicDegree[] DEGREES = AcademicDegree.values();
+    
+    private final IntBuffer packedPeople;
+    
+    private MappedPopulation(IntBuffer packedPeople) {
+        this.packedPeople = packedPeople;
+    }
+    
+    /**
+     * Maps a population file.
+     * 
+     * @param  path the path of the file.
+     * @return the mapped population.
+     * @throws IOException if the file could not be mapped or is not a 
+     *                     population file.
+     */
+    public static MappedPopulation open(Path path) throws IOException {
+        Objects.requireNonNull(path, "The input path is null.");
+        
+        try (FileChannel channel = 
+                FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            
+            if (fileSize < HEADER_SIZE) {
+                throw new IOException("The file is too short: " + fileSize);
+            }
+            
+            if (fileSize > Integer.MAX_VALUE) {
+                throw new IOException(
+                        "The population file is too large to map: " + 
+                        fileSize);
+            }
+            
+            // The mapping stays valid after the channel is closed.
+            ByteBuffer buffer = 
+                    channel.map(FileChannel.MapMode.READ_ONLY, 0L, fileSize)
+                           .order(ByteOrder.LITTLE_ENDIAN);
+            int magic = buffer.getInt();
+            
+            if (magic != MAGIC) {
+                throw new IOException(
+                        "Not a population file. Magic: " + 
+                        Integer.toHexString(magic));
+            }
+            
+            int version = buffer.getInt();
+            
+            if (version != VERSION) {
+                throw new IOException(
+                        "Unsupported population file version: " + version);
+            }
+            
+            int size = buffer.getInt();
+            
+            if (size < 0 || HEADER_SIZE + 4L * size != fileSize) {
+                throw new IOException(
+                        "The population file is corrupted; " + size + 
+                        " people in " + fileSize + " bytes.");
+            }
+            
+            buffer.position(HEADER_SIZE);
+            return new MappedPopulation(buffer.slice()
+                                              .order(ByteOrder.LITTLE_ENDIAN)
+                                              .asIntBuffer());
+        }
+    }
+    
+    public int size() {
+        return packedPeople.limit();
+    }
+    
+    public int getArrivalTime(int index) {
+        return PackedPopulation.unpackArrivalTime(packedPeople.get(index));
+    }
+    
+    public AcademicDegree getAcademicDegree(int index) {
+        return DEGREES[PackedPopulation.unpackDegree(packedPeople.get(index))];
+    }
+    
+    /**
+     * Copies this population to the heap.
+     * 
+     * @return a packed population.
+     */
+    public PackedPopulation toPackedPopulation() {
+        int[] array = new int[size()];
+        packedPeople.duplicate().get(array);
+        return new PackedPopulation(array);
+    }
+    
+    /**
+     * Returns an arrival stream reading the people straight from the 
+     * mapping. The identity of a person is its index.
+     * 
+     * @return an arrival stream.
+     */
+    public ArrivalStream toArrivalStream() {
+        return new MappedArrivalStream(packedPeople);
+    }
+    
+    private static final class MappedArrivalStream implements ArrivalStream {
+        
+        private final IntBuffer packedPeople;
+        private final int size;
+        private int index = -1;
+        private int current;
+        
+        MappedArrivalStream(IntBuffer packedPeople) {
+            this.packedPeople = packedPeople;
+            this.size = packedPeople.limit();
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return index + 1 < size;
+        }
+
+        @Override
+        public void next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more arrivals.");
+            }
+            
+            current = packedPeople.get(++index);
+        }
+
+        @Override
+        public int getArrivalTime() {
+            return PackedPopulation.unpackArrivalTime(current);
+        }
+
+        @Override
+        public AcademicDegree getAcademicDegree() {
+            return DEGREES[PackedPopulation.unpackDegree(current)];
+        }
+
+        @Override
+        public long getId() {
+            return index;
+        }
+    }
+}
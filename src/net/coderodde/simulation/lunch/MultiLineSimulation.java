@@ -0,0 +1,224 @@
+package net.coderodde.simulation.lunch;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * This class runs a simulation with several cashiers. Under 
+ * {@link RoutingPolicy#POOLED} all the cashiers serve a single shared 
+ * prioritized line; under the other policies each cashier has a line of its
+ * own, and an arriving person picks a line once and stays in it. The 
+ * join-shortest-queue policy finds the shortest line via a 
+ * {@link LineLengthHeap} in constant time and updates it in logarithmic 
+ * time; the randomized policies need constant time only.
+ * <p>
+ * The idle time of a cashier is recorded at the start of each service, just
+ * as in the single cashier simulation. A negative service time drawn from a
+ * cashier is clamped to zero, since a departure may not be scheduled before
+ * the current time; the single cashier simulation does not clamp.
+ * <p>
+ * With one cashier, every policy gives the results of the single cashier
+ * simulation only if no negative service time is drawn and the people
+ * arriving at the same second to an idle cashier come in the order of their
+ * priority: the single cashier simulation admits all of them before picking
+ * the one to serve, whereas this class serves the first of them at once.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+final class MultiLineSimulation {
+    
+    private static final int NEVER = Integer.MIN_VALUE;
+    
+    private final Cashier[] cashiers;
+    private final RoutingPolicy policy;
+    private final Random random;
+    private final PrimitivePrioritizedQueue[] queues;
+    private final LineLengthHeap lineLengthHeap;
+    private final int[] lineLengths;
+    private final IntRingQueue idleCashiers = new IntRingQueue();
+    private final EventList calendar;
+    private final StatisticsAccumulator accumulator = 
+            new StatisticsAccumulator();
+    
+    // Per cashier state.
+    private final boolean[] busy;
+    private final int[] freeSince;
+    private final int[] servedArrivalTimes;
+    private final int[] servedDegrees;
+    
+    private int clock;
+    
+    MultiLineSimulation(List<Cashier> cashiers, 
+                        RoutingPolicy policy, 
+                        Random random,
+                        EventListType eventListType) {
+        this.calendar = EventList.of(eventListType);
+        int n = cashiers.size();
+        this.cashiers = cashiers.toArray(new Cashier[n]);
+        this.policy = policy;
+        this.random = random;
+        this.queues = new PrimitivePrioritizedQueue[
+                policy == RoutingPolicy.POOLED ? 1 : n];
+        
+        for (int i = 0; i < queues.length; ++i) {
+            queues[i] = new PrimitivePrioritizedQueue();
+        }
+        
+        this.lineLengthHeap = policy == RoutingPolicy.JOIN_SHORTEST_QUEUE ?
+                              new LineLengthHeap(n) : 
+                              null;
+        this.lineLengths = new int[n];
+        this.busy = new boolean[n];
+        this.freeSince = new int[n];
+        this.servedArrivalTimes = new int[n];
+        this.servedDegrees = new int[n];
+        
+        for (int i = 0; i < n; ++i) {
+            freeSince[i] = NEVER;
+            idleCashiers.add(i);
+        }
+    }
+    
+    SimulationResult run(ArrivalStream arrivalStream) {
+        boolean arrivalPending = arrivalStream.hasNext();
+        
+        if (arrivalPending) {
+            arrivalStream.next();
+        }
+        
+        int previousArrivalTime = Integer.MIN_VALUE;
+        
+        while (arrivalPending || !calendar.isEmpty()) {
+            // Arrivals go before the departures at the same moment, just as
+            // in the single cashier simulation.
+            if (arrivalPending && (calendar.isEmpty() || 
+                    arrivalStream.getArrivalTime() 
+                    <= calendar.getMinimumTime())) {
+                int arrivalTime = arrivalStream.getArrivalTime();
+                
+                if (arrivalTime < previousArrivalTime) {
+                    throw new IllegalStateException(
+                            "The arrival stream is not sorted: " + 
+                            arrivalTime + " after " + previousArrivalTime);
+                }
+                
+                previousArrivalTime = arrivalTime;
+                clock = arrivalTime;
+                arrive(arrivalStream.getAcademicDegree().ordinal(),
+                       arrivalStream.getId());
+                
+                arrivalPending = arrivalStream.hasNext();
+                
+                if (arrivalPending) {
+                    arrivalStream.next();
+                }
+            } else {
+                calendar.removeMinimum();
+                clock = calendar.getLastTime();
+                complete(calendar.getLastFirstPayload());
+            }
+        }
+        
+        return accumulator.toSimulationResult();
+    }
+    
+    private void arrive(int degree, long id) {
+        if (policy == RoutingPolicy.POOLED) {
+            if (idleCashiers.isEmpty()) {
+                queues[0].push(degree, clock, id);
+            } else {
+                startService(idleCashiers.remove(), degree, clock);
+            }
+            
+            return;
+        }
+        
+        int line = route();
+        ++lineLengths[line];
+        
+        if (lineLengthHeap != null) {
+            lineLengthHeap.increment(line);
+        }
+        
+        if (busy[line]) {
+            queues[line].push(degree, clock, id);
+        } else {
+            startService(line, degree, clock);
+        }
+    }
+    
+    private int route() {
+        int lines = cashiers.length;
+        
+        switch (policy) {
+            case JOIN_SHORTEST_QUEUE:
+                return lineLengthHeap.getShortestLine();
+                
+            case POWER_OF_TWO_CHOICES:
+                if (lines == 1) {
+                    return 0;
+                }
+                
+                int line1 = random.nextInt(lines);
+                int line2 = random.nextInt(lines - 1);
+                
+                if (line2 >= line1) {
+                    ++line2;
+                }
+                
+                return lineLengths[line2] < lineLengths[line1] ? line2 : line1;
+                
+            case RANDOM:
+                return random.nextInt(lines);
+                
+            default:
+                throw new IllegalStateException(
+                        "Unknown routing policy: " + policy);
+        }
+    }
+    
+    private void startService(int cashier, int degree, int arrivalTime) {
+        accumulator.addIdleTime(freeSince[cashier] == NEVER ?
+                                0 : 
+                                clock - freeSince[cashier]);
+        busy[cashier] = true;
+        servedDegrees[cashier] = degree;
+        servedArrivalTimes[cashier] = arrivalTime;
+        
+        // Negative draws would travel back in time in the event calendar.
+        int serviceTime = Math.max(0, cashiers[cashier].getServiceTime());
+        calendar.schedule(clock + serviceTime, cashier, 0);
+    }
+    
+    private void complete(int cashier) {
+        accumulator.addWaitTime(servedDegrees[cashier], 
+                                clock - servedArrivalTimes[cashier]);
+        busy[cashier] = false;
+        freeSince[cashier] = clock;
+        
+        PrimitivePrioritizedQueue queue;
+        
+        if (policy == RoutingPolicy.POOLED) {
+            queue = queues[0];
+        } else {
+            queue = queues[cashier];
+            --lineLengths[cashier];
+            
+            if (lineLengthHeap != null) {
+                lineLengthHeap.decrement(cashier);
+            }
+        }
+        
+        if (queue.isEmpty()) {
+            if (policy == RoutingPolicy.POOLED) {
+                idleCashiers.add(cashier);
+            }
+            
+            return;
+        }
+        
+        int degree = queue.pop();
+        startService(cashier, degree, queue.getLastArrivalTime());
+    }
+}
@@ -0,0 +1,254 @@
+package net.coderodde.simulation.lunch;
+
+import java.util.Arrays;
+
+/**
+ * This class runs a tandem queueing network over an arrival stream. The only
+ * scheduled events are service completions; the arrivals are read from the 
+ * stream as the clock reaches them, so the event calendar holds at most one
+ * event per server. People are kept in recycled integer slots, so the memory
+ * does not depend on the total number of people but on the number of people
+ * simultaneously in the network.
+ * <p>
+ * A person finishing at a station whose successor is full blocks its server
+ * until a place frees up at the successor (blocking after service).
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+final class NetworkSimulation {
+    
+    private static final int DEGREES = AcademicDegree.values().length;
+    private static final int INITIAL_SLOTS = 64;
+    
+    private final Station[] stations;
+    private final int[] capacities;
+    private final int[] servers;
+    private final EventList calendar;
+    
+    // Station state.
+    private final int[] occupancies;
+    private final int[] busyServers;
+    private final IntRingQueue[][] queues;
+    private final IntRingQueue[] blockedQueues;
+    private final IntRingQueue outsideLine = new IntRingQueue();
+    
+    // Person slots.
+    private int[] slotArrivalTimes = new int[INITIAL_SLOTS];
+    private int[] slotDegrees = new int[INITIAL_SLOTS];
+    private int[] slotEntryTimes = new int[INITIAL_SLOTS];
+    private final IntRingQueue freeSlots = new IntRingQueue();
+    private int slotsInUse;
+    
+    // Statistics.
+    private final StatisticsAccumulator sojournAccumulator = 
+            new StatisticsAccumulator();
+    private final StatisticsAccumulator[] queueWaitAccumulators;
+    private final long[] servedCounts;
+    private final long[] blockedTimeSums;
+    private final int[] maximumQueueLengths;
+    
+    private int clock;
+    
+    NetworkSimulation(QueueingNetwork network, EventListType eventListType) {
+        this.calendar = EventList.of(eventListType);
+        int n = network.size();
+        this.stations = new Station[n];
+        this.capacities = new int[n];
+        this.servers = new int[n];
+        this.occupancies = new int[n];
+        this.busyServers = new int[n];
+        this.queues = new IntRingQueue[n][];
+        this.blockedQueues = new IntRingQueue[n];
+        this.queueWaitAccumulators = new StatisticsAccumulator[n];
+        this.servedCounts = new long[n];
+        this.blockedTimeSums = new long[n];
+        this.maximumQueueLengths = new int[n];
+        
+        for (int i = 0; i < n; ++i) {
+            Station station = network.getStation(i);
+            stations[i] = station;
+            capacities[i] = station.getCapacity();
+            servers[i] = station.getServers();
+            
+            int queueCount = 
+                    station.getDiscipline() == QueueDiscipline.PRIORITY ? 
+                    DEGREES : 1;
+            
+            queues[i] = new IntRingQueue[queueCount];
+            
+            for (int j = 0; j < queueCount; ++j) {
+                queues[i][j] = new IntRingQueue();
+            }
+            
+            blockedQueues[i] = new IntRingQueue();
+            queueWaitAccumulators[i] = new StatisticsAccumulator();
+        }
+    }
+    
+    NetworkSimulationResult run(ArrivalStream arrivalStream) {
+        boolean arrivalPending = arrivalStream.hasNext();
+        
+        if (arrivalPending) {
+            arrivalStream.next();
+        }
+        
+        int previousArrivalTime = Integer.MIN_VALUE;
+        
+        while (arrivalPending || !calendar.isEmpty()) {
+            // Arrivals go before the completions at the same moment, just as
+            // in the single cashier simulation.
+            if (arrivalPending && (calendar.isEmpty() || 
+                    arrivalStream.getArrivalTime() 
+                    <= calendar.getMinimumTime())) {
+                int arrivalTime = arrivalStream.getArrivalTime();
+                
+                if (arrivalTime < previousArrivalTime) {
+                    throw new IllegalStateException(
+                            "The arrival stream is not sorted: " + 
+                            arrivalTime + " after " + previousArrivalTime);
+                }
+                
+                previousArrivalTime = arrivalTime;
+                clock = arrivalTime;
+                int slot = allocateSlot(
+                        arrivalStream.getAcademicDegree().ordinal());
+                
+                if (occupancies[0] < capacities[0]) {
+                    enter(0, slot);
+                } else {
+                    outsideLine.add(slot);
+                }
+                
+                arrivalPending = arrivalStream.hasNext();
+                
+                if (arrivalPending) {
+                    arrivalStream.next();
+                }
+            } else {
+                calendar.removeMinimum();
+                clock = calendar.getLastTime();
+                complete(calendar.getLastFirstPayload(), 
+                         calendar.getLastSecondPayload());
+            }
+        }
+        
+        String[] names = new String[stations.length];
+        
+        for (int i = 0; i < names.length; ++i) {
+            names[i] = stations[i].getName();
+        }
+        
+        return new NetworkSimulationResult(names,
+                                           sojournAccumulator,
+                                           queueWaitAccumulators,
+                                           servedCounts,
+                                           blockedTimeSums,
+                                           maximumQueueLengths);
+    }
+    
+    private void enter(int station, int slot) {
+        ++occupancies[station];
+        slotEntryTimes[slot] = clock;
+        
+        if (busyServers[station] < servers[station]) {
+            startService(station, slot);
+            return;
+        }
+        
+        IntRingQueue[] stationQueues = queues[station];
+        stationQueues[stationQueues.length == 1 ? 0 : slotDegrees[slot]]
+                .add(slot);
+        
+        int queueLength = occupancies[station] - busyServers[station];
+        
+        if (maximumQueueLengths[station] < queueLength) {
+            maximumQueueLengths[station] = queueLength;
+        }
+    }
+    
+    private void startService(int station, int slot) {
+        ++busyServers[station];
+        queueWaitAccumulators[station]
+                .addWaitTime(slotDegrees[slot], clock - slotEntryTimes[slot]);
+        calendar.schedule(clock + stations[station].getServiceTime(), 
+                          station, 
+                          slot);
+    }
+    
+    private void complete(int station, int slot) {
+        ++servedCounts[station];
+        
+        if (station == stations.length - 1) {
+            sojournAccumulator.addWaitTime(slotDegrees[slot], 
+                                           clock - slotArrivalTimes[slot]);
+            freeSlots.add(slot);
+            --slotsInUse;
+            release(station);
+        } else if (occupancies[station + 1] < capacities[station + 1]) {
+            enter(station + 1, slot);
+            release(station);
+        } else {
+            // Blocked: the server keeps holding the person.
+            slotEntryTimes[slot] = clock;
+            blockedQueues[station].add(slot);
+        }
+    }
+    
+    private void release(int station) {
+        --occupancies[station];
+        --busyServers[station];
+        
+        IntRingQueue[] stationQueues = queues[station];
+        
+        for (IntRingQueue queue : stationQueues) {
+            if (!queue.isEmpty()) {
+                startService(station, queue.remove());
+                break;
+            }
+        }
+        
+        placeFreed(station);
+    }
+    
+    private void placeFreed(int station) {
+        if (station == 0) {
+            if (!outsideLine.isEmpty()) {
+                enter(0, outsideLine.remove());
+            }
+            
+            return;
+        }
+        
+        IntRingQueue blockedQueue = blockedQueues[station - 1];
+        
+        if (!blockedQueue.isEmpty()) {
+            int slot = blockedQueue.remove();
+            blockedTimeSums[station - 1] += clock - slotEntryTimes[slot];
+            enter(station, slot);
+            release(station - 1);
+        }
+    }
+    
+    private int allocateSlot(int degree) {
+        int slot;
+        
+        if (freeSlots.isEmpty()) {
+            slot = slotsInUse;
+            
+            if (slot == slotArrivalTimes.length) {
+                int capacity = 2 * slot;
+                slotArrivalTimes = Arrays.copyOf(slotArrivalTimes, capacity);
+                slotDegrees = Arrays.copyOf(slotDegrees, capacity);
+                slotEntryTimes = Arrays.copyOf(slotEntryTimes, capacity);
+            }
+        } else {
+            slot = freeSlots.remove();
+        }
+        
+        ++slotsInUse;
+        slotArrivalTimes[slot] = clock;
+        slotDegrees[slot] = degree;
+        return slot;
+    }
+}
@@ -0,0 +1,148 @@
+package net.coderodde.simulation.lunch;
+
+/**
+ * This class holds the statistics of a queueing network simulation. The 
+ * sojourn time of a person is the time from the arrival at the network to the
+ * departure from the last station.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public final class NetworkSimulationResult {
+    
+    private static final String NL = "\n";
+    private static final String SKIP = "    ";
+    private static final int NO_DATA = -1;
+    
+    private final String[] stationNames;
+    private final StatisticsAccumulator sojournAccumulator;
+    private final StatisticsAccumulator[] queueWaitAccumulators;
+    private final long[] servedCounts;
+    private final long[] blockedTimeSums;
+    private final int[] maximumQueueLengths;
+    
+    NetworkSimulationResult(String[] stationNames,
+                            StatisticsAccumulator sojournAccumulator,
+                            StatisticsAccumulator[] queueWaitAccumulators,
+                            long[] servedCounts,
+                            long[] blockedTimeSums,
+                            int[] maximumQueueLengths) {
+        this.stationNames = stationNames;
+        this.sojournAccumulator = sojournAccumulator;
+        this.queueWaitAccumulators = queueWaitAccumulators;
+        this.servedCounts = servedCounts;
+        this.blockedTimeSums = blockedTimeSums;
+        this.maximumQueueLengths = maximumQueueLengths;
+    }
+    
+    public long getPeopleCount(AcademicDegree degree) {
+        return sojournAccumulator.getWaitCount(degree.ordinal());
+    }
+    
+    public double getAverageSojournTime(AcademicDegree degree) {
+        return average(sojournAccumulator, degree);
+    }
+    
+    public int getMaximumSojournTime(AcademicDegree degree) {
+        return maximum(sojournAccumulator, degree);
+    }
+    
+    public int getStationCount() {
+        return stationNames.length;
+    }
+    
+    public String getStationName(int station) {
+        return stationNames[station];
+    }
+    
+    public long getServedCount(int station) {
+        return servedCounts[station];
+    }
+    
+    /**
+     * Returns the average time people of the given degree spent in the queue
+     * of a station before their service started.
+     * 
+     * @param  station the index of the station.
+     * @param  degree  the academic degree.
+     * @return the average wait, or {@code NaN} if nobody was served.
+     */
+    public double getAverageQueueWaitTime(int station, AcademicDegree degree) {
+        return average(queueWaitAccumulators[station], degree);
+    }
+    
+    public int getMaximumQueueWaitTime(int station, AcademicDegree degree) {
+        return maximum(queueWaitAccumulators[station], degree);
+    }
+    
+    /**
+     * Returns the average time a server of a station spent blocked per 
+     * served person, because the next station was full.
+     * 
+     * @param  station the index of the station.
+     * @return the average blocked time.
+     */
+    public double getAverageBlockedTime(int station) {
+        if (servedCounts[station] == 0L) {
+            return Double.NaN;
+        }
+        
+        return 1.0 * blockedTimeSums[station] / servedCounts[station];
+    }
+    
+    public int getMaximumQueueLength(int station) {
+        return maximumQueueLengths[station];
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        
+        for (AcademicDegree degree : AcademicDegree.values()) {
+            sb.append(degree).append(":").append(NL)
+              .append(SKIP).append("Average sojourn time: ")
+              .append(String.format("%.2f", getAverageSojournTime(degree)))
+              .append(" seconds.").append(NL)
+              .append(SKIP).append("Maximum sojourn time: ")
+              .append(getMaximumSojournTime(degree))
+              .append(" seconds.").append(NL);
+        }
+        
+        for (int i = 0; i < stationNames.length; ++i) {
+            sb.append(stationNames[i]).append(":").append(NL)
+              .append(SKIP).append("Served:               ")
+              .append(servedCounts[i]).append(NL)
+              .append(SKIP).append("Maximum queue length: ")
+              .append(maximumQueueLengths[i]).append(NL)
+              .append(SKIP).append("Average blocked time: ")
+              .append(String.format("%.2f", getAverageBlockedTime(i)))
+              .append(" seconds.");
+            
+            if (i < stationNames.length - 1) {
+                sb.append(NL);
+            }
+        }
+        
+        return sb.toString();
+    }
+    
+    private static double average(StatisticsAccumulator accumulator,
+                                  AcademicDegree degree) {
+        long count = accumulator.getWaitCount(degree.ordinal());
+        
+        if (count == 0L) {
+            return Double.NaN;
+        }
+        
+        return 1.0 * accumulator.getWaitSum(degree.ordinal()) / count;
+    }
+    
+    private static int maximum(StatisticsAccumulator accumulator,
+                               AcademicDegree degree) {
+        if (accumulator.getWaitCount(degree.ordinal()) == 0L) {
+            return NO_DATA;
+        }
+        
+        return accumulator.getWaitMaximum(degree.ordinal());
+    }
+}
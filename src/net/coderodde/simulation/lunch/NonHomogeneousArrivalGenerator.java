@@ -0,0 +1,293 @@
+package net.coderodde.simulation.lunch;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * This class generates arrivals from a non-homogeneous Poisson process whose
+ * rate is given by a piecewise constant {@link ArrivalRateFunction} per day.
+ * The arrivals are generated lazily by thinning and in the order of their
+ * arrival times, so that multi-week horizons never need to be held in memory.
+ * The day {@code d} uses the pattern {@code patterns[d % patterns.length]},
+ * which allows, for example, a weekly pattern with closed weekends.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public final class NonHomogeneousArrivalGenerator implements ArrivalStream {
+
+    private final Random random;
+    private final AcademicDegree[] degrees;
+    private final double[] cumulativeWeights;
+    private final ArrivalRateFunction[] patterns;
+    private final int days;
+
+    // The lookahead state.
+    private int day;
+    private double secondOfDay = Double.NaN;
+    private boolean lookaheadReady;
+    private boolean lookaheadAvailable;
+    private int lookaheadTime;
+    private AcademicDegree lookaheadDegree;
+
+    // The current arrival.
+    private int arrivalTime;
+    private AcademicDegree academicDegree;
+    private long id = -1L;
+
+    /**
+     * Initiates the strong fluent API for constructing a
+     * {@code NonHomogeneousArrivalGenerator}.
+     *
+     * @param  random the random number generator to use.
+     * @return a weight selector.
+     */
+    public static DegreeWeightSelector withRandom(Random random) {
+        Objects.requireNonNull(random, "The input Random is null.");
+        Configuration configuration = new Configuration();
+        configuration.random = random;
+        return new DegreeWeightSelector(configuration);
+    }
+
+    /**
+     * Initiates the strong fluent API for constructing a
+     * {@code NonHomogeneousArrivalGenerator} using a default {@code Random}.
+     *
+     * @return a weight selector.
+     */
+    public static DegreeWeightSelector withDefaultRandom() {
+        return withRandom(new Random());
+    }
+
+    public static final class DegreeWeightSelector {
+
+        private final Configuration configuration;
+
+        DegreeWeightSelector(Configuration configuration) {
+            this.configuration = configuration;
+        }
+
+        /**
+         * Starts selecting the relative share of an academic degree among the
+         * arrivals.
+         *
+         * @param  weight the non-negative weight of the degree.
+         * @return a degree selector.
+         */
+        public DegreeSelector withWeight(double weight) {
+            if (Double.isNaN(weight) || Double.isInfinite(weight)
+                    || weight < 0.0) {
+                throw new IllegalArgumentException(
+                        "The degree weight is invalid: " + weight);
+            }
+
+            return new DegreeSelector(configuration, weight);
+        }
+
+        /**
+         * Terminates the selection of weights and selects the daily rate
+         * patterns. Day {@code d} uses the pattern
+         * {@code patterns[d % patterns.length]}.
+         *
+         * @param  patterns the daily arrival rate functions.
+         * @return a day count selector.
+         */
+        public DayCountSelector
+            withDailyPatterns(ArrivalRateFunction... patterns) {
+            Objects.requireNonNull(patterns, "The pattern array is null.");
+
+            if (patterns.length == 0) {
+                throw new IllegalArgumentException(
+                        "No daily patterns given.");
+            }
+
+            for (ArrivalRateFunction pattern : patterns) {
+                Objects.requireNonNull(pattern, "A daily pattern is null.");
+            }
+
+            double totalWeight = 0.0;
+
+            for (double weight : configuration.weights.values()) {
+                totalWeight += weight;
+            }
+
+            if (totalWeight == 0.0) {
+                throw new IllegalStateException(
+                        "No academic degree has a positive weight.");
+            }
+
+            configuration.patterns = patterns.clone();
+            return new DayCountSelector(configuration);
+        }
+    }
+
+    public static final class DegreeSelector {
+
+        private final Configuration configuration;
+        private final double weight;
+
+        DegreeSelector(Configuration configuration, double weight) {
+            this.configuration = configuration;
+            this.weight = weight;
+        }
+
+        public DegreeWeightSelector forDegree(AcademicDegree degree) {
+            Objects.requireNonNull(degree, "The input degree is null.");
+            configuration.weights.put(degree, weight);
+            return new DegreeWeightSelector(configuration);
+        }
+    }
+
+    public static final class DayCountSelector {
+
+        private final Configuration configuration;
+
+        DayCountSelector(Configuration configuration) {
+            this.configuration = configuration;
+        }
+
+        /**
+         * Selects the number of simulated days and returns the arrival
+         * stream.
+         *
+         * @param  days the number of days.
+         * @return an arrival stream.
+         */
+        public NonHomogeneousArrivalGenerator forDays(int days) {
+            if (days < 0) {
+                throw new IllegalArgumentException(
+                        "The number of days is negative: " + days);
+            }
+
+            if (days > Integer.MAX_VALUE
+                     / ArrivalRateFunction.SECONDS_PER_DAY) {
+                throw new IllegalArgumentException(
+                        "The number of days is too large: " + days);
+            }
+
+            return new NonHomogeneousArrivalGenerator(configuration, days);
+        }
+    }
+
+    private NonHomogeneousArrivalGenerator(Configuration configuration,
+                                           int days) {
+        this.random = configuration.random;
+        this.patterns = configuration.patterns;
+        this.days = days;
+        this.degrees = new AcademicDegree[configuration.weights.size()];
+        this.cumulativeWeights = new double[configuration.weights.size()];
+
+        double sum = 0.0;
+        int i = 0;
+
+        for (Map.Entry<AcademicDegree, Double> entry
+                : configuration.weights.entrySet()) {
+            sum += entry.getValue();
+            degrees[i] = entry.getKey();
+            cumulativeWeights[i] = sum;
+            ++i;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!lookaheadReady) {
+            lookaheadAvailable = generateNextArrival();
+            lookaheadReady = true;
+        }
+
+        return lookaheadAvailable;
+    }
+
+    @Override
+    public void next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more arrivals.");
+        }
+
+        lookaheadReady = false;
+        arrivalTime = lookaheadTime;
+        academicDegree = lookaheadDegree;
+        ++id;
+    }
+
+    @Override
+    public int getArrivalTime() {
+        return arrivalTime;
+    }
+
+    @Override
+    public AcademicDegree getAcademicDegree() {
+        return academicDegree;
+    }
+
+    @Override
+    public long getId() {
+        return id;
+    }
+
+    private boolean generateNextArrival() {
+        while (day < days) {
+            ArrivalRateFunction pattern = patterns[day % patterns.length];
+            double maximumRate = pattern.getMaximumRate();
+
+            if (maximumRate > 0.0) {
+                if (Double.isNaN(secondOfDay)) {
+                    secondOfDay = pattern.getStart();
+                }
+
+                int end = pattern.getEnd();
+
+                for (;;) {
+                    // Next candidate of the homogeneous process with the
+                    // maximum rate.
+                    secondOfDay -= Math.log(1.0 - random.nextDouble())
+                                   / maximumRate;
+
+                    if (secondOfDay >= end) {
+                        break;
+                    }
+
+                    // Thinning: accept with probability lambda(t) / max.
+                    if (random.nextDouble() * maximumRate
+                            < pattern.getRate(secondOfDay)) {
+                        lookaheadTime = 
+                                day * ArrivalRateFunction.SECONDS_PER_DAY
+                                + (int) secondOfDay;
+                        lookaheadDegree = getRandomDegree();
+                        return true;
+                    }
+                }
+            }
+
+            ++day;
+            secondOfDay = Double.NaN;
+        }
+
+        return false;
+    }
+
+    private AcademicDegree getRandomDegree() {
+        double coin = random.nextDouble() *
+                      cumulativeWeights[cumulativeWeights.length - 1];
+
+        for (int i = 0; i < cumulativeWeights.length - 1; ++i) {
+            if (coin < cumulativeWeights[i]) {
+                return degrees[i];
+            }
+        }
+
+        return degrees[degrees.length - 1];
+    }
+
+    private static final class Configuration {
+        private final Map<AcademicDegree, Double> weights =
+                new EnumMap<>(AcademicDegree.class);
+
+        private Random random;
+        private ArrivalRateFunction[] patterns;
+    }
+}
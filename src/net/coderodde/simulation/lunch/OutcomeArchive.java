@@ -0,0 +1,378 @@
+package net.coderodde.simulation.lunch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * This class reads a columnar outcome archive written by 
+ * {@link OutcomeArchiveWriter}. Opening an archive reads its block index and
+ * maps the blocks once, in windows of up to {@link #MAXIMUM_WINDOW_SIZE} 
+ * bytes that never split a block. A query decodes only the blocks whose 
+ * arrival time range and degree set may contain a match, from views of the
+ * mapped windows. An archive reuses its decoding buffers and must not be 
+ * queried by several threads at once.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public final class OutcomeArchive implements Closeable {
+    
+    static final int MAGIC = 0x4c514f41; // "LQOA"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;
+    
+    private static final int INDEX_ENTRY_SIZE = 28;
+    private static final int FOOTER_SIZE = 24;
+    private static final AcademicDegree[] DEGREES = AcademicDegree.values();
+    
+    /**
+     * The largest size of a mapped window, unless a single block is larger.
+     */
+    static final long MAXIMUM_WINDOW_SIZE = 1L << 30;
+    
+    private final FileChannel channel;
+    private final long[] blockOffsets;
+    private final int[] blockByteLengths;
+    private final int[] blockCounts;
+    private final int[] blockMinimumArrivalTimes;
+    private final int[] blockMaximumArrivalTimes;
+    private final int[] blockDegreeMasks;
+    private final long outcomeCount;
+    
+    // The views of the mapped windows, and the window of each block together
+    // with the position of the block in it.
+    private final ByteBuffer[] windows;
+    private final int[] blockWindows;
+    private final int[] blockPositions;
+    
+    // The decoded columns of the last decoded block.
+    private long[] ids = new long[0];
+    private byte[] degrees = new byte[0];
+    private int[] arrivalTimes = new int[0];
+    private int[] waitTimes = new int[0];
+    private int[] serviceTimes = new int[0];
+    private long decodedBlocks;
+    
+    /**
+     * Opens an archive.
+     * 
+     * @param  path the path of the archive.
+     * @return the archive.
+     * @throws IOException if the file could not be read or is not an archive.
+     */
+    public static OutcomeArchive open(Path path) throws IOException {
+        Objects.requireNonNull(path, "The input path is null.");
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        
+        try {
+            return new OutcomeArchive(channel);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+    
+    private OutcomeArchive(FileChannel channel) throws IOException {
+        this.channel = channel;
+        long fileSize = channel.size();
+        
+        if (fileSize < HEADER_SIZE + FOOTER_SIZE) {
+            throw new IOException("The file is too short to be an archive.");
+        }
+        
+        ByteBuffer header = read(0L, HEADER_SIZE);
+        int magic = header.getInt();
+        
+        if (magic != MAGIC) {
+            throw new IOException(
+                    "Not an outcome archive. Magic: " + 
+                    Integer.toHexString(magic));
+        }
+        
+        int version = header.getInt();
+        
+        if (version != VERSION) {
+            throw new IOException(
+                    "Unsupported outcome archive version: " + version);
+        }
+        
+        ByteBuffer footer = read(fileSize - FOOTER_SIZE, FOOTER_SIZE);
+        long indexOffset = footer.getLong();
+        int blockCount = footer.getInt();
+        this.outcomeCount = footer.getLong();
+        
+        if (footer.getInt() != MAGIC 
+                || indexOffset + (long) blockCount * INDEX_ENTRY_SIZE 
+                   != fileSize - FOOTER_SIZE) {
+            throw new IOException("The outcome archive is truncated.");
+        }
+        
+        this.blockOffsets = new long[blockCount];
+        this.blockByteLengths = new int[blockCount];
+        this.blockCounts = new int[blockCount];
+        this.blockMinimumArrivalTimes = new int[blockCount];
+        this.blockMaximumArrivalTimes = new int[blockCount];
+        this.blockDegreeMasks = new int[blockCount];
+        
+        ByteBuffer index = read(indexOffset, blockCount * INDEX_ENTRY_SIZE);
+        
+        for (int i = 0; i < blockCount; ++i) {
+            blockOffsets[i] = index.getLong();
+            blockByteLengths[i] = index.getInt();
+            blockCounts[i] = index.getInt();
+            blockMinimumArrivalTimes[i] = index.getInt();
+            blockMaximumArrivalTimes[i] = index.getInt();
+            blockDegreeMasks[i] = index.getInt();
+        }
+        
+        this.blockWindows = new int[blockCount];
+        this.blockPositions = new int[blockCount];
+        this.windows = mapWindows();
+    }
+    
+    public long getOutcomeCount() {
+        return outcomeCount;
+    }
+    
+    public int getBlockCount() {
+        return blockOffsets.length;
+    }
+    
+    /**
+     * Returns the number of blocks decoded by the queries so far. 
+     * 
+     * @return the number of decoded blocks.
+     */
+    public long getDecodedBlockCount() {
+        return decodedBlocks;
+    }
+    
+    /**
+     * Visits all the outcomes of people with the given degree arriving within
+     * <tt>[fromArrivalTime, toArrivalTime]</tt>.
+     * 
+     * @param  degree          the academic degree.
+     * @param  fromArrivalTime the earliest arrival time, inclusive.
+     * @param  toArrivalTime   the latest arrival time, inclusive.
+     * @param  visitor         the visitor receiving the outcomes.
+     * @return the number of visited outcomes.
+     * @throws IOException if reading the archive fails.
+     */
+    public long query(AcademicDegree degree, 
+                      int fromArrivalTime,
+                      int toArrivalTime,
+                      OutcomeVisitor visitor) throws IOException {
+        Objects.requireNonNull(degree, "The input degree is null.");
+        Objects.requireNonNull(visitor, "The input visitor is null.");
+        int degreeOrdinal = degree.ordinal();
+        long matches = 0L;
+        
+        for (int block = 0; block < blockOffsets.length; ++block) {
+            if ((blockDegreeMasks[block] & (1 << degreeOrdinal)) == 0
+                    || blockMaximumArrivalTimes[block] < fromArrivalTime
+                    || blockMinimumArrivalTimes[block] > toArrivalTime) {
+                continue;
+            }
+            
+            int count = decodeBlock(block);
+            
+            for (int i = 0; i < count; ++i) {
+                if (degrees[i] == degreeOrdinal 
+                        && arrivalTimes[i] >= fromArrivalTime
+                        && arrivalTimes[i] <= toArrivalTime) {
+                    visitor.visit(ids[i], 
+                                  degree, 
+                                  arrivalTimes[i], 
+                                  waitTimes[i], 
+                                  serviceTimes[i]);
+                    ++matches;
+                }
+            }
+        }
+        
+        return matches;
+    }
+    
+    /**
+     * Returns the wait times of all the people with the given degree arriving
+     * within <tt>[fromArrivalTime, toArrivalTime]</tt> in archive order.
+     * 
+     * @param  degree          the academic degree.
+     * @param  fromArrivalTime the earliest arrival time, inclusive.
+     * @param  toArrivalTime   the latest arrival time, inclusive.
+     * @return the wait times.
+     * @throws IOException if reading the archive fails.
+     */
+    public int[] getWaitTimes(AcademicDegree degree,
+                              int fromArrivalTime,
+                              int toArrivalTime) throws IOException {
+        WaitTimeCollector collector = new WaitTimeCollector();
+        query(degree, fromArrivalTime, toArrivalTime, collector);
+        return Arrays.copyOf(collector.waitTimes, collector.size);
+    }
+    
+    /**
+     * Visits all the outcomes in the archive in the order they were written.
+     * 
+     * @param  visitor the visitor receiving the outcomes.
+     * @throws IOException if reading the archive fails.
+     */
+    public void forEach(OutcomeVisitor visitor) throws IOException {
+        Objects.requireNonNull(visitor, "The input visitor is null.");
+        
+        for (int block = 0; block < blockOffsets.length; ++block) {
+            int count = decodeBlock(block);
+            
+            for (int i = 0; i < count; ++i) {
+                visitor.visit(ids[i], 
+                              DEGREES[degrees[i]], 
+                              arrivalTimes[i], 
+                              waitTimes[i], 
+                              serviceTimes[i]);
+            }
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+    
+    private int decodeBlock(int block) throws IOException {
+        int count = blockCounts[block];
+        ensureColumnCapacity(count);
+        ByteBuffer buffer = windows[blockWindows[block]];
+        buffer.clear();
+        buffer.position(blockPositions[block]);
+        buffer.limit(blockPositions[block] + blockByteLengths[block]);
+        long id = 0L;
+        
+        for (int i = 0; i < count; ++i) {
+            id += readVarLong(buffer);
+            ids[i] = id;
+        }
+        
+        buffer.get(degrees, 0, count);
+        int arrivalTime = 0;
+        
+        for (int i = 0; i < count; ++i) {
+            arrivalTime += (int) readVarLong(buffer);
+            arrivalTimes[i] = arrivalTime;
+        }
+        
+        for (int i = 0; i < count; ++i) {
+            waitTimes[i] = (int) readVarLong(buffer);
+        }
+        
+        for (int i = 0; i < count; ++i) {
+            serviceTimes[i] = (int) readVarLong(buffer);
+        }
+        
+        ++decodedBlocks;
+        return count;
+    }
+    
+    /**
+     * Maps the blocks in as few windows as possible, assigning each block to
+     * the window holding it.
+     * 
+     * @return the views of the windows.
+     * @throws IOException if mapping fails.
+     */
+    private ByteBuffer[] mapWindows() throws IOException {
+        ByteBuffer[] views = new ByteBuffer[blockOffsets.length];
+        int windowCount = 0;
+        int block = 0;
+        
+        while (block < blockOffsets.length) {
+            long start = blockOffsets[block];
+            long end = start + blockByteLengths[block];
+            int first = block++;
+            
+            while (block < blockOffsets.length 
+                    && blockOffsets[block] >= start
+                    && blockOffsets[block] + blockByteLengths[block] - start 
+                       <= MAXIMUM_WINDOW_SIZE) {
+                end = Math.max(end, 
+                               blockOffsets[block] + blockByteLengths[block]);
+                ++block;
+            }
+            
+            for (int i = first; i < block; ++i) {
+                blockWindows[i] = windowCount;
+                blockPositions[i] = (int)(blockOffsets[i] - start);
+            }
+            
+            MappedByteBuffer window = 
+                    channel.map(FileChannel.MapMode.READ_ONLY, 
+                                start, 
+                                end - start);
+            views[windowCount++] = window.duplicate();
+        }
+        
+        return Arrays.copyOf(views, windowCount);
+    }
+    
+    private static long readVarLong(ByteBuffer buffer) {
+        long zigzag = 0L;
+        int shift = 0;
+        byte b;
+        
+        do {
+            b = buffer.get();
+            zigzag |= (long)(b & 0x7f) << shift;
+            shift += 7;
+        } while (b < 0);
+        
+        return (zigzag >>> 1) ^ -(zigzag & 1L);
+    }
+    
+    private void ensureColumnCapacity(int count) {
+        if (ids.length < count) {
+            ids = new long[count];
+            degrees = new byte[count];
+            arrivalTimes = new int[count];
+            waitTimes = new int[count];
+            serviceTimes = new int[count];
+        }
+    }
+    
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of the archive.");
+            }
+        }
+        
+        buffer.flip();
+        return buffer;
+    }
+    
+    private static final class WaitTimeCollector implements OutcomeVisitor {
+        
+        private int[] waitTimes = new int[16];
+        private int size;
+        
+        @Override
+        public void visit(long id, 
+                          AcademicDegree degree, 
+                          int arrivalTime, 
+                          int waitTime, 
+                          int serviceTime) {
+            if (size == waitTimes.length) {
+                waitTimes = Arrays.copyOf(waitTimes, 2 * size);
+            }
+            
+            waitTimes[size++] = waitTime;
+        }
+    }
+}
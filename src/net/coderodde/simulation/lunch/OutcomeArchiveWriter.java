@@ -0,0 +1,280 @@
+package net.coderodde.simulation.lunch;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * This class writes the per-person outcomes of a simulation to a columnar 
+ * archive readable by {@link OutcomeArchive}. The outcomes are buffered into
+ * blocks; each block stores its columns one after another, the identities 
+ * and the arrival times delta encoded, and all the integers as zigzag 
+ * varints. For each block, the archive index keeps the range of arrival 
+ * times and the set of present degrees, so that queries may skip the blocks
+ * that cannot match.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public final class OutcomeArchiveWriter implements Closeable {
+    
+    /**
+     * The default number of outcomes per block.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 4096;
+    
+    private final DataOutputStream out;
+    private final int blockSize;
+    
+    // The columns of the current block.
+    private final long[] ids;
+    private final byte[] degrees;
+    private final int[] arrivalTimes;
+    private final int[] waitTimes;
+    private final int[] serviceTimes;
+    private int blockLength;
+    
+    // The index of the blocks written so far.
+    private long[] blockOffsets = new long[16];
+    private int[] blockByteLengths = new int[16];
+    private int[] blockCounts = new int[16];
+    private int[] blockMinimumArrivalTimes = new int[16];
+    private int[] blockMaximumArrivalTimes = new int[16];
+    private int[] blockDegreeMasks = new int[16];
+    private int blockCount;
+    
+    private byte[] encodingBuffer = new byte[1024];
+    private int encodingLength;
+    private long position;
+    private long outcomeCount;
+    private boolean closed;
+    
+    /**
+     * Creates a new archive at the given path using the default block size. 
+     * An existing file is overwritten.
+     * 
+     * @param  path the path of the archive.
+     * @return an archive writer.
+     * @throws IOException if the file could not be created.
+     */
+    public static OutcomeArchiveWriter create(Path path) throws IOException {
+        return create(path, DEFAULT_BLOCK_SIZE);
+    }
+    
+    /**
+     * Creates a new archive at the given path. An existing file is 
+     * overwritten.
+     * 
+     * @param  path      the path of the archive.
+     * @param  blockSize the number of outcomes per block.
+     * @return an archive writer.
+     * @throws IOException if the file could not be created.
+     */
+    public static OutcomeArchiveWriter create(Path path, int blockSize) 
+    throws IOException {
+        Objects.requireNonNull(path, "The input path is null.");
+        
+        if (blockSize < 1) {
+            throw new IllegalArgumentException(
+                    "The block size is not positive: " + blockSize);
+        }
+        
+        return new OutcomeArchiveWriter(
+                new BufferedOutputStream(Files.newOutputStream(path), 1 << 16),
+                blockSize);
+    }
+    
+    private OutcomeArchiveWriter(OutputStream outputStream, int blockSize) 
+    throws IOException {
+        this.out = new DataOutputStream(outputStream);
+        this.blockSize = blockSize;
+        this.ids = new long[blockSize];
+        this.degrees = new byte[blockSize];
+        this.arrivalTimes = new int[blockSize];
+        this.waitTimes = new int[blockSize];
+        this.serviceTimes = new int[blockSize];
+        
+        out.writeInt(OutcomeArchive.MAGIC);
+        out.writeInt(OutcomeArchive.VERSION);
+        position = OutcomeArchive.HEADER_SIZE;
+    }
+    
+    /**
+     * Appends the outcome of a single served person.
+     * 
+     * @param  id          the identity of the person.
+     * @param  degree      the academic degree of the person.
+     * @param  arrivalTime the arrival time of the person.
+     * @param  waitTime    the time from arrival until served.
+     * @param  serviceTime the service time of the person.
+     * @throws IOException if writing fails.
+     */
+    public void add(long id, 
+                    AcademicDegree degree, 
+                    int arrivalTime, 
+                    int waitTime,
+                    int serviceTime) throws IOException {
+        Objects.requireNonNull(degree, "The input degree is null.");
+        add(id, degree.ordinal(), arrivalTime, waitTime, serviceTime);
+    }
+    
+    void add(long id, 
+             int degree, 
+             int arrivalTime, 
+             int waitTime, 
+             int serviceTime) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("The archive is closed.");
+        }
+        
+        ids[blockLength] = id;
+        degrees[blockLength] = (byte) degree;
+        arrivalTimes[blockLength] = arrivalTime;
+        waitTimes[blockLength] = waitTime;
+        serviceTimes[blockLength] = serviceTime;
+        ++outcomeCount;
+        
+        if (++blockLength == blockSize) {
+            flushBlock();
+        }
+    }
+    
+    public long getOutcomeCount() {
+        return outcomeCount;
+    }
+    
+    /**
+     * Writes the last block and the index and closes the file.
+     * 
+     * @throws IOException if writing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        
+        closed = true;
+        
+        try {
+            if (blockLength > 0) {
+                flushBlock();
+            }
+            
+            long indexOffset = position;
+            
+            for (int i = 0; i < blockCount; ++i) {
+                out.writeLong(blockOffsets[i]);
+                out.writeInt(blockByteLengths[i]);
+                out.writeInt(blockCounts[i]);
+                out.writeInt(blockMinimumArrivalTimes[i]);
+                out.writeInt(blockMaximumArrivalTimes[i]);
+                out.writeInt(blockDegreeMasks[i]);
+            }
+            
+            out.writeLong(indexOffset);
+            out.writeInt(blockCount);
+            out.writeLong(outcomeCount);
+            out.writeInt(OutcomeArchive.MAGIC);
+        } finally {
+            out.close();
+        }
+    }
+    
+    private void flushBlock() throws IOException {
+        encodingLength = 0;
+        int minimumArrivalTime = Integer.MAX_VALUE;
+        int maximumArrivalTime = Integer.MIN_VALUE;
+        int degreeMask = 0;
+        long previousId = 0L;
+        int previousArrivalTime = 0;
+        
+        for (int i = 0; i < blockLength; ++i) {
+            writeVarLong(ids[i] - previousId);
+            previousId = ids[i];
+        }
+        
+        ensureCapacity(blockLength);
+        System.arraycopy(degrees, 
+                         0, 
+                         encodingBuffer, 
+                         encodingLength, 
+                         blockLength);
+        encodingLength += blockLength;
+        
+        for (int i = 0; i < blockLength; ++i) {
+            int arrivalTime = arrivalTimes[i];
+            // The deltas are small since the served order follows the arrival
+            // order closely; a wider long delta never overflows.
+            writeVarLong((long) arrivalTime - previousArrivalTime);
+            previousArrivalTime = arrivalTime;
+            minimumArrivalTime = Math.min(minimumArrivalTime, arrivalTime);
+            maximumArrivalTime = Math.max(maximumArrivalTime, arrivalTime);
+            degreeMask |= 1 << degrees[i];
+        }
+        
+        for (int i = 0; i < blockLength; ++i) {
+            writeVarLong(waitTimes[i]);
+        }
+        
+        for (int i = 0; i < blockLength; ++i) {
+            writeVarLong(serviceTimes[i]);
+        }
+        
+        if (blockCount == blockOffsets.length) {
+            expandIndex();
+        }
+        
+        blockOffsets[blockCount] = position;
+        blockByteLengths[blockCount] = encodingLength;
+        blockCounts[blockCount] = blockLength;
+        blockMinimumArrivalTimes[blockCount] = minimumArrivalTime;
+        blockMaximumArrivalTimes[blockCount] = maximumArrivalTime;
+        blockDegreeMasks[blockCount] = degreeMask;
+        ++blockCount;
+        
+        out.write(encodingBuffer, 0, encodingLength);
+        position += encodingLength;
+        blockLength = 0;
+    }
+    
+    private void writeVarLong(long value) {
+        ensureCapacity(10);
+        long zigzag = (value << 1) ^ (value >> 63);
+        
+        while ((zigzag & ~0x7fL) != 0L) {
+            encodingBuffer[encodingLength++] = (byte)((zigzag & 0x7f) | 0x80);
+            zigzag >>>= 7;
+        }
+        
+        encodingBuffer[encodingLength++] = (byte) zigzag;
+    }
+    
+    private void ensureCapacity(int extra) {
+        if (encodingLength + extra > encodingBuffer.length) {
+            byte[] newBuffer = 
+                    new byte[Math.max(2 * encodingBuffer.length, 
+                                      encodingLength + extra)];
+            System.arraycopy(encodingBuffer, 0, newBuffer, 0, encodingLength);
+            encodingBuffer = newBuffer;
+        }
+    }
+    
+    private void expandIndex() {
+        int capacity = 2 * blockOffsets.length;
+        blockOffsets = Arrays.copyOf(blockOffsets, capacity);
+        blockByteLengths = Arrays.copyOf(blockByteLengths, capacity);
+        blockCounts = Arrays.copyOf(blockCounts, capacity);
+        blockMinimumArrivalTimes = 
+                Arrays.copyOf(blockMinimumArrivalTimes, capacity);
+        blockMaximumArrivalTimes = 
+                Arrays.copyOf(blockMaximumArrivalTimes, capacity);
+        blockDegreeMasks = Arrays.copyOf(blockDegreeMasks, capacity);
+    }
+}
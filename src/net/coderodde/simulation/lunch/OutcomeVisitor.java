@@ -0,0 +1,27 @@
+package net.coderodde.simulation.lunch;
+
+/**
+ * This interface describes a callback receiving the outcomes matched by an
+ * {@link OutcomeArchive} query.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+@FunctionalInterface
+public interface OutcomeVisitor {
+    
+    /**
+     * Receives the outcome of a single served person.
+     * 
+     * @param id          the identity of the person.
+     * @param degree      the academic degree of the person.
+     * @param arrivalTime the arrival time of the person.
+     * @param waitTime    the time from arrival until served.
+     * @param serviceTime the service time of the person.
+     */
+    void visit(long id, 
+               AcademicDegree degree, 
+               int arrivalTime, 
+               int waitTime, 
+               int serviceTime);
+}
@@ -0,0 +1,259 @@
+package net.coderodde.simulation.lunch;
+
+import java.util.Objects;
+import static net.coderodde.simulation.lunch.Utils.checkMean;
+import static net.coderodde.simulation.lunch.Utils.checkStandardDeviation;
+
+/**
+ * This class describes a box of replication configurations around a base
+ * configuration: each parameter of the configuration either stays at its
+ * base value or ranges over an interval. The points of the box are given in
+ * the unit cube of the varying parameters, in the order of
+ * {@link #getParameter(int)}; the people counts are rounded to integers.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+final class ParameterSpace {
+
+    private static final AcademicDegree[] DEGREES = AcademicDegree.values();
+
+    static final int MEAN_LUNCH_TIME = DEGREES.length;
+    static final int LUNCH_TIME_STANDARD_DEVIATION = DEGREES.length + 1;
+    static final int MEAN_SERVICE_TIME = DEGREES.length + 2;
+    static final int SERVICE_TIME_STANDARD_DEVIATION = DEGREES.length + 3;
+    static final int PARAMETERS = DEGREES.length + 4;
+
+    private static final String[] NAMES = {
+        "mean lunch time",
+        "lunch time deviation",
+        "mean service time",
+        "service time deviation",
+    };
+
+    private final double[] lows = new double[PARAMETERS];
+    private final double[] highs = new double[PARAMETERS];
+    private int[] varying = new int[0];
+
+    ParameterSpace(ReplicationConfiguration configuration) {
+        for (AcademicDegree degree : DEGREES) {
+            lows[degree.ordinal()] = configuration.getPeopleCount(degree);
+        }
+
+        lows[MEAN_LUNCH_TIME] = configuration.getMeanLunchTime();
+        lows[LUNCH_TIME_STANDARD_DEVIATION] =
+                configuration.getLunchTimeStandardDeviation();
+        lows[MEAN_SERVICE_TIME] = configuration.getMeanServiceTime();
+        lows[SERVICE_TIME_STANDARD_DEVIATION] =
+                configuration.getStandardDeviationOfServiceTime();
+        System.arraycopy(lows, 0, highs, 0, PARAMETERS);
+    }
+
+    private ParameterSpace(ParameterSpace other) {
+        System.arraycopy(other.lows, 0, lows, 0, PARAMETERS);
+        System.arraycopy(other.highs, 0, highs, 0, PARAMETERS);
+        varying = other.varying.clone();
+    }
+
+    ParameterSpace copy() {
+        return new ParameterSpace(this);
+    }
+
+    /**
+     * Lets a parameter range over an interval, or fixes it if the bounds are
+     * equal.
+     *
+     * @param parameter the parameter index.
+     * @param minimum   the lower bound.
+     * @param maximum   the upper bound.
+     */
+    private void vary(int parameter, double minimum, double maximum) {
+        if (minimum > maximum) {
+            throw new IllegalArgumentException(
+                    "The minimum " + minimum +
+                    " is larger than the maximum " + maximum);
+        }
+
+        lows[parameter] = minimum;
+        highs[parameter] = maximum;
+        int count = 0;
+
+        for (int i = 0; i < PARAMETERS; ++i) {
+            if (lows[i] < highs[i]) {
+                ++count;
+            }
+        }
+
+        varying = new int[count];
+
+        for (int i = 0, j = 0; i < PARAMETERS; ++i) {
+            if (lows[i] < highs[i]) {
+                varying[j++] = i;
+            }
+        }
+    }
+
+    void varyPeopleCount(AcademicDegree degree, int minimum, int maximum) {
+        Objects.requireNonNull(degree, "The input degree is null.");
+
+        if (minimum < 0) {
+            throw new IllegalArgumentException(
+                    "The people count is negative: " + minimum);
+        }
+
+        vary(degree.ordinal(), minimum, maximum);
+    }
+
+    void varyMeanLunchTime(double minimum, double maximum) {
+        checkMean(minimum);
+        checkMean(maximum);
+        vary(MEAN_LUNCH_TIME, minimum, maximum);
+    }
+
+    void varyLunchTimeStandardDeviation(double minimum, double maximum) {
+        checkStandardDeviation(minimum);
+        checkStandardDeviation(maximum);
+        vary(LUNCH_TIME_STANDARD_DEVIATION, minimum, maximum);
+    }
+
+    void varyMeanServiceTime(double minimum, double maximum) {
+        checkMean(minimum);
+        checkMean(maximum);
+        vary(MEAN_SERVICE_TIME, minimum, maximum);
+    }
+
+    void varyStandardDeviationOfServiceTime(double minimum, double maximum) {
+        checkStandardDeviation(minimum);
+        checkStandardDeviation(maximum);
+        vary(SERVICE_TIME_STANDARD_DEVIATION, minimum, maximum);
+    }
+
+    /**
+     * Returns the number of varying parameters.
+     *
+     * @return the dimension of the unit cube.
+     */
+    int getDimensions() {
+        return varying.length;
+    }
+
+    /**
+     * Returns the parameter index of the given dimension.
+     *
+     * @param  dimension the dimension.
+     * @return the parameter index.
+     */
+    int getParameter(int dimension) {
+        return varying[dimension];
+    }
+
+    /**
+     * Returns a short human readable name of a parameter.
+     *
+     * @param  parameter the parameter index.
+     * @return the name of the parameter.
+     */
+    static String getParameterName(int parameter) {
+        if (parameter < DEGREES.length) {
+            return DEGREES[parameter] + " count";
+        }
+
+        return NAMES[parameter - DEGREES.length];
+    }
+
+    /**
+     * Moves the people count coordinates of a point to the nearest integral
+     * counts, so that the point is exactly the configuration simulated.
+     *
+     * @param  point the point in the unit cube.
+     * @return the same point.
+     */
+    double[] round(double[] point) {
+        for (int j = 0; j < varying.length; ++j) {
+            int parameter = varying[j];
+
+            if (parameter < DEGREES.length) {
+                double width = highs[parameter] - lows[parameter];
+                point[j] = Math.rint(point[j] * width) / width;
+            }
+        }
+
+        return point;
+    }
+
+    double getValue(double[] point, int parameter) {
+        for (int j = 0; j < varying.length; ++j) {
+            if (varying[j] == parameter) {
+                return lows[parameter] +
+                       point[j] * (highs[parameter] - lows[parameter]);
+            }
+        }
+
+        return lows[parameter];
+    }
+
+    ReplicationConfiguration toConfiguration(double[] point) {
+        ReplicationConfiguration.DegreeCountSelector selector =
+                ReplicationConfiguration.with(getPeopleCount(point, 0))
+                                        .peopleWithDegree(DEGREES[0]);
+
+        for (int degree = 1; degree < DEGREES.length; ++degree) {
+            selector = selector.with(getPeopleCount(point, degree))
+                               .peopleWithDegree(DEGREES[degree]);
+        }
+
+        return selector.withMeanLunchTime(getValue(point, MEAN_LUNCH_TIME))
+                       .withLunchTimeStandardDeviation(
+                               getValue(point, LUNCH_TIME_STANDARD_DEVIATION))
+                       .withMeanServiceTime(
+                               getValue(point, MEAN_SERVICE_TIME))
+                       .withStandardDeviationOfServiceTime(
+                               getValue(point,
+                                        SERVICE_TIME_STANDARD_DEVIATION));
+    }
+
+    /**
+     * Maps a configuration to the unit cube.
+     *
+     * @param  configuration the configuration.
+     * @return the point of the configuration.
+     * @throws IllegalArgumentException if the configuration is outside the
+     *                                  box.
+     */
+    double[] toPoint(ReplicationConfiguration configuration) {
+        double[] values = new double[PARAMETERS];
+
+        for (AcademicDegree degree : DEGREES) {
+            values[degree.ordinal()] = configuration.getPeopleCount(degree);
+        }
+
+        values[MEAN_LUNCH_TIME] = configuration.getMeanLunchTime();
+        values[LUNCH_TIME_STANDARD_DEVIATION] =
+                configuration.getLunchTimeStandardDeviation();
+        values[MEAN_SERVICE_TIME] = configuration.getMeanServiceTime();
+        values[SERVICE_TIME_STANDARD_DEVIATION] =
+                configuration.getStandardDeviationOfServiceTime();
+
+        for (int i = 0; i < PARAMETERS; ++i) {
+            if (values[i] < lows[i] || values[i] > highs[i]) {
+                throw new IllegalArgumentException(
+                        "The configuration " + configuration +
+                        " is outside the range of the model.");
+            }
+        }
+
+        double[] point = new double[varying.length];
+
+        for (int j = 0; j < varying.length; ++j) {
+            int parameter = varying[j];
+            point[j] = (values[parameter] - lows[parameter]) /
+                       (highs[parameter] - lows[parameter]);
+        }
+
+        return point;
+    }
+
+    private int getPeopleCount(double[] point, int degree) {
+        return (int) Math.round(getValue(point, degree));
+    }
+}
@@ -0,0 +1,73 @@
+package net.coderodde.simulation.lunch;
+
+/**
+ * This class holds the wall time and the bytes allocated by the simulating
+ * thread in each {@link SimulationPhase} of a profiled simulation. A phase 
+ * that was not run reports zero wall time and zero bytes. If the JVM cannot 
+ * measure the allocated bytes of a thread, all the byte counts are 
+ * {@code -1}.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public final class PhaseProfile {
+    
+    private static final String NL = "\n";
+    private static final String SKIP = "    ";
+    
+    private final long[] wallTimeNanos;
+    private final long[] allocatedBytes;
+    
+    PhaseProfile(long[] wallTimeNanos, long[] allocatedBytes) {
+        this.wallTimeNanos = wallTimeNanos;
+        this.allocatedBytes = allocatedBytes;
+    }
+    
+    public long getWallTimeNanos(SimulationPhase phase) {
+        return wallTimeNanos[phase.ordinal()];
+    }
+    
+    public long getAllocatedBytes(SimulationPhase phase) {
+        return allocatedBytes[phase.ordinal()];
+    }
+    
+    public long getTotalWallTimeNanos() {
+        long total = 0L;
+        
+        for (long nanos : wallTimeNanos) {
+            total += nanos;
+        }
+        
+        return total;
+    }
+    
+    public long getTotalAllocatedBytes() {
+        long total = 0L;
+        
+        for (long bytes : allocatedBytes) {
+            if (bytes < 0L) {
+                return -1L;
+            }
+            
+            total += bytes;
+        }
+        
+        return total;
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Profile:");
+        
+        for (SimulationPhase phase : SimulationPhase.values()) {
+            sb.append(NL)
+              .append(SKIP)
+              .append(String.format("%-15s %10.3f milliseconds, %d bytes.",
+                                    phase + ":",
+                                    getWallTimeNanos(phase) / 1e6,
+                                    getAllocatedBytes(phase)));
+        }
+        
+        return sb.toString();
+    }
+}
@@ -0,0 +1,148 @@
+package net.coderodde.simulation.lunch;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * This class measures the wall time and the allocated bytes of the phases of
+ * a simulation run by a single thread. A disabled profiler does nothing, so 
+ * the simulators may call it unconditionally.
+ * <p>
+ * Counting the bytes allocated by threads is a setting of the whole JVM, so
+ * it is switched on only when the first enabled profiler is created; runs
+ * that are not profiled leave the setting alone.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+final class PhaseProfiler {
+    
+    private static final int PHASES = SimulationPhase.values().length;
+    
+    private static final PhaseProfiler DISABLED = new PhaseProfiler(false);
+    
+    private final boolean enabled;
+    
+    /**
+     * The allocation counting bean, or {@code null} if this profiler is 
+     * disabled or the JVM does not support counting the bytes allocated by a
+     * thread.
+     */
+    private final com.sun.management.ThreadMXBean threadMXBean;
+    
+    private final long[] wallTimeNanos = new long[PHASES];
+    private final long[] allocatedBytes = new long[PHASES];
+    private long phaseStartNanos;
+    private long phaseStartBytes;
+    
+    private PhaseProfiler(boolean enabled) {
+        this.enabled = enabled;
+        this.threadMXBean = enabled ? AllocationCounting.BEAN : null;
+    }
+    
+    static PhaseProfiler enabled() {
+        return new PhaseProfiler(true);
+    }
+    
+    static PhaseProfiler disabled() {
+        return DISABLED;
+    }
+    
+    boolean isEnabled() {
+        return enabled;
+    }
+    
+    void startPhase() {
+        if (!enabled) {
+            return;
+        }
+        
+        phaseStartBytes = getAllocatedBytes();
+        phaseStartNanos = System.nanoTime();
+    }
+    
+    /**
+     * Adds the time and the allocations since the last call to 
+     * {@link #startPhase()} to the given phase.
+     * 
+     * @param phase the phase that has ended.
+     */
+    void endPhase(SimulationPhase phase) {
+        if (!enabled) {
+            return;
+        }
+        
+        long endNanos = System.nanoTime();
+        long endBytes = getAllocatedBytes();
+        wallTimeNanos[phase.ordinal()] += endNanos - phaseStartNanos;
+        allocatedBytes[phase.ordinal()] += endBytes - phaseStartBytes;
+    }
+    
+    /**
+     * Attaches the measurements to the given result, if enabled.
+     * 
+     * @param result the result of the profiled simulation.
+     */
+    void publish(SimulationResult result) {
+        if (!enabled) {
+            return;
+        }
+        
+        long[] bytes = allocatedBytes.clone();
+        
+        if (threadMXBean == null) {
+            Arrays.fill(bytes, -1L);
+        }
+        
+        result.setPhaseProfile(new PhaseProfile(wallTimeNanos.clone(), bytes));
+    }
+    
+    private long getAllocatedBytes() {
+        if (threadMXBean == null) {
+            return 0L;
+        }
+        
+        return threadMXBean.getThreadAllocatedBytes(
+                Thread.currentThread().getId());
+    }
+    
+    private static com.sun.management.ThreadMXBean 
+        getAllocationCountingBean() {
+        try {
+            java.lang.management.ThreadMXBean bean = 
+                    ManagementFactory.getThreadMXBean();
+            
+            if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+                return null;
+            }
+            
+            com.sun.management.ThreadMXBean sunBean = 
+                    (com.sun.management.ThreadMXBean) bean;
+            
+            if (!sunBean.isThreadAllocatedMemorySupported()) {
+                return null;
+            }
+            
+            if (!sunBean.isThreadAllocatedMemoryEnabled()) {
+                sunBean.setThreadAllocatedMemoryEnabled(true);
+            }
+            
+            return sunBean;
+        } catch (LinkageError | UnsupportedOperationException 
+                | SecurityException ex) {
+            // Not a HotSpot-like JVM, or not allowed to enable counting.
+            return null;
+        }
+    }
+    
+    /**
+     * Holds the allocation counting bean. The JVM initializes this class, and
+     * thus enables the counting, on the first creation of an enabled 
+     * profiler.
+     */
+    private static final class AllocationCounting {
+        
+        static final com.sun.management.ThreadMXBean BEAN = 
+                getAllocationCountingBean();
+    }
+}
@@ -1,7 +1,10 @@
 package net.coderodde.simulation.lunch;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -77,4 +80,105 @@ public final class Population {
         
         return new ArrayDeque<>(eventList);
     }
+    
+    /**
+     * Returns the arrival times and the degrees of this population as a 
+     * {@link PackedPopulation}. The names of the people are dropped.
+     * 
+     * @return a packed population.
+     */
+    public PackedPopulation toPackedPopulation() {
+        int[] packedPeople = new int[size()];
+        packInto(packedPeople);
+        return new PackedPopulation(packedPeople);
+    }
+    
+    /**
+     * Packs the people of this population into the beginning of the given
+     * array, which must hold at least {@link #size()} elements, and sorts 
+     * them.
+     * 
+     * @param packedPeople the target array.
+     */
+    void packInto(int[] packedPeople) {
+        int i = 0;
+        
+        for (Map.Entry<Person, Integer> entry : arrivalTimeMap.entrySet()) {
+            int arrivalTime = entry.getValue();
+            
+            if (arrivalTime < PackedPopulation.MINIMUM_ARRIVAL_TIME 
+                    || arrivalTime > PackedPopulation.MAXIMUM_ARRIVAL_TIME) {
+                throw new IllegalStateException(
+                        "The arrival time " + arrivalTime + 
+                        " cannot be packed.");
+            }
+            
+            packedPeople[i++] = PackedPopulation.pack(
+                    arrivalTime, 
+                    entry.getKey().getAcademicDegree().ordinal());
+        }
+        
+        Arrays.sort(packedPeople, 0, i);
+    }
+    
+    /**
+     * Writes the arrival times and the degrees of this population to a binary
+     * file that can be mapped back by {@link MappedPopulation#open(Path)}.
+     * The names of the people are not written.
+     * 
+     * @param  path the path of the file.
+     * @throws IOException if writing fails.
+     */
+    public void writeTo(Path path) throws IOException {
+        toPackedPopulation().writeTo(path);
+    }
+    
+    /**
+     * Returns the people of this population as an arrival stream in the same
+     * order as {@link #toEventQueue()}. The identity of a person is its index
+     * in that order.
+     * 
+     * @return an arrival stream.
+     */
+    ArrivalStream toArrivalStream() {
+        return new EventQueueArrivalStream(toEventQueue());
+    }
+    
+    private static final class EventQueueArrivalStream 
+            implements ArrivalStream {
+        
+        private final Queue<LunchQueueEvent> eventQueue;
+        private LunchQueueEvent currentEvent;
+        private long id = -1L;
+        
+        EventQueueArrivalStream(Queue<LunchQueueEvent> eventQueue) {
+            this.eventQueue = eventQueue;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !eventQueue.isEmpty();
+        }
+
+        @Override
+        public void next() {
+            currentEvent = eventQueue.remove();
+            ++id;
+        }
+
+        @Override
+        public int getArrivalTime() {
+            return currentEvent.getTimestamp();
+        }
+
+        @Override
+        public AcademicDegree getAcademicDegree() {
+            return currentEvent.getPerson().getAcademicDegree();
+        }
+
+        @Override
+        public long getId() {
+            return id;
+        }
+    }
 }
@@ -0,0 +1,137 @@
+package net.coderodde.simulation.lunch;
+
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements a FIFO queue over priority categories just like
+ * {@link PrioritizedQueue}, yet stores only the arrival times and identities
+ * of the waiting people in primitive ring buffers. No objects are allocated
+ * per a queued person.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+final class PrimitivePrioritizedQueue {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int DEGREES = AcademicDegree.values().length;
+
+    private final int[][] arrivalTimes = new int[DEGREES][];
+    private final long[][] ids = new long[DEGREES][];
+    private final int[] heads = new int[DEGREES];
+    private final int[] sizes = new int[DEGREES];
+
+    private int size;
+    private int lastArrivalTime;
+    private long lastId;
+
+    PrimitivePrioritizedQueue() {
+        for (int i = 0; i < DEGREES; ++i) {
+            arrivalTimes[i] = new int[INITIAL_CAPACITY];
+            ids[i] = new long[INITIAL_CAPACITY];
+        }
+    }
+
+    void push(int degree, int arrivalTime, long id) {
+        if (sizes[degree] == arrivalTimes[degree].length) {
+            expand(degree);
+        }
+
+        int mask = arrivalTimes[degree].length - 1;
+        int index = (heads[degree] + sizes[degree]) & mask;
+        arrivalTimes[degree][index] = arrivalTime;
+        ids[degree][index] = id;
+        ++sizes[degree];
+        ++size;
+    }
+
+    /**
+     * Removes the earliest person of the highest priority category. The
+     * arrival time and the identity of the removed person are available via
+     * {@link #getLastArrivalTime()} and {@link #getLastId()}.
+     *
+     * @return the ordinal of the academic degree of the removed person.
+     */
+    int pop() {
+        if (isEmpty()) {
+            throw new NoSuchElementException(
+                    "Popping from an empty prioritized queue.");
+        }
+
+        for (int degree = 0; degree < DEGREES; ++degree) {
+            if (sizes[degree] != 0) {
+                int head = heads[degree];
+                lastArrivalTime = arrivalTimes[degree][head];
+                lastId = ids[degree][head];
+                heads[degree] = (head + 1) & (arrivalTimes[degree].length - 1);
+                --sizes[degree];
+                --size;
+                return degree;
+            }
+        }
+
+        throw new IllegalStateException(
+                "This should never happend. Please debug.");
+    }
+
+    int getLastArrivalTime() {
+        return lastArrivalTime;
+    }
+
+    long getLastId() {
+        return lastId;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        for (int i = 0; i < DEGREES; ++i) {
+            heads[i] = 0;
+            sizes[i] = 0;
+        }
+
+        size = 0;
+    }
+
+    PrimitivePrioritizedQueue copy() {
+        PrimitivePrioritizedQueue copy = new PrimitivePrioritizedQueue();
+        copy.copyFrom(this);
+        return copy;
+    }
+    
+    void copyFrom(PrimitivePrioritizedQueue other) {
+        for (int i = 0; i < DEGREES; ++i) {
+            arrivalTimes[i] = other.arrivalTimes[i].clone();
+            ids[i] = other.ids[i].clone();
+            heads[i] = other.heads[i];
+            sizes[i] = other.sizes[i];
+        }
+        
+        size = other.size;
+    }
+    
+    private void expand(int degree) {
+        int[] oldTimes = arrivalTimes[degree];
+        long[] oldIds = ids[degree];
+        int capacity = oldTimes.length;
+        int head = heads[degree];
+        int[] newTimes = new int[2 * capacity];
+        long[] newIds = new long[2 * capacity];
+
+        // Unroll the ring buffer to the beginning of the new arrays.
+        System.arraycopy(oldTimes, head, newTimes, 0, capacity - head);
+        System.arraycopy(oldTimes, 0, newTimes, capacity - head, head);
+        System.arraycopy(oldIds, head, newIds, 0, capacity - head);
+        System.arraycopy(oldIds, 0, newIds, capacity - head, head);
+
+        arrivalTimes[degree] = newTimes;
+        ids[degree] = newIds;
+        heads[degree] = 0;
+    }
+}
@@ -0,0 +1,22 @@
+package net.coderodde.simulation.lunch;
+
+/**
+ * This enumeration lists the disciplines by which a waiting line chooses
+ * the next person to serve.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public enum QueueDiscipline {
+    
+    /**
+     * The earliest person of the highest priority academic degree is served
+     * first. This is the discipline of the plain lunch queue.
+     */
+    PRIORITY,
+    
+    /**
+     * The earliest person is served first regardless of the degree.
+     */
+    FIFO
+}
@@ -0,0 +1,68 @@
+package net.coderodde.simulation.lunch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class describes a tandem network of stations. Every person visits all
+ * the stations in order, for example, the cashier, then the seating and then 
+ * the tray return. A person arriving at the network enters the first 
+ * station; if it is full, the person waits outside in the order of arrival.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public final class QueueingNetwork {
+    
+    private final List<Station> stations;
+    
+    /**
+     * Starts a network with its first station.
+     * 
+     * @param  station the first station.
+     * @return a network with a single station.
+     */
+    public static QueueingNetwork withStation(Station station) {
+        return new QueueingNetwork(Collections.<Station>emptyList())
+                .thenStation(station);
+    }
+    
+    /**
+     * Returns a network consisting of this network followed by 
+     * {@code station}. This network is not modified.
+     * 
+     * @param  station the station to append.
+     * @return the extended network.
+     */
+    public QueueingNetwork thenStation(Station station) {
+        Objects.requireNonNull(station, "The input station is null.");
+        
+        if (stations.contains(station)) {
+            throw new IllegalArgumentException(
+                    "The station " + station + " is already in the network.");
+        }
+        
+        List<Station> list = new ArrayList<>(stations);
+        list.add(station);
+        return new QueueingNetwork(list);
+    }
+    
+    private QueueingNetwork(List<Station> stations) {
+        this.stations = stations;
+    }
+    
+    public int size() {
+        return stations.size();
+    }
+    
+    public Station getStation(int index) {
+        return stations.get(index);
+    }
+    
+    @Override
+    public String toString() {
+        return stations.toString();
+    }
+}
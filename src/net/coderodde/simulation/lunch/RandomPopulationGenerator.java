@@ -1,12 +1,15 @@
 package net.coderodde.simulation.lunch;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
 import static net.coderodde.simulation.lunch.Utils.checkMean;
 import static net.coderodde.simulation.lunch.Utils.checkStandardDeviation;
 
@@ -127,6 +130,26 @@ public final class RandomPopulationGenerator {
                     configuration.meanLunchTime,
                     lunchTimeStandardDeviation).generate();
         }
+        
+        /**
+         * Selects the standard deviation and generates a packed population 
+         * in parallel. The output depends only on the state of the 
+         * {@code Random} given to {@link #withRandom(Random)}, and not on the
+         * number of available cores.
+         * 
+         * @param  lunchTimeStandardDeviation the standard deviation of the 
+         *                                    times at which people go to lunch.
+         * @return a packed population.
+         */
+        public PackedPopulation inParallelWithLunchTimeStandardDeviation(
+                double lunchTimeStandardDeviation) {
+            checkStandardDeviation(lunchTimeStandardDeviation);
+            return new RandomPopulationGenerator(
+                    configuration.random,
+                    configuration.distribution,
+                    configuration.meanLunchTime,
+                    lunchTimeStandardDeviation).generatePackedInParallel();
+        }
     }
     
     private RandomPopulationGenerator(Random random, 
@@ -190,11 +213,177 @@ public final class RandomPopulationGenerator {
         return population;
     }
     
+    /**
+     * Generates a packed population in parallel. The population is split into
+     * fixed-size chunks, each drawing from its own {@code SplittableRandom} 
+     * split off a root generator in chunk order, so the chunks may be filled
+     * by any number of threads with the same outcome. Since the lunch times
+     * are independent and identically distributed, assigning the degrees in
+     * contiguous blocks is equivalent to shuffling them.
+     * 
+     * @return a packed population.
+     */
+    public PackedPopulation generatePackedInParallel() {
+        long populationSize = 0L;
+        
+        for (int count : distribution.values()) {
+            populationSize += count;
+        }
+        
+        if (populationSize > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException(
+                    "The population is too large: " + populationSize);
+        }
+        
+        int[] packedPeople = new int[(int) populationSize];
+        int[] degreeEnds = new int[AcademicDegree.values().length];
+        int end = 0;
+        
+        for (AcademicDegree degree : AcademicDegree.values()) {
+            end += distribution.getOrDefault(degree, 0);
+            degreeEnds[degree.ordinal()] = end;
+        }
+        
+        int chunks = getChunkCount(packedPeople.length);
+        SplittableRandom root = new SplittableRandom(random.nextLong());
+        SplittableRandom[] chunkRandoms = new SplittableRandom[chunks];
+        
+        for (int i = 0; i < chunks; ++i) {
+            chunkRandoms[i] = root.split();
+        }
+        
+        IntStream.range(0, chunks).parallel().forEach((chunk) -> {
+            fillChunk(packedPeople, 
+                      chunk * CHUNK_SIZE,
+                      getChunkEnd(packedPeople.length, chunk),
+                      degreeEnds,
+                      chunkRandoms[chunk]);
+        });
+        
+        sortPackedPeople(packedPeople);
+        return new PackedPopulation(packedPeople);
+    }
+    
+    /**
+     * Sorts the packed people. Lunch times cluster around the mean, so the
+     * packed values usually span a narrow range; in that case the array is 
+     * rewritten from a histogram of the values in linear time.
+     * 
+     * @param packedPeople the array to sort.
+     */
+    private static void sortPackedPeople(int[] packedPeople) {
+        if (packedPeople.length == 0) {
+            return;
+        }
+        
+        int minimum = IntStream.of(packedPeople).parallel().min().getAsInt();
+        int maximum = IntStream.of(packedPeople).parallel().max().getAsInt();
+        long range = (long) maximum - minimum + 1;
+        
+        if (range > COUNTING_SORT_MAXIMUM_RANGE 
+                || range > packedPeople.length) {
+            Arrays.parallelSort(packedPeople);
+            return;
+        }
+        
+        int chunks = getChunkCount(packedPeople.length);
+        int[] histogram = 
+                IntStream.range(0, chunks).parallel().collect(
+                        () -> new int[(int) range],
+                        (counts, chunk) -> {
+                            int to = getChunkEnd(packedPeople.length, chunk);
+                            
+                            for (int i = chunk * CHUNK_SIZE; i < to; ++i) {
+                                ++counts[packedPeople[i] - minimum];
+                            }
+                        },
+                        (counts1, counts2) -> {
+                            for (int i = 0; i < counts1.length; ++i) {
+                                counts1[i] += counts2[i];
+                            }
+                        });
+        
+        int index = 0;
+        
+        for (int i = 0; i < histogram.length; ++i) {
+            int count = histogram[i];
+            Arrays.fill(packedPeople, index, index + count, minimum + i);
+            index += count;
+        }
+    }
+    
+    // The chunk arithmetic must not overflow for lengths close to 
+    // Integer.MAX_VALUE.
+    private static int getChunkCount(int length) {
+        return (int) ((length + (long) CHUNK_SIZE - 1) / CHUNK_SIZE);
+    }
+    
+    private static int getChunkEnd(int length, int chunk) {
+        int from = chunk * CHUNK_SIZE;
+        return from + Math.min(CHUNK_SIZE, length - from);
+    }
+    
+    private void fillChunk(int[] packedPeople, 
+                           int from, 
+                           int to,
+                           int[] degreeEnds,
+                           SplittableRandom chunkRandom) {
+        int degree = 0;
+        
+        while (degreeEnds[degree] <= from) {
+            ++degree;
+        }
+        
+        double secondGaussian = Double.NaN;
+        
+        for (int i = from; i < to; ++i) {
+            while (degreeEnds[degree] <= i) {
+                ++degree;
+            }
+            
+            double gaussian;
+            
+            if (Double.isNaN(secondGaussian)) {
+                // Marsaglia's polar method yields two deviates at a time.
+                double x;
+                double y;
+                double s;
+                
+                do {
+                    x = 2.0 * chunkRandom.nextDouble() - 1.0;
+                    y = 2.0 * chunkRandom.nextDouble() - 1.0;
+                    s = x * x + y * y;
+                } while (s >= 1.0 || s == 0.0);
+                
+                double multiplier = Math.sqrt(-2.0 * Math.log(s) / s);
+                gaussian = x * multiplier;
+                secondGaussian = y * multiplier;
+            } else {
+                gaussian = secondGaussian;
+                secondGaussian = Double.NaN;
+            }
+            
+            int lunchTime = (int)(meanLunchTime + 
+                                  standardDeviationOfLunchTime * gaussian);
+            
+            if (lunchTime < PackedPopulation.MINIMUM_ARRIVAL_TIME 
+                    || lunchTime > PackedPopulation.MAXIMUM_ARRIVAL_TIME) {
+                throw new IllegalStateException(
+                        "The lunch time " + lunchTime + " cannot be packed.");
+            }
+            
+            packedPeople[i] = PackedPopulation.pack(lunchTime, degree);
+        }
+    }
+    
     private int getRandomLunchTime() {
         return (int)(meanLunchTime + standardDeviationOfLunchTime * 
                                      random.nextGaussian());
     }
     
+    private static final int CHUNK_SIZE = 1 << 16;
+    private static final int COUNTING_SORT_MAXIMUM_RANGE = 1 << 22;
+    
     private static final class Configuration {
         private final Map<AcademicDegree, Integer> distribution = 
                 new HashMap<>();
@@ -0,0 +1,425 @@
+package net.coderodde.simulation.lunch;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This class caches the summaries of simulation replications. An entry is
+ * addressed by the SHA-256 hash of the simulator version, the full
+ * replication configuration and the seed, so that a change to any of them
+ * misses the cache instead of returning a stale summary. The cache has two
+ * tiers: a least recently used map in memory and a directory of summary
+ * files on disk whose total size is bounded. A disk hit is promoted to the
+ * memory tier; when the disk tier is over its bound, the least recently used
+ * files are deleted. A corrupted file is deleted and recomputed.
+ * <p>
+ * The methods are synchronized, so that a cache may be shared by threads.
+ * Several processes may share a directory, since a file is written under a
+ * temporary name and then moved in place.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public final class ReplicationCache {
+
+    /**
+     * The default number of summaries in the memory tier.
+     */
+    public static final int DEFAULT_MEMORY_CAPACITY = 1024;
+
+    /**
+     * The default bound on the total size of the disk tier in bytes.
+     */
+    public static final long DEFAULT_DISK_CAPACITY = 256L << 20;
+
+    private static final String SUFFIX = ".lqrs";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final int KEY_LENGTH = 32;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final Path directory;
+    private final long diskCapacity;
+    private final Map<String, ReplicationSummary> memoryTier;
+
+    private long diskSize;
+    private long memoryHits;
+    private long diskHits;
+    private long misses;
+
+    private ReplicationCache(Path directory,
+                             int memoryCapacity,
+                             long diskCapacity) throws IOException {
+        this.directory = directory;
+        this.diskCapacity = diskCapacity;
+        this.memoryTier = new LinkedHashMap<String, ReplicationSummary>(
+                16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(
+                    Map.Entry<String, ReplicationSummary> eldest) {
+                return size() > memoryCapacity;
+            }
+        };
+
+        Files.createDirectories(directory);
+
+        for (Path file : listFiles()) {
+            diskSize += Files.size(file);
+        }
+    }
+
+    /**
+     * Initiates the strong fluent API for opening a cache.
+     *
+     * @param  directory the directory of the disk tier.
+     * @return a capacity selector.
+     */
+    public static CapacitySelector inDirectory(Path directory) {
+        Objects.requireNonNull(directory, "The input directory is null.");
+        return new CapacitySelector(directory);
+    }
+
+    public static final class CapacitySelector {
+
+        private final Path directory;
+        private int memoryCapacity = DEFAULT_MEMORY_CAPACITY;
+        private long diskCapacity = DEFAULT_DISK_CAPACITY;
+
+        private CapacitySelector(Path directory) {
+            this.directory = directory;
+        }
+
+        /**
+         * Selects the maximum number of summaries held in memory.
+         *
+         * @param  memoryCapacity the number of summaries.
+         * @return this selector.
+         */
+        public CapacitySelector withMemoryCapacity(int memoryCapacity) {
+            if (memoryCapacity < 0) {
+                throw new IllegalArgumentException(
+                        "The memory capacity is negative: " + memoryCapacity);
+            }
+
+            this.memoryCapacity = memoryCapacity;
+            return this;
+        }
+
+        /**
+         * Selects the bound on the total size of the summary files.
+         *
+         * @param  diskCapacity the number of bytes.
+         * @return this selector.
+         */
+        public CapacitySelector withDiskCapacity(long diskCapacity) {
+            if (diskCapacity < 0L) {
+                throw new IllegalArgumentException(
+                        "The disk capacity is negative: " + diskCapacity);
+            }
+
+            this.diskCapacity = diskCapacity;
+            return this;
+        }
+
+        /**
+         * Opens the cache, creating the directory if needed.
+         *
+         * @return the cache.
+         * @throws IOException if the directory cannot be created or listed.
+         */
+        public ReplicationCache open() throws IOException {
+            return new ReplicationCache(directory,
+                                        memoryCapacity,
+                                        diskCapacity);
+        }
+    }
+
+    /**
+     * Returns the summary of the replication of the given configuration with
+     * the given seed, running the replication only if neither tier has it.
+     *
+     * @param  configuration the replication configuration.
+     * @param  seed          the seed of the replication.
+     * @return the summary of the replication.
+     */
+    public synchronized ReplicationSummary get(
+            ReplicationConfiguration configuration,
+            long seed) {
+        Objects.requireNonNull(configuration,
+                               "The input configuration is null.");
+        byte[] key = computeKey(configuration, seed);
+        String name = toHex(key);
+        ReplicationSummary summary = memoryTier.get(name);
+
+        if (summary != null) {
+            ++memoryHits;
+            return copy(summary);
+        }
+
+        try {
+            summary = readFromDisk(name, key);
+
+            if (summary != null) {
+                ++diskHits;
+            } else {
+                ++misses;
+                summary = ReplicationSummary.of(configuration.replicate(seed));
+                writeToDisk(name, key, summary);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        memoryTier.put(name, summary);
+        return copy(summary);
+    }
+
+    /**
+     * Empties the memory tier and deletes all the files of the disk tier.
+     *
+     * @throws IOException if a file cannot be deleted.
+     */
+    public synchronized void clear() throws IOException {
+        memoryTier.clear();
+
+        for (Path file : listFiles()) {
+            Files.deleteIfExists(file);
+        }
+
+        diskSize = 0L;
+    }
+
+    public synchronized long getMemoryHits() {
+        return memoryHits;
+    }
+
+    public synchronized long getDiskHits() {
+        return diskHits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getDiskSize() {
+        return diskSize;
+    }
+
+    /**
+     * Computes the SHA-256 hash of the canonical form of a replication: the
+     * simulator version, the configuration in the exact textual form of
+     * {@link ReplicationConfiguration#toArguments()} and the seed.
+     *
+     * @param  configuration the replication configuration.
+     * @param  seed          the seed.
+     * @return the hash.
+     */
+    static byte[] computeKey(ReplicationConfiguration configuration,
+                             long seed) {
+        MessageDigest digest;
+
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available.", ex);
+        }
+
+        update(digest, Simulator.VERSION);
+
+        for (String argument : configuration.toArguments()) {
+            update(digest, argument);
+        }
+
+        update(digest, Long.toString(seed));
+        return digest.digest();
+    }
+
+    private static void update(MessageDigest digest, String field) {
+        byte[] bytes = field.getBytes(StandardCharsets.UTF_8);
+        int length = bytes.length;
+
+        // Prefix the length, so that no two field lists hash the same input.
+        digest.update(new byte[] { (byte)(length >>> 24),
+                                   (byte)(length >>> 16),
+                                   (byte)(length >>> 8),
+                                   (byte) length });
+        digest.update(bytes);
+    }
+
+    private ReplicationSummary readFromDisk(String name, byte[] key)
+    throws IOException {
+        Path file = directory.resolve(name + SUFFIX);
+
+        if (!Files.exists(file)) {
+            return null;
+        }
+
+        try (InputStream in =
+                new BufferedInputStream(Files.newInputStream(file))) {
+            DataInputStream data = new DataInputStream(in);
+            byte[] storedKey = new byte[KEY_LENGTH];
+            data.readFully(storedKey);
+
+            if (!Arrays.equals(key, storedKey)) {
+                throw new IOException("The key does not match the file name.");
+            }
+
+            ReplicationSummary summary = ReplicationSummary.read(data);
+
+            if (data.read() != -1) {
+                throw new IOException("Trailing bytes after the summary.");
+            }
+
+            // Mark the file as recently used for the eviction.
+            Files.setLastModifiedTime(
+                    file,
+                    FileTime.fromMillis(System.currentTimeMillis()));
+            return summary;
+        } catch (IOException ex) {
+            // Corrupted or truncated; forget it and recompute.
+            deleteFile(file);
+            return null;
+        }
+    }
+
+    private void writeToDisk(String name,
+                             byte[] key,
+                             ReplicationSummary summary) throws IOException {
+        Path file = directory.resolve(name + SUFFIX);
+        Path temporaryFile =
+                Files.createTempFile(directory, name, TEMPORARY_SUFFIX);
+
+        try {
+            try (OutputStream out =
+                    new BufferedOutputStream(
+                            Files.newOutputStream(temporaryFile))) {
+                DataOutputStream data = new DataOutputStream(out);
+                data.write(key);
+                summary.write(data);
+                data.flush();
+            }
+
+            long size = Files.size(temporaryFile);
+            // Another process sharing the directory may have written the 
+            // file already; its size is counted once.
+            long replacedSize = getSizeIfExists(file);
+
+            try {
+                Files.move(temporaryFile,
+                           file,
+                           StandardCopyOption.ATOMIC_MOVE,
+                           StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temporaryFile,
+                           file,
+                           StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            diskSize += size - replacedSize;
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+
+        if (diskSize > diskCapacity) {
+            evict();
+        }
+    }
+
+    /**
+     * Deletes the least recently used files until the disk tier fits in its
+     * capacity.
+     */
+    private void evict() throws IOException {
+        List<Path> files = listFiles();
+        List<FileTime> times = new ArrayList<>(files.size());
+        Integer[] order = new Integer[files.size()];
+        diskSize = 0L;
+
+        for (int i = 0; i < files.size(); ++i) {
+            times.add(Files.getLastModifiedTime(files.get(i)));
+            diskSize += Files.size(files.get(i));
+            order[i] = i;
+        }
+
+        Arrays.sort(order, Comparator.comparing(times::get));
+
+        for (int i = 0; i < order.length && diskSize > diskCapacity; ++i) {
+            deleteFile(files.get(order[i]));
+        }
+    }
+
+    private static long getSizeIfExists(Path file) throws IOException {
+        try {
+            return Files.size(file);
+        } catch (NoSuchFileException ex) {
+            return 0L;
+        }
+    }
+
+    private void deleteFile(Path file) throws IOException {
+        long size;
+
+        try {
+            size = Files.size(file);
+        } catch (IOException ex) {
+            return;
+        }
+
+        if (Files.deleteIfExists(file)) {
+            diskSize -= size;
+        }
+    }
+
+    private List<Path> listFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+
+        try (DirectoryStream<Path> stream =
+                Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+
+        return files;
+    }
+
+    private static ReplicationSummary copy(ReplicationSummary summary) {
+        ReplicationSummary copy = new ReplicationSummary();
+        copy.merge(summary);
+        return copy;
+    }
+
+    private static String toHex(byte[] bytes) {
+        char[] chars = new char[2 * bytes.length];
+
+        for (int i = 0; i < bytes.length; ++i) {
+            chars[2 * i] = HEX_DIGITS[(bytes[i] >>> 4) & 0xf];
+            chars[2 * i + 1] = HEX_DIGITS[bytes[i] & 0xf];
+        }
+
+        return new String(chars);
+    }
+}
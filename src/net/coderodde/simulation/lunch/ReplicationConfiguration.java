@@ -0,0 +1,342 @@
+package net.coderodde.simulation.lunch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import static net.coderodde.simulation.lunch.Utils.checkMean;
+import static net.coderodde.simulation.lunch.Utils.checkStandardDeviation;
+
+/**
+ * This class holds all the parameters of a single simulation replication
+ * except the seed: the group sizes and the lunch time distribution of the
+ * population, and the service time distribution of the cashier. Given a
+ * seed, a replication is fully deterministic, which allows running
+ * replications in different processes.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public final class ReplicationConfiguration {
+
+    private static final AcademicDegree[] DEGREES = AcademicDegree.values();
+
+    /**
+     * The number of command line arguments describing a configuration.
+     */
+    static final int ARGUMENT_COUNT = DEGREES.length + 4;
+
+    private final int[] degreeCounts;
+    private final double meanLunchTime;
+    private final double standardDeviationOfLunchTime;
+    private final double meanServiceTime;
+    private final double standardDeviationOfServiceTime;
+
+    /**
+     * Initiates the strong fluent API for constructing a
+     * {@code ReplicationConfiguration}.
+     *
+     * @param  count the number of persons for a degree group.
+     * @return a degree selector for the group being constructed.
+     */
+    public static DegreeSelector with(int count) {
+        return new DegreeCountSelector(new Configuration()).with(count);
+    }
+
+    public static final class DegreeCountSelector {
+
+        private final Configuration configuration;
+
+        private DegreeCountSelector(Configuration configuration) {
+            this.configuration = configuration;
+        }
+
+        /**
+         * Starts selecting one more population group.
+         *
+         * @param  count the number of persons for a degree group.
+         * @return a degree selector for the group being constructed.
+         */
+        public DegreeSelector with(int count) {
+            if (count < 0) {
+                throw new IllegalArgumentException(
+                        "The people count is negative: " + count);
+            }
+
+            return new DegreeSelector(configuration, count);
+        }
+
+        /**
+         * Terminates creation of groups and selects the mean lunch time.
+         *
+         * @param  meanLunchTime the mean of lunch times.
+         * @return a lunch time standard deviation selector.
+         */
+        public LunchTimeStandardDeviationSelector
+            withMeanLunchTime(double meanLunchTime) {
+            checkMean(meanLunchTime);
+            configuration.meanLunchTime = meanLunchTime;
+            return new LunchTimeStandardDeviationSelector(configuration);
+        }
+    }
+
+    public static final class DegreeSelector {
+
+        private final Configuration configuration;
+        private final int count;
+
+        private DegreeSelector(Configuration configuration, int count) {
+            this.configuration = configuration;
+            this.count = count;
+        }
+
+        public DegreeCountSelector peopleWithDegree(AcademicDegree degree) {
+            Objects.requireNonNull(degree, "The input degree is null.");
+            configuration.degreeCounts[degree.ordinal()] = count;
+            return new DegreeCountSelector(configuration);
+        }
+    }
+
+    public static final class LunchTimeStandardDeviationSelector {
+
+        private final Configuration configuration;
+
+        private LunchTimeStandardDeviationSelector(
+                Configuration configuration) {
+            this.configuration = configuration;
+        }
+
+        public MeanServiceTimeSelector withLunchTimeStandardDeviation(
+                double lunchTimeStandardDeviation) {
+            checkStandardDeviation(lunchTimeStandardDeviation);
+            configuration.standardDeviationOfLunchTime =
+                    lunchTimeStandardDeviation;
+            return new MeanServiceTimeSelector(configuration);
+        }
+    }
+
+    public static final class MeanServiceTimeSelector {
+
+        private final Configuration configuration;
+
+        private MeanServiceTimeSelector(Configuration configuration) {
+            this.configuration = configuration;
+        }
+
+        public ServiceTimeStandardDeviationSelector
+            withMeanServiceTime(double meanServiceTime) {
+            checkMean(meanServiceTime);
+            configuration.meanServiceTime = meanServiceTime;
+            return new ServiceTimeStandardDeviationSelector(configuration);
+        }
+    }
+
+    public static final class ServiceTimeStandardDeviationSelector {
+
+        private final Configuration configuration;
+
+        private ServiceTimeStandardDeviationSelector(
+                Configuration configuration) {
+            this.configuration = configuration;
+        }
+
+        public ReplicationConfiguration withStandardDeviationOfServiceTime(
+                double standardDeviationOfServiceTime) {
+            checkStandardDeviation(standardDeviationOfServiceTime);
+            return new ReplicationConfiguration(
+                    configuration.degreeCounts.clone(),
+                    configuration.meanLunchTime,
+                    configuration.standardDeviationOfLunchTime,
+                    configuration.meanServiceTime,
+                    standardDeviationOfServiceTime);
+        }
+    }
+
+    private ReplicationConfiguration(int[] degreeCounts,
+                                     double meanLunchTime,
+                                     double standardDeviationOfLunchTime,
+                                     double meanServiceTime,
+                                     double standardDeviationOfServiceTime) {
+        this.degreeCounts = degreeCounts;
+        this.meanLunchTime = meanLunchTime;
+        this.standardDeviationOfLunchTime = standardDeviationOfLunchTime;
+        this.meanServiceTime = meanServiceTime;
+        this.standardDeviationOfServiceTime = standardDeviationOfServiceTime;
+    }
+
+    public int getPeopleCount(AcademicDegree degree) {
+        return degreeCounts[degree.ordinal()];
+    }
+
+    public double getMeanLunchTime() {
+        return meanLunchTime;
+    }
+
+    public double getLunchTimeStandardDeviation() {
+        return standardDeviationOfLunchTime;
+    }
+
+    public double getMeanServiceTime() {
+        return meanServiceTime;
+    }
+
+    public double getStandardDeviationOfServiceTime() {
+        return standardDeviationOfServiceTime;
+    }
+
+    /**
+     * Runs a single replication. Both the population and the cashier draw
+     * from one {@code Random} seeded with {@code seed}.
+     *
+     * @param  seed the seed of the replication.
+     * @return the result of the replication.
+     */
+    public SimulationResult replicate(long seed) {
+        Random random = new Random(seed);
+        Population population = generatePopulation(random);
+        return Simulator.simulate()
+                        .withPopulation(population)
+                        .withCashier(createCashier(random));
+    }
+
+    /**
+     * Generates a population of this configuration.
+     * 
+     * @param  random the random number generator to use.
+     * @return a population.
+     */
+    Population generatePopulation(Random random) {
+        RandomPopulationGenerator.DegreeCountSelector selector =
+                RandomPopulationGenerator.withRandom(random);
+
+        for (AcademicDegree degree : DEGREES) {
+            selector = selector.with(degreeCounts[degree.ordinal()])
+                               .peopleWithDegree(degree);
+        }
+
+        return selector.withMeanLunchTime(meanLunchTime)
+                       .withLunchTimeStandardDeviation(
+                               standardDeviationOfLunchTime);
+    }
+
+    /**
+     * Generates a packed population of this configuration in parallel.
+     * Unlike {@link #generatePopulation(Random)}, which is limited by the
+     * number of distinct names, the packed population has exactly the
+     * configured number of people of each degree.
+     *
+     * @param  random the random number generator to use.
+     * @return a packed population.
+     */
+    PackedPopulation generatePackedPopulation(Random random) {
+        RandomPopulationGenerator.DegreeCountSelector selector =
+                RandomPopulationGenerator.withRandom(random);
+
+        for (AcademicDegree degree : DEGREES) {
+            selector = selector.with(degreeCounts[degree.ordinal()])
+                               .peopleWithDegree(degree);
+        }
+
+        return selector.withMeanLunchTime(meanLunchTime)
+                       .inParallelWithLunchTimeStandardDeviation(
+                               standardDeviationOfLunchTime);
+    }
+
+    /**
+     * Creates a cashier of this configuration.
+     * 
+     * @param  random the random number generator of the cashier.
+     * @return a cashier.
+     */
+    Cashier createCashier(Random random) {
+        return Cashier.withRandom(random)
+                      .withMeanServiceTime(meanServiceTime)
+                      .withStandardDeviationOfServiceTime(
+                              standardDeviationOfServiceTime);
+    }
+
+    /**
+     * Converts this configuration to command line arguments. The doubles are
+     * written so that they are parsed back exactly.
+     *
+     * @return the list of arguments.
+     */
+    List<String> toArguments() {
+        List<String> arguments = new ArrayList<>(ARGUMENT_COUNT);
+
+        for (int count : degreeCounts) {
+            arguments.add(Integer.toString(count));
+        }
+
+        arguments.add(Double.toString(meanLunchTime));
+        arguments.add(Double.toString(standardDeviationOfLunchTime));
+        arguments.add(Double.toString(meanServiceTime));
+        arguments.add(Double.toString(standardDeviationOfServiceTime));
+        return arguments;
+    }
+
+    /**
+     * Parses a configuration written by {@link #toArguments()}.
+     *
+     * @param  arguments the argument array.
+     * @param  offset    the index of the first argument of the configuration.
+     * @return the configuration.
+     */
+    static ReplicationConfiguration fromArguments(String[] arguments,
+                                                  int offset) {
+        int[] degreeCounts = new int[DEGREES.length];
+
+        for (int i = 0; i < DEGREES.length; ++i) {
+            degreeCounts[i] = Integer.parseInt(arguments[offset++]);
+        }
+
+        return new ReplicationConfiguration(
+                degreeCounts,
+                Double.parseDouble(arguments[offset++]),
+                Double.parseDouble(arguments[offset++]),
+                Double.parseDouble(arguments[offset++]),
+                Double.parseDouble(arguments[offset]));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        ReplicationConfiguration other = (ReplicationConfiguration) obj;
+        return Arrays.equals(degreeCounts, other.degreeCounts)
+            && Double.compare(meanLunchTime, other.meanLunchTime) == 0
+            && Double.compare(standardDeviationOfLunchTime,
+                              other.standardDeviationOfLunchTime) == 0
+            && Double.compare(meanServiceTime, other.meanServiceTime) == 0
+            && Double.compare(standardDeviationOfServiceTime,
+                              other.standardDeviationOfServiceTime) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(Arrays.hashCode(degreeCounts),
+                            meanLunchTime,
+                            standardDeviationOfLunchTime,
+                            meanServiceTime,
+                            standardDeviationOfServiceTime);
+    }
+
+    @Override
+    public String toString() {
+        return "[counts: " + Arrays.toString(degreeCounts) +
+               ", lunch time: " + meanLunchTime + " +- " +
+               standardDeviationOfLunchTime +
+               ", service time: " + meanServiceTime + " +- " +
+               standardDeviationOfServiceTime + "]";
+    }
+
+    private static final class Configuration {
+        private final int[] degreeCounts = new int[DEGREES.length];
+        private double meanLunchTime;
+        private double standardDeviationOfLunchTime;
+        private double meanServiceTime;
+    }
+}
@@ -0,0 +1,286 @@
+package net.coderodde.simulation.lunch;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Objects;
+
+/**
+ * This class holds compact, mergeable statistics over any number of
+ * simulation replications: per academic degree wait time moments, extrema
+ * and histograms, and the cashier idle time moments. Since all the counters
+ * are integral, merging summaries in any order gives exactly the same
+ * summary as accumulating all the replications in one process.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public final class ReplicationSummary {
+
+    private static final int MAGIC = 0x4c515253; // "LQRS"
+    private static final String NL = "\n";
+    private static final String SKIP = "    ";
+
+    private final StatisticsAccumulator accumulator;
+    private long replications;
+
+    /**
+     * Creates an empty summary.
+     */
+    public ReplicationSummary() {
+        this(new StatisticsAccumulator(), 0L);
+    }
+
+    private ReplicationSummary(StatisticsAccumulator accumulator,
+                               long replications) {
+        this.accumulator = accumulator;
+        this.replications = replications;
+    }
+
+    /**
+     * Creates a summary of a single replication.
+     *
+     * @param  result the result of the replication.
+     * @return a summary.
+     */
+    public static ReplicationSummary of(SimulationResult result) {
+        Objects.requireNonNull(result, "The input result is null.");
+        StatisticsAccumulator resultAccumulator =
+                result.getStatisticsAccumulator();
+
+        return new ReplicationSummary(resultAccumulator == null ?
+                                      new StatisticsAccumulator() :
+                                      resultAccumulator.copy(),
+                                      1L);
+    }
+
+    /**
+     * Adds a replication to this summary.
+     *
+     * @param result the result of the replication.
+     */
+    public void add(SimulationResult result) {
+        merge(of(result));
+    }
+
+    /**
+     * Adds a replication given by its accumulated statistics.
+     *
+     * @param accumulator the statistics of the replication.
+     */
+    void add(StatisticsAccumulator accumulator) {
+        this.accumulator.merge(accumulator);
+        ++replications;
+    }
+
+    /**
+     * Merges another summary into this summary.
+     *
+     * @param other the summary to merge.
+     */
+    public void merge(ReplicationSummary other) {
+        Objects.requireNonNull(other, "The input summary is null.");
+        accumulator.merge(other.accumulator);
+        replications += other.replications;
+    }
+
+    public long getReplications() {
+        return replications;
+    }
+
+    public long getWaitCount(AcademicDegree degree) {
+        return accumulator.getWaitCount(degree.ordinal());
+    }
+
+    public double getMeanWaitTime(AcademicDegree degree) {
+        long count = getWaitCount(degree);
+
+        if (count == 0L) {
+            return Double.NaN;
+        }
+
+        return 1.0 * accumulator.getWaitSum(degree.ordinal()) / count;
+    }
+
+    public double getWaitTimeStandardDeviation(AcademicDegree degree) {
+        long count = getWaitCount(degree);
+
+        if (count == 0L) {
+            return Double.NaN;
+        }
+
+        double mean = getMeanWaitTime(degree);
+        double variance =
+                1.0 * accumulator.getWaitSquareSum(degree.ordinal()) / count
+                - mean * mean;
+        return Math.sqrt(Math.max(0.0, variance));
+    }
+
+    public int getMinimumWaitTime(AcademicDegree degree) {
+        return accumulator.getWaitMinimum(degree.ordinal());
+    }
+
+    public int getMaximumWaitTime(AcademicDegree degree) {
+        return accumulator.getWaitMaximum(degree.ordinal());
+    }
+
+    /**
+     * Returns the wait time histogram of the given degree. The bin {@code i}
+     * counts the wait times in
+     * <tt>[i * getHistogramBinWidth(), (i + 1) * getHistogramBinWidth())</tt>
+     * except that the first bin also counts negative wait times and the last
+     * bin counts all the longer wait times.
+     *
+     * @param  degree the academic degree.
+     * @return the histogram.
+     */
+    public long[] getWaitTimeHistogram(AcademicDegree degree) {
+        long[] histogram = new long[StatisticsAccumulator.HISTOGRAM_BINS];
+
+        for (int bin = 0; bin < histogram.length; ++bin) {
+            histogram[bin] =
+                    accumulator.getWaitHistogramCount(degree.ordinal(), bin);
+        }
+
+        return histogram;
+    }
+
+    public int getHistogramBinWidth() {
+        return StatisticsAccumulator.HISTOGRAM_BIN_WIDTH;
+    }
+
+    public double getMeanIdleTime() {
+        long count = accumulator.getIdleCount();
+
+        if (count == 0L) {
+            return Double.NaN;
+        }
+
+        return 1.0 * accumulator.getIdleSum() / count;
+    }
+
+    public double getIdleTimeStandardDeviation() {
+        long count = accumulator.getIdleCount();
+
+        if (count == 0L) {
+            return Double.NaN;
+        }
+
+        double mean = getMeanIdleTime();
+        double variance = 1.0 * accumulator.getIdleSquareSum() / count
+                        - mean * mean;
+        return Math.sqrt(Math.max(0.0, variance));
+    }
+
+    public int getMinimumIdleTime() {
+        return accumulator.getIdleMinimum();
+    }
+
+    public int getMaximumIdleTime() {
+        return accumulator.getIdleMaximum();
+    }
+
+    /**
+     * Writes this summary to the given stream. The stream is flushed but not
+     * closed.
+     *
+     * @param  outputStream the target stream.
+     * @throws IOException if the stream fails.
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        DataOutputStream out = new DataOutputStream(outputStream);
+        write(out);
+        out.flush();
+    }
+
+    /**
+     * Reads a summary written by {@link #writeTo(OutputStream)}.
+     *
+     * @param  inputStream the source stream.
+     * @return the summary.
+     * @throws IOException if the stream fails or does not contain a summary.
+     */
+    public static ReplicationSummary readFrom(InputStream inputStream)
+    throws IOException {
+        return read(new DataInputStream(inputStream));
+    }
+
+    void write(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeLong(replications);
+        accumulator.writeTo(out);
+    }
+
+    static ReplicationSummary read(DataInput in) throws IOException {
+        int magic = in.readInt();
+
+        if (magic != MAGIC) {
+            throw new IOException(
+                    "Not a replication summary. Magic: " +
+                    Integer.toHexString(magic));
+        }
+
+        long replications = in.readLong();
+        return new ReplicationSummary(StatisticsAccumulator.readFrom(in),
+                                      replications);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        ReplicationSummary other = (ReplicationSummary) obj;
+        return replications == other.replications
+            && accumulator.equals(other.accumulator);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * accumulator.hashCode() + Long.hashCode(replications);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Replications: ").append(replications).append(NL);
+
+        for (AcademicDegree degree : AcademicDegree.values()) {
+            if (getWaitCount(degree) == 0L) {
+                continue;
+            }
+
+            sb.append(degree).append(":").append(NL)
+              .append(SKIP).append("People:             ")
+              .append(getWaitCount(degree)).append(NL)
+              .append(SKIP).append("Minimum wait time:  ")
+              .append(getMinimumWaitTime(degree)).append(" seconds.")
+              .append(NL)
+              .append(SKIP).append("Average wait time:  ")
+              .append(String.format("%.2f", getMeanWaitTime(degree)))
+              .append(" seconds.").append(NL)
+              .append(SKIP).append("Maximum wait time:  ")
+              .append(getMaximumWaitTime(degree)).append(" seconds.")
+              .append(NL)
+              .append(SKIP).append("Standard deviation: ")
+              .append(String.format("%.2f",
+                                    getWaitTimeStandardDeviation(degree)))
+              .append(" seconds.").append(NL);
+        }
+
+        sb.append("Cashier:").append(NL)
+          .append(SKIP).append("Average idle time:  ")
+          .append(String.format("%.2f", getMeanIdleTime()))
+          .append(" seconds.").append(NL)
+          .append(SKIP).append("Standard deviation: ")
+          .append(String.format("%.2f", getIdleTimeStandardDeviation()))
+          .append(" seconds.");
+
+        return sb.toString();
+    }
+}
@@ -0,0 +1,46 @@
+package net.coderodde.simulation.lunch;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * This class is the entry point of a replication worker process started by
+ * {@link ShardedReplication}. The arguments are the replication configuration
+ * followed by the first seed and the number of replications. The worker
+ * writes the binary {@link ReplicationSummary} of its replications to the
+ * standard output and nothing else.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public final class ReplicationWorker {
+
+    private ReplicationWorker() {}
+
+    public static void main(String... args) throws IOException {
+        int argumentCount = ReplicationConfiguration.ARGUMENT_COUNT;
+        
+        if (args.length != argumentCount + 2) {
+            System.err.println(
+                    "Expected " + (argumentCount + 2) + 
+                    " arguments, got " + args.length + ".");
+            System.exit(1);
+        }
+
+        ReplicationConfiguration configuration =
+                ReplicationConfiguration.fromArguments(args, 0);
+
+        long firstSeed = Long.parseLong(args[argumentCount]);
+        long count = Long.parseLong(args[argumentCount + 1]);
+
+        ReplicationSummary summary =
+                ShardedReplication.runInProcess(configuration, 
+                                                firstSeed, 
+                                                count);
+
+        OutputStream out = new BufferedOutputStream(System.out);
+        summary.writeTo(out);
+        out.flush();
+    }
+}
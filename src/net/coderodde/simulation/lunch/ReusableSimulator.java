@@ -0,0 +1,121 @@
+package net.coderodde.simulation.lunch;
+
+import java.util.Objects;
+
+/**
+ * This class runs back-to-back single cashier simulations on the same set
+ * of preallocated buffers. Unlike {@link Simulator}, which builds a fresh
+ * instance with its maps, boxed idle intervals, queue and per person events
+ * for every run, a reusable simulator packs each population into a primitive
+ * array that grows to the largest population seen, and clears its primitive
+ * queue and statistics between the runs. Once the buffers have grown,
+ * simulating a packed population into a {@link ReplicationSummary}
+ * allocates nothing per person. The statistics are the same as those of
+ * {@link Simulator}.
+ * <p>
+ * An instance is not thread-safe; use one per thread.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public final class ReusableSimulator {
+
+    private final SimulationEngine engine = new SimulationEngine();
+    private int[] packedPeople = new int[0];
+
+    /**
+     * Simulates a population and returns the result. The people are packed
+     * into the buffer of this simulator, which grows if needed.
+     *
+     * @param  population the population to simulate.
+     * @param  cashier    the cashier serving the population.
+     * @return the result of the simulation.
+     */
+    public SimulationResult simulate(Population population, Cashier cashier) {
+        run(population, cashier);
+        return engine.toSimulationResult();
+    }
+
+    /**
+     * Simulates a packed population and returns the result. The population
+     * is read in place.
+     *
+     * @param  population the population to simulate.
+     * @param  cashier    the cashier serving the population.
+     * @return the result of the simulation.
+     */
+    public SimulationResult simulate(PackedPopulation population,
+                                     Cashier cashier) {
+        run(population, cashier);
+        return engine.toSimulationResult();
+    }
+
+    /**
+     * Simulates a population and adds the statistics to a summary instead of
+     * building a result.
+     *
+     * @param population the population to simulate.
+     * @param cashier    the cashier serving the population.
+     * @param summary    the summary to add the replication to.
+     */
+    public void simulate(Population population,
+                         Cashier cashier,
+                         ReplicationSummary summary) {
+        Objects.requireNonNull(summary, "The input summary is null.");
+        run(population, cashier);
+        summary.add(engine.getStatistics());
+    }
+
+    /**
+     * Simulates a packed population and adds the statistics to a summary
+     * instead of building a result.
+     *
+     * @param population the population to simulate.
+     * @param cashier    the cashier serving the population.
+     * @param summary    the summary to add the replication to.
+     */
+    public void simulate(PackedPopulation population,
+                         Cashier cashier,
+                         ReplicationSummary summary) {
+        Objects.requireNonNull(summary, "The input summary is null.");
+        run(population, cashier);
+        summary.add(engine.getStatistics());
+    }
+
+    /**
+     * Returns the number of people the buffer of this simulator holds
+     * without growing.
+     *
+     * @return the capacity.
+     */
+    public int getCapacity() {
+        return packedPeople.length;
+    }
+
+    private void run(Population population, Cashier cashier) {
+        Objects.requireNonNull(population, "The input population is null.");
+        Objects.requireNonNull(cashier, "The input cashier is null.");
+        int size = population.size();
+
+        if (packedPeople.length < size) {
+            packedPeople = new int[size];
+        }
+
+        population.packInto(packedPeople);
+        run(packedPeople, size, cashier);
+    }
+
+    private void run(PackedPopulation population, Cashier cashier) {
+        Objects.requireNonNull(population, "The input population is null.");
+        Objects.requireNonNull(cashier, "The input cashier is null.");
+        run(population.getPackedPeople(), population.size(), cashier);
+    }
+
+    private void run(int[] packedPeople, int size, Cashier cashier) {
+        engine.reset(packedPeople, size);
+
+        while (!engine.isFinished()) {
+            engine.serveNext(cashier);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package net.coderodde.simulation.lunch;
+
+/**
+ * This enumeration lists the ways arriving people choose among several 
+ * cashier lines.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public enum RoutingPolicy {
+    
+    /**
+     * There is a single line shared by all the cashiers. This is the pooled
+     * model the other policies are compared against.
+     */
+    POOLED,
+    
+    /**
+     * A person joins the line with the fewest people, including the one 
+     * being served. Ties are broken towards the lowest line index.
+     */
+    JOIN_SHORTEST_QUEUE,
+    
+    /**
+     * A person samples two lines uniformly at random and joins the shorter
+     * one.
+     */
+    POWER_OF_TWO_CHOICES,
+    
+    /**
+     * A person joins a line chosen uniformly at random.
+     */
+    RANDOM
+}
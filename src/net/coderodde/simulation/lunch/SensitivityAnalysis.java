@@ -0,0 +1,411 @@
+package net.coderodde.simulation.lunch;
+
+import java.util.Objects;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * This class estimates how much each parameter of a replication
+ * configuration drives the average wait time of each academic degree. A base
+ * configuration is given together with ranges of some of its parameters;
+ * the analysis then computes the Sobol sensitivity indices of the ranged
+ * parameters by the scheme of Saltelli: each base point draws two points
+ * {@code a} and {@code b} of the ranges, and for each parameter {@code i}
+ * the point {@code a} with its coordinate {@code i} taken from {@code b}.
+ * All of them are simulated, one replication each, in parallel; the
+ * replications of a base point share their random numbers, which takes most
+ * of the simulation noise out of their differences.
+ * <p>
+ * With the {@link ExperimentDesign#SOBOL} design, the points {@code a} and
+ * {@code b} come from a single randomly shifted Sobol sequence of twice the
+ * dimension, so the estimates reach a given accuracy with far fewer
+ * simulations than with independent or Latin hypercube points.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public final class SensitivityAnalysis {
+
+    private static final AcademicDegree[] DEGREES = AcademicDegree.values();
+
+    /**
+     * The number of base points of the first batch of
+     * {@link #estimateUntil(double, int)}; every later batch doubles the
+     * base points.
+     */
+    private static final int INITIAL_BASE_POINTS = 32;
+
+    private final ParameterSpace space;
+    private final ExperimentDesign design;
+    private final Random random;
+    private final SobolSequence sequence;
+    private final ThreadLocal<ReusableSimulator> simulators =
+            ThreadLocal.withInitial(ReusableSimulator::new);
+
+    // The outputs are accumulated relative to the first one observed, which
+    // keeps the variance sums accurate for long wait times.
+    private final double[] offsets = new double[DEGREES.length];
+    private final long[] counts = new long[DEGREES.length];
+    private final double[] sums = new double[DEGREES.length];
+    private final double[] squareSums = new double[DEGREES.length];
+    private final double[][] firstOrderSums;
+    private final double[][] totalSums;
+    private int basePoints;
+    private long simulations;
+
+    /**
+     * Initiates the strong fluent API for setting up a sensitivity analysis.
+     *
+     * @param  configuration the base configuration.
+     * @return a factor selector.
+     */
+    public static FactorSelector around(
+            ReplicationConfiguration configuration) {
+        Objects.requireNonNull(configuration,
+                               "The input configuration is null.");
+        return new FactorSelector(configuration);
+    }
+
+    public static final class FactorSelector {
+
+        private final ParameterSpace space;
+
+        private FactorSelector(ReplicationConfiguration configuration) {
+            this.space = new ParameterSpace(configuration);
+        }
+
+        public FactorSelector varyingPeopleCount(AcademicDegree degree,
+                                                 int minimum,
+                                                 int maximum) {
+            space.varyPeopleCount(degree, minimum, maximum);
+            return this;
+        }
+
+        public FactorSelector varyingMeanLunchTime(double minimum,
+                                                   double maximum) {
+            space.varyMeanLunchTime(minimum, maximum);
+            return this;
+        }
+
+        public FactorSelector varyingLunchTimeStandardDeviation(
+                double minimum,
+                double maximum) {
+            space.varyLunchTimeStandardDeviation(minimum, maximum);
+            return this;
+        }
+
+        public FactorSelector varyingMeanServiceTime(double minimum,
+                                                     double maximum) {
+            space.varyMeanServiceTime(minimum, maximum);
+            return this;
+        }
+
+        public FactorSelector varyingStandardDeviationOfServiceTime(
+                double minimum,
+                double maximum) {
+            space.varyStandardDeviationOfServiceTime(minimum, maximum);
+            return this;
+        }
+
+        /**
+         * Selects the design of the parameter points.
+         *
+         * @param  design the experiment design.
+         * @param  seed   the seed of the design and of the replications.
+         * @return the analysis, with no points simulated yet.
+         */
+        public SensitivityAnalysis withDesign(ExperimentDesign design,
+                                              long seed) {
+            Objects.requireNonNull(design, "The input design is null.");
+
+            if (space.getDimensions() == 0) {
+                throw new IllegalStateException("No parameter is varied.");
+            }
+
+            if (2 * space.getDimensions() >
+                    SobolSequence.MAXIMUM_DIMENSIONS) {
+                throw new IllegalStateException(
+                        "Too many parameters are varied: " +
+                        space.getDimensions());
+            }
+
+            return new SensitivityAnalysis(space.copy(), design, seed);
+        }
+    }
+
+    private SensitivityAnalysis(ParameterSpace space,
+                                ExperimentDesign design,
+                                long seed) {
+        this.space = space;
+        this.design = design;
+        this.random = new Random(seed);
+        this.sequence = design == ExperimentDesign.SOBOL ?
+                        new SobolSequence(2 * space.getDimensions(),
+                                          random) :
+                        null;
+        this.firstOrderSums = new double[DEGREES.length]
+                                        [space.getDimensions()];
+        this.totalSums = new double[DEGREES.length][space.getDimensions()];
+    }
+
+    /**
+     * Simulates the given number of additional base points, each of which
+     * takes two replications more than there are varying parameters, and
+     * returns the indices estimated from all the base points so far.
+     *
+     * @param  basePoints the number of base points to add.
+     * @return the estimated indices.
+     */
+    public SensitivityIndices estimate(int basePoints) {
+        if (basePoints < 1) {
+            throw new IllegalArgumentException(
+                    "The number of base points is not positive: " +
+                    basePoints);
+        }
+
+        simulate(basePoints);
+        return getIndices(false);
+    }
+
+    /**
+     * Adds base points in batches, each doubling the base points so far,
+     * until no index changes by more than {@code tolerance} over a batch or
+     * until the analysis has {@code maximumBasePoints} base points.
+     *
+     * @param  tolerance         the largest change of an index at
+     *                           convergence.
+     * @param  maximumBasePoints the maximum number of base points.
+     * @return the estimated indices.
+     */
+    public SensitivityIndices estimateUntil(double tolerance,
+                                            int maximumBasePoints) {
+        if (Double.isNaN(tolerance) || tolerance < 0.0) {
+            throw new IllegalArgumentException(
+                    "The tolerance is not a non-negative number: " +
+                    tolerance);
+        }
+
+        if (maximumBasePoints < 1) {
+            throw new IllegalArgumentException(
+                    "The maximum number of base points is not positive: " +
+                    maximumBasePoints);
+        }
+
+        SensitivityIndices previous =
+                basePoints == 0 ? null : getIndices(false);
+
+        while (basePoints < maximumBasePoints) {
+            int batch = basePoints == 0 ? INITIAL_BASE_POINTS : basePoints;
+            simulate(Math.min(batch, maximumBasePoints - basePoints));
+            SensitivityIndices current = getIndices(false);
+
+            if (previous != null &&
+                    getLargestChange(previous, current) <= tolerance) {
+                return getIndices(true);
+            }
+
+            previous = current;
+        }
+
+        return getIndices(false);
+    }
+
+    public ExperimentDesign getDesign() {
+        return design;
+    }
+
+    public int getBasePointCount() {
+        return basePoints;
+    }
+
+    public long getSimulationCount() {
+        return simulations;
+    }
+
+    private void simulate(int count) {
+        int dimensions = space.getDimensions();
+        int columns = dimensions + 2;
+        double[][] a = new double[count][];
+        double[][] b = new double[count][];
+        long[] seeds = new long[count];
+        double[][] sample =
+                sequence == null ?
+                LatinHypercube.create(count, 2 * dimensions, random) :
+                null;
+        double[] point = new double[2 * dimensions];
+
+        for (int row = 0; row < count; ++row) {
+            if (sequence == null) {
+                point = sample[row];
+            } else {
+                sequence.next(point);
+            }
+
+            a[row] = new double[dimensions];
+            b[row] = new double[dimensions];
+            System.arraycopy(point, 0, a[row], 0, dimensions);
+            System.arraycopy(point, dimensions, b[row], 0, dimensions);
+            space.round(a[row]);
+            space.round(b[row]);
+            seeds[row] = random.nextLong();
+        }
+
+        double[][][] outputs = new double[count][columns][];
+
+        IntStream.range(0, count * columns).parallel().forEach((k) -> {
+            int row = k / columns;
+            int column = k % columns;
+            double[] input;
+
+            if (column == 0) {
+                input = a[row];
+            } else if (column == 1) {
+                input = b[row];
+            } else {
+                input = a[row].clone();
+                input[column - 2] = b[row][column - 2];
+            }
+
+            outputs[row][column] = evaluate(input, seeds[row]);
+        });
+
+        for (int row = 0; row < count; ++row) {
+            accumulate(outputs[row]);
+        }
+
+        basePoints += count;
+        simulations += (long) count * columns;
+    }
+
+    /**
+     * Simulates one replication of a point and returns the average wait
+     * time of each degree.
+     */
+    private double[] evaluate(double[] point, long seed) {
+        ReplicationConfiguration configuration = space.toConfiguration(point);
+        Random replicationRandom = new Random(seed);
+        ReplicationSummary summary = new ReplicationSummary();
+        simulators.get().simulate(
+                configuration.generatePackedPopulation(replicationRandom),
+                configuration.createCashier(replicationRandom),
+                summary);
+        double[] result = new double[DEGREES.length];
+
+        for (AcademicDegree degree : DEGREES) {
+            result[degree.ordinal()] = summary.getMeanWaitTime(degree);
+        }
+
+        return result;
+    }
+
+    /**
+     * Adds the outputs of a base point to the sums of the estimators: the
+     * first order one of Saltelli et al. (2010) and the total one of Jansen.
+     * A degree nobody of which was served at one of the points is skipped.
+     */
+    private void accumulate(double[][] outputs) {
+        for (int degree = 0; degree < DEGREES.length; ++degree) {
+            boolean observed = true;
+
+            for (double[] output : outputs) {
+                observed &= !Double.isNaN(output[degree]);
+            }
+
+            if (!observed) {
+                continue;
+            }
+
+            if (counts[degree] == 0L) {
+                offsets[degree] = outputs[0][degree];
+            }
+
+            double fa = outputs[0][degree] - offsets[degree];
+            double fb = outputs[1][degree] - offsets[degree];
+            ++counts[degree];
+            sums[degree] += fa + fb;
+            squareSums[degree] += fa * fa + fb * fb;
+
+            for (int i = 0; i < firstOrderSums[degree].length; ++i) {
+                double fab = outputs[i + 2][degree] - offsets[degree];
+                firstOrderSums[degree][i] += fb * (fab - fa);
+                totalSums[degree][i] += (fa - fab) * (fa - fab);
+            }
+        }
+    }
+
+    private SensitivityIndices getIndices(boolean converged) {
+        int dimensions = space.getDimensions();
+        String[] factorNames = new String[dimensions];
+        double[][] firstOrderIndices = new double[DEGREES.length][dimensions];
+        double[][] totalIndices = new double[DEGREES.length][dimensions];
+
+        for (int i = 0; i < dimensions; ++i) {
+            factorNames[i] =
+                    ParameterSpace.getParameterName(space.getParameter(i));
+        }
+
+        for (int degree = 0; degree < DEGREES.length; ++degree) {
+            long n = counts[degree];
+            double mean = sums[degree] / (2 * n);
+            double variance = squareSums[degree] / (2 * n) - mean * mean;
+
+            for (int i = 0; i < dimensions; ++i) {
+                if (n < 2 || !(variance > 0.0)) {
+                    firstOrderIndices[degree][i] = Double.NaN;
+                    totalIndices[degree][i] = Double.NaN;
+                    continue;
+                }
+
+                firstOrderIndices[degree][i] =
+                        firstOrderSums[degree][i] / n / variance;
+                totalIndices[degree][i] =
+                        totalSums[degree][i] / (2 * n) / variance;
+            }
+        }
+
+        return new SensitivityIndices(factorNames,
+                                      firstOrderIndices,
+                                      totalIndices,
+                                      basePoints,
+                                      simulations,
+                                      converged);
+    }
+
+    /**
+     * Returns the largest change of an index between two estimates. An index
+     * that is {@code NaN} in both, as for a degree nobody has or whose
+     * average wait time does not vary, is skipped; one that is {@code NaN} in
+     * only one of them has not settled, and the change is infinite.
+     */
+    private static double getLargestChange(SensitivityIndices previous,
+                                           SensitivityIndices current) {
+        double change = 0.0;
+
+        for (AcademicDegree degree : DEGREES) {
+            for (int i = 0; i < current.getFactorCount(); ++i) {
+                change = Math.max(
+                        change,
+                        getChange(previous.getFirstOrderIndex(degree, i),
+                                  current.getFirstOrderIndex(degree, i)));
+                change = Math.max(
+                        change,
+                        getChange(previous.getTotalIndex(degree, i),
+                                  current.getTotalIndex(degree, i)));
+            }
+        }
+
+        return change;
+    }
+
+    private static double getChange(double previous, double current) {
+        if (Double.isNaN(previous) && Double.isNaN(current)) {
+            return 0.0;
+        }
+
+        if (Double.isNaN(previous) || Double.isNaN(current)) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        return Math.abs(current - previous);
+    }
+}
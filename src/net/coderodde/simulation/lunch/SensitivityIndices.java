@@ -0,0 +1,115 @@
+package net.coderodde.simulation.lunch;
+
+/**
+ * This class holds the Sobol sensitivity indices estimated by
+ * {@link SensitivityAnalysis}. For each academic degree and each varying
+ * parameter, called a factor here, the first order index is the share of the
+ * variance of the average wait time of the degree that the factor explains
+ * on its own, and the total index is the share that disappears once the
+ * factor is fixed, its interactions with the other factors included.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public final class SensitivityIndices {
+
+    private static final String NL = "\n";
+    private static final String SKIP = "    ";
+
+    private final String[] factorNames;
+    private final double[][] firstOrderIndices;
+    private final double[][] totalIndices;
+    private final int basePoints;
+    private final long simulations;
+    private final boolean converged;
+
+    SensitivityIndices(String[] factorNames,
+                       double[][] firstOrderIndices,
+                       double[][] totalIndices,
+                       int basePoints,
+                       long simulations,
+                       boolean converged) {
+        this.factorNames = factorNames;
+        this.firstOrderIndices = firstOrderIndices;
+        this.totalIndices = totalIndices;
+        this.basePoints = basePoints;
+        this.simulations = simulations;
+        this.converged = converged;
+    }
+
+    public int getFactorCount() {
+        return factorNames.length;
+    }
+
+    public String getFactorName(int factor) {
+        return factorNames[factor];
+    }
+
+    /**
+     * Returns the first order index of a factor, or {@code NaN} if the
+     * average wait time of the degree did not vary.
+     *
+     * @param  degree the academic degree.
+     * @param  factor the index of the factor.
+     * @return the first order index.
+     */
+    public double getFirstOrderIndex(AcademicDegree degree, int factor) {
+        return firstOrderIndices[degree.ordinal()][factor];
+    }
+
+    /**
+     * Returns the total index of a factor, or {@code NaN} if the average
+     * wait time of the degree did not vary.
+     *
+     * @param  degree the academic degree.
+     * @param  factor the index of the factor.
+     * @return the total index.
+     */
+    public double getTotalIndex(AcademicDegree degree, int factor) {
+        return totalIndices[degree.ordinal()][factor];
+    }
+
+    public int getBasePointCount() {
+        return basePoints;
+    }
+
+    /**
+     * Returns the number of replications simulated for the estimates.
+     *
+     * @return the number of simulations.
+     */
+    public long getSimulationCount() {
+        return simulations;
+    }
+
+    /**
+     * Tells whether the indices met the tolerance asked for.
+     *
+     * @return {@code true} if the estimates converged.
+     */
+    public boolean isConverged() {
+        return converged;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+
+        for (AcademicDegree degree : AcademicDegree.values()) {
+            sb.append(degree).append(":").append(NL);
+
+            for (int factor = 0; factor < factorNames.length; ++factor) {
+                sb.append(SKIP).append(factorNames[factor]).append(": ")
+                  .append(String.format("first order %.3f, total %.3f",
+                                        getFirstOrderIndex(degree, factor),
+                                        getTotalIndex(degree, factor)))
+                  .append(NL);
+            }
+        }
+
+        return sb.append("Base points: ").append(basePoints)
+                 .append(", simulations: ").append(simulations)
+                 .append(converged ? ", converged." : ", not converged.")
+                 .toString();
+    }
+}
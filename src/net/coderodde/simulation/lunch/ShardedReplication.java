@@ -0,0 +1,185 @@
+package net.coderodde.simulation.lunch;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class runs a set of simulation replications, either in the current
+ * process or split over a number of local worker JVM processes. Each
+ * replication is identified by its seed; the seeds
+ * <tt>firstSeed, firstSeed + 1, ..., firstSeed + count - 1</tt> are split into
+ * contiguous ranges, one per worker. Each worker sends back a
+ * {@link ReplicationSummary} over its standard output, and the summaries are
+ * merged into a summary identical to the one of a single-process run.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public final class ShardedReplication {
+
+    private ShardedReplication() {}
+
+    /**
+     * Initiates the strong fluent API for running replications.
+     *
+     * @param  configuration the configuration of every replication.
+     * @return a seed selector.
+     */
+    public static SeedSelector of(ReplicationConfiguration configuration) {
+        Objects.requireNonNull(configuration,
+                               "The input configuration is null.");
+        return new SeedSelector(configuration);
+    }
+
+    public static final class SeedSelector {
+
+        private final ReplicationConfiguration configuration;
+
+        private SeedSelector(ReplicationConfiguration configuration) {
+            this.configuration = configuration;
+        }
+
+        /**
+         * Selects the seeds of the replications.
+         *
+         * @param  firstSeed the seed of the first replication.
+         * @param  count     the number of replications.
+         * @return a worker selector.
+         */
+        public WorkerSelector withSeeds(long firstSeed, long count) {
+            if (count < 0L) {
+                throw new IllegalArgumentException(
+                        "The replication count is negative: " + count);
+            }
+
+            return new WorkerSelector(configuration, firstSeed, count);
+        }
+    }
+
+    public static final class WorkerSelector {
+
+        private final ReplicationConfiguration configuration;
+        private final long firstSeed;
+        private final long count;
+
+        private WorkerSelector(ReplicationConfiguration configuration,
+                               long firstSeed,
+                               long count) {
+            this.configuration = configuration;
+            this.firstSeed = firstSeed;
+            this.count = count;
+        }
+
+        /**
+         * Runs all the replications in the current process.
+         *
+         * @return the summary of the replications.
+         */
+        public ReplicationSummary inProcess() {
+            return runInProcess(configuration, firstSeed, count);
+        }
+
+        /**
+         * Runs the replications in {@code workers} worker processes and
+         * merges their summaries.
+         *
+         * @param  workers the number of worker processes.
+         * @return the summary of the replications.
+         * @throws IOException if a worker could not be started or failed.
+         * @throws InterruptedException if interrupted while waiting for the
+         *                              workers.
+         */
+        public ReplicationSummary withWorkers(int workers)
+        throws IOException, InterruptedException {
+            if (workers < 1) {
+                throw new IllegalArgumentException(
+                        "The number of workers is not positive: " + workers);
+            }
+
+            return runInWorkers(configuration, firstSeed, count, workers);
+        }
+    }
+
+    static ReplicationSummary runInProcess(
+            ReplicationConfiguration configuration,
+            long firstSeed,
+            long count) {
+        ReplicationSummary summary = new ReplicationSummary();
+
+        for (long i = 0L; i < count; ++i) {
+            summary.add(configuration.replicate(firstSeed + i));
+        }
+
+        return summary;
+    }
+
+    private static ReplicationSummary runInWorkers(
+            ReplicationConfiguration configuration,
+            long firstSeed,
+            long count,
+            int workers) throws IOException, InterruptedException {
+        List<Process> processes = new ArrayList<>(workers);
+        long seed = firstSeed;
+
+        try {
+            for (int i = 0; i < workers; ++i) {
+                // The first 'count % workers' workers get one extra seed.
+                long shardSize = count / workers + 
+                                 (i < count % workers ? 1 : 0);
+
+                if (shardSize == 0L) {
+                    break;
+                }
+
+                processes.add(startWorker(configuration, seed, shardSize));
+                seed += shardSize;
+            }
+
+            ReplicationSummary summary = new ReplicationSummary();
+
+            for (Process process : processes) {
+                try (InputStream in =
+                        new BufferedInputStream(process.getInputStream())) {
+                    summary.merge(ReplicationSummary.readFrom(in));
+                }
+
+                int status = process.waitFor();
+
+                if (status != 0) {
+                    throw new IOException(
+                            "A replication worker exited with status " +
+                            status + ".");
+                }
+            }
+
+            return summary;
+        } finally {
+            for (Process process : processes) {
+                process.destroy();
+            }
+        }
+    }
+
+    private static Process startWorker(ReplicationConfiguration configuration,
+                                       long firstSeed,
+                                       long count) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator +
+                    "bin" + File.separator + "java");
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(ReplicationWorker.class.getName());
+        command.addAll(configuration.toArguments());
+        command.add(Long.toString(firstSeed));
+        command.add(Long.toString(count));
+
+        return new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+    }
+}
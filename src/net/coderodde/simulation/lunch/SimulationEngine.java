@@ -0,0 +1,202 @@
+package net.coderodde.simulation.lunch;
+
+/**
+ * This class implements the single cashier simulation over a packed 
+ * population as an explicit state machine, one served person at a time. 
+ * Between two services the complete state is the clock, the position in the
+ * input, the queue contents and the accumulated statistics, which makes it 
+ * cheap to capture and restore. The served order and the statistics are the
+ * same as those of {@link Simulator}. The statistics are gathered through a
+ * {@link StatisticsBuffer} and flushed whenever they are read or captured.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+final class SimulationEngine {
+    
+    private final PrimitivePrioritizedQueue queue = 
+            new PrimitivePrioritizedQueue();
+    private final StatisticsAccumulator accumulator = 
+            new StatisticsAccumulator();
+    private final StatisticsBuffer buffer = new StatisticsBuffer(accumulator);
+    
+    private int[] packedPeople = new int[0];
+    private int size;
+    private int nextIndex;
+    private int clock;
+    
+    /**
+     * Prepares this engine for a new simulation over the first {@code size}
+     * packed people of the array. The array is not copied.
+     * 
+     * @param packedPeople the sorted packed people.
+     * @param size         the number of people.
+     */
+    void reset(int[] packedPeople, int size) {
+        this.packedPeople = packedPeople;
+        this.size = size;
+        this.nextIndex = 0;
+        this.clock = size == 0 ? 
+                     0 : 
+                     PackedPopulation.unpackArrivalTime(packedPeople[0]);
+        queue.clear();
+        buffer.clear();
+        accumulator.clear();
+    }
+    
+    boolean isFinished() {
+        return queue.isEmpty() && nextIndex == size;
+    }
+    
+    int getClock() {
+        return clock;
+    }
+    
+    /**
+     * Returns the time at which the next person will be admitted to the 
+     * cashier.
+     * 
+     * @return the next admission time.
+     */
+    int getNextAdmissionTime() {
+        if (!queue.isEmpty()) {
+            return clock;
+        }
+        
+        return Math.max(clock, 
+                        PackedPopulation.unpackArrivalTime(
+                                packedPeople[nextIndex]));
+    }
+    
+    /**
+     * Admits the next person to the cashier and serves the person.
+     * 
+     * @param cashier the cashier serving the person.
+     */
+    void serveNext(Cashier cashier) {
+        loadArrivals();
+        int idleTime = 0;
+        
+        if (queue.isEmpty()) {
+            int arrivalTime = 
+                    PackedPopulation.unpackArrivalTime(packedPeople[nextIndex]);
+            idleTime = arrivalTime - clock;
+            clock = arrivalTime;
+            loadArrivals();
+        }
+        
+        buffer.addIdleTime(idleTime);
+        
+        // Admit an earliest + highest priority person to the cashier.
+        int degree = queue.pop();
+        
+        // Serving...
+        clock += cashier.getServiceTime();
+        buffer.addWaitTime(degree, clock - queue.getLastArrivalTime());
+        // Served!
+    }
+    
+    SimulationResult toSimulationResult() {
+        buffer.flush();
+        return accumulator.toSimulationResult();
+    }
+    
+    StatisticsAccumulator getStatistics() {
+        buffer.flush();
+        return accumulator;
+    }
+    
+    /**
+     * Captures the state of this engine together with the state of the 
+     * random number generator of the cashier.
+     * 
+     * @param  cashierRandom the random number generator of the cashier.
+     * @return the snapshot.
+     */
+    Snapshot takeSnapshot(CopyableRandom cashierRandom) {
+        buffer.flush();
+        return new Snapshot(getNextAdmissionTime(),
+                            clock, 
+                            nextIndex,
+                            queue.copy(),
+                            accumulator.copy(),
+                            cashierRandom.copy());
+    }
+    
+    /**
+     * Restores the state captured in a snapshot taken over the same input.
+     * 
+     * @param snapshot the snapshot to restore.
+     */
+    void restore(Snapshot snapshot) {
+        clock = snapshot.clock;
+        nextIndex = snapshot.nextIndex;
+        queue.copyFrom(snapshot.queue);
+        buffer.clear();
+        accumulator.clear();
+        accumulator.merge(snapshot.accumulator);
+    }
+    
+    private void loadArrivals() {
+        while (nextIndex < size) {
+            int packedPerson = packedPeople[nextIndex];
+            int arrivalTime = PackedPopulation.unpackArrivalTime(packedPerson);
+            
+            if (arrivalTime > clock) {
+                return;
+            }
+            
+            queue.push(PackedPopulation.unpackDegree(packedPerson),
+                       arrivalTime, 
+                       nextIndex);
+            ++nextIndex;
+        }
+    }
+    
+    /**
+     * The state of an engine between two services.
+     */
+    static final class Snapshot {
+        
+        private final int admissionTime;
+        private final int clock;
+        private final int nextIndex;
+        private final PrimitivePrioritizedQueue queue;
+        private final StatisticsAccumulator accumulator;
+        private final CopyableRandom cashierRandom;
+        
+        private Snapshot(int admissionTime,
+                         int clock,
+                         int nextIndex,
+                         PrimitivePrioritizedQueue queue,
+                         StatisticsAccumulator accumulator,
+                         CopyableRandom cashierRandom) {
+            this.admissionTime = admissionTime;
+            this.clock = clock;
+            this.nextIndex = nextIndex;
+            this.queue = queue;
+            this.accumulator = accumulator;
+            this.cashierRandom = cashierRandom;
+        }
+        
+        /**
+         * Returns the time at which the first person after this snapshot is
+         * admitted to the cashier.
+         * 
+         * @return the admission time.
+         */
+        int getAdmissionTime() {
+            return admissionTime;
+        }
+        
+        /**
+         * Returns a fresh copy of the random number generator of the cashier
+         * as it was at the snapshot.
+         * 
+         * @return a random number generator.
+         */
+        CopyableRandom copyCashierRandom() {
+            return cashierRandom.copy();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package net.coderodde.simulation.lunch;
+
+/**
+ * This interface describes an observer of the events of a
+ * {@link SteppingSimulator}. The events carry plain fields only, so that
+ * no objects are allocated per event. All the methods do nothing by default,
+ * so that an observer overrides only the events it is interested in.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public interface SimulationListener {
+
+    /**
+     * Receives the arrival of a person to the queue.
+     *
+     * @param id     the identity of the person.
+     * @param degree the academic degree of the person.
+     * @param time   the arrival time.
+     */
+    default void onArrival(long id, AcademicDegree degree, int time) {}
+
+    /**
+     * Receives the admission of a person to the cashier.
+     *
+     * @param id          the identity of the person.
+     * @param degree      the academic degree of the person.
+     * @param arrivalTime the arrival time of the person.
+     * @param time        the time the service starts.
+     */
+    default void onServiceStart(long id,
+                                AcademicDegree degree,
+                                int arrivalTime,
+                                int time) {}
+
+    /**
+     * Receives the departure of a served person.
+     *
+     * @param id          the identity of the person.
+     * @param degree      the academic degree of the person.
+     * @param arrivalTime the arrival time of the person.
+     * @param time        the departure time.
+     */
+    default void onDeparture(long id,
+                             AcademicDegree degree,
+                             int arrivalTime,
+                             int time) {}
+}
@@ -0,0 +1,31 @@
+package net.coderodde.simulation.lunch;
+
+/**
+ * This enumeration lists the phases of a simulation measured by the 
+ * self-profiling of {@link Simulator}.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public enum SimulationPhase {
+    
+    /**
+     * Converting the population to a sorted queue of arrival events.
+     */
+    TO_EVENT_QUEUE,
+    
+    /**
+     * Indexing the arrival events.
+     */
+    PREPROCESS,
+    
+    /**
+     * Serving the people.
+     */
+    MAIN_LOOP,
+    
+    /**
+     * Computing the statistics of the result.
+     */
+    POSTPROCESS
+}
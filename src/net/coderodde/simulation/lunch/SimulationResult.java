@@ -25,6 +25,15 @@ public final class SimulationResult {
     private final Map<AcademicDegree, Integer> waitMinMap = new HashMap<>();
     private final Map<AcademicDegree, Integer> waitMaxMap = new HashMap<>();
     
+    private final Map<AcademicDegree, Integer> arrivalCountMap = 
+            new HashMap<>();
+    private final Map<AcademicDegree, Integer> balkingCountMap = 
+            new HashMap<>();
+    private final Map<AcademicDegree, Integer> renegingCountMap = 
+            new HashMap<>();
+    private final Map<AcademicDegree, Double> waitDerivativeMap = 
+            new HashMap<>();
+    
     private final Map<Person, LunchQueueEvent> arrivalEventMap;
     private final Map<Person, LunchQueueEvent> servedEventMap;
     
@@ -33,6 +42,9 @@ public final class SimulationResult {
     private int cashierMaximumIdleTime = NO_DATA;
     private int cashierStandardDeviation = NO_DATA;
     
+    private StatisticsAccumulator statisticsAccumulator;
+    private PhaseProfile phaseProfile;
+    
     public int getMinimumWaitTime(AcademicDegree degree) {
         return waitMinMap.getOrDefault(degree, NO_DATA);
     }
@@ -49,6 +61,65 @@ public final class SimulationResult {
         return waitStandardDeviationMap.getOrDefault(degree, NO_DATA);
     }
     
+    /**
+     * Returns the number of people of the given degree that balked, that is,
+     * left on arrival because the queue was too long.
+     * 
+     * @param  degree the academic degree.
+     * @return the number of balking people or -1 if the simulation did not
+     *         model abandonment.
+     */
+    public int getBalkingCount(AcademicDegree degree) {
+        return balkingCountMap.getOrDefault(degree, NO_DATA);
+    }
+    
+    /**
+     * Returns the number of people of the given degree that reneged, that is,
+     * left the queue after running out of patience.
+     * 
+     * @param  degree the academic degree.
+     * @return the number of reneging people or -1 if the simulation did not
+     *         model abandonment.
+     */
+    public int getRenegingCount(AcademicDegree degree) {
+        return renegingCountMap.getOrDefault(degree, NO_DATA);
+    }
+    
+    /**
+     * Returns the fraction of the people of the given degree that balked or
+     * reneged.
+     * 
+     * @param  degree the academic degree.
+     * @return the abandonment rate or -1.0 if the simulation did not model
+     *         abandonment.
+     */
+    public double getAbandonmentRate(AcademicDegree degree) {
+        Integer arrivals = arrivalCountMap.get(degree);
+        
+        if (arrivals == null) {
+            return NO_DATA;
+        }
+        
+        return 1.0 * (balkingCountMap.get(degree) + 
+                      renegingCountMap.get(degree)) / arrivals;
+    }
+    
+    /**
+     * Returns the derivative of the mean wait time of the given degree with 
+     * respect to the mean service time of the cashier, estimated along the 
+     * simulated sample path. It tells how many seconds the average wait 
+     * grows per second of extra service time. Returns {@code NaN} unless 
+     * the simulation was run 
+     * {@link Simulator.CashierSelector#withServiceTimeDerivatives()} and 
+     * served people with the given degree.
+     * 
+     * @param  degree the academic degree.
+     * @return the derivative of the mean wait time.
+     */
+    public double getMeanWaitTimeDerivative(AcademicDegree degree) {
+        return waitDerivativeMap.getOrDefault(degree, Double.NaN);
+    }
+    
     public int getCashierMinimumIdleTime() {
         return cashierMinimumIdleTime;
     }
@@ -65,12 +136,34 @@ public final class SimulationResult {
         return cashierStandardDeviation;
     }
     
+    /**
+     * Returns the per phase wall times and allocations of the simulation, or
+     * {@code null} if the simulation was not profiled.
+     * 
+     * @return the phase profile or {@code null}.
+     */
+    public PhaseProfile getPhaseProfile() {
+        return phaseProfile;
+    }
+    
     SimulationResult(Map<Person, LunchQueueEvent> arrivalEventMap,
                      Map<Person, LunchQueueEvent> servedEventMap) {
         this.arrivalEventMap = arrivalEventMap;
         this.servedEventMap = servedEventMap;
     }
     
+    StatisticsAccumulator getStatisticsAccumulator() {
+        return statisticsAccumulator;
+    }
+    
+    void setStatisticsAccumulator(StatisticsAccumulator accumulator) {
+        this.statisticsAccumulator = accumulator;
+    }
+    
+    void setPhaseProfile(PhaseProfile phaseProfile) {
+        this.phaseProfile = phaseProfile;
+    }
+    
     void putWaitMinimumTime(AcademicDegree degree, int minimumWaitTime) {
         waitMinMap.put(degree, minimumWaitTime);
     }
@@ -88,6 +181,19 @@ public final class SimulationResult {
         waitStandardDeviationMap.put(degree, timeStandardDeviation);
     }
     
+    void putAbandonmentCounts(AcademicDegree degree,
+                              int arrivalCount,
+                              int balkingCount,
+                              int renegingCount) {
+        arrivalCountMap.put(degree, arrivalCount);
+        balkingCountMap.put(degree, balkingCount);
+        renegingCountMap.put(degree, renegingCount);
+    }
+    
+    void putMeanWaitTimeDerivative(AcademicDegree degree, double derivative) {
+        waitDerivativeMap.put(degree, derivative);
+    }
+    
     void putCashierMinimumIdleTime(int cashierMinimumIdleTime) {
         this.cashierMinimumIdleTime = cashierMinimumIdleTime;
     }
@@ -157,6 +263,10 @@ public final class SimulationResult {
           .append(getCashierStandardDeviation())
           .append(" seconds.");
         
+        if (phaseProfile != null) {
+            sb.append(NL).append(phaseProfile);
+        }
+        
         return sb.toString();
     }
     
@@ -186,5 +296,35 @@ public final class SimulationResult {
           .append(getWaitStandardDeviation(degree))
           .append(" seconds.")
           .append(NL);
+        
+        if (waitDerivativeMap.containsKey(degree)) {
+            sb.append(SKIP)
+              .append("d(wait)/d(service): ")
+              .append(String.format("%.2f", 
+                                    getMeanWaitTimeDerivative(degree)))
+              .append(NL);
+        }
+        
+        if (!arrivalCountMap.containsKey(degree)) {
+            return;
+        }
+        
+        sb.append(SKIP)
+          .append("Balked:             ")
+          .append(getBalkingCount(degree))
+          .append(" people.")
+          .append(NL);
+        
+        sb.append(SKIP)
+          .append("Reneged:            ")
+          .append(getRenegingCount(degree))
+          .append(" people.")
+          .append(NL);
+        
+        sb.append(SKIP)
+          .append("Abandonment rate:   ")
+          .append(String.format("%.2f", 100.0 * getAbandonmentRate(degree)))
+          .append(" %.")
+          .append(NL);
     }
 }
@@ -1,41 +1,54 @@
 package net.coderodde.simulation.lunch;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.Random;
 
 /**
  * This class runs the lunch queue simulation.
+ * <p>
+ * Since 1.6 (Oct 19, 2026), the statistics of a population are reduced by
+ * {@link StatisticsAccumulator} in 64-bit arithmetic, and the printed
+ * results differ from those of earlier versions in two cases. The sums of
+ * the squared wait time deviations of large populations no longer overflow,
+ * so a standard deviation printed as a wrapped value, such as 0, is now the
+ * correct one. The standard deviation of the cashier idle time is computed
+ * from the exact sum of squares instead of one truncated to an integer at
+ * each step, which changes it by one second for some populations. All the
+ * other statistics are unchanged.
  * 
  * @author Rodion "rodde" Efremov
- * @version 1.6 (Dec 2, 2015)
+ * @version 1.6 (Oct 19, 2026)
  */
 public final class Simulator {
 
+    /**
+     * The version of the simulation logic. Bump whenever a change alters 
+     * the result of any simulation, so that the cached results of the 
+     * previous version are no longer used.
+     */
+    static final String VERSION = "1.6 (Oct 19, 2026)";
+    
     //// Internals.
     private final Map<Person, LunchQueueEvent> arrivalEventMap = 
             new HashMap<>();
     private final Map<Person, LunchQueueEvent> servedEventMap = 
             new HashMap<>();
-    private final Map<AcademicDegree, Integer> groupCounts = new HashMap<>();
-    
-    private final Map<AcademicDegree, Integer> mapMinimumWaitTime = 
-            new HashMap<>();
-    private final Map<AcademicDegree, Integer> mapMaximumWaitTime = 
-            new HashMap<>();
-    private final Map<AcademicDegree, Integer> mapAverageWaitTime = 
-            new HashMap<>();
-    private final Map<AcademicDegree, Integer> mapWaitTimeSum     = 
-            new HashMap<>();
-    private final Map<AcademicDegree, Integer> mapWaitTimeDeviation = 
-            new HashMap<>();
     
     private final List<Integer> cashierIdleIntervals = new ArrayList<>();
+    private final PhaseProfiler profiler;
     private Population population;
     
+    private Simulator(PhaseProfiler profiler) {
+        this.profiler = profiler;
+    }
+    
     public static PopulationSelector simulate() {
         
         return new PopulationSelector();
@@ -45,33 +58,470 @@ public final class Simulator {
         
         public CashierSelector withPopulation(Population population) {
             Objects.requireNonNull(population, "The input population is null.");
-            return new CashierSelector(population);
+            return new CashierSelector(population, 
+                                       null, 
+                                       null, 
+                                       false,
+                                       EventListType.BINARY_HEAP,
+                                       false);
+        }
+        
+        /**
+         * Selects a stream of arrivals sorted by arrival time. The result of
+         * a simulation over a stream contains the aggregate statistics only,
+         * since the individual people are never held in memory.
+         * 
+         * @param  arrivalStream the stream of arrivals.
+         * @return a cashier selector.
+         */
+        public CashierSelector withArrivalStream(ArrivalStream arrivalStream) {
+            Objects.requireNonNull(arrivalStream, 
+                                   "The input arrival stream is null.");
+            return new CashierSelector(null, 
+                                       arrivalStream, 
+                                       null, 
+                                       false,
+                                       EventListType.BINARY_HEAP,
+                                       false);
         }
     }
     
     public static final class CashierSelector {
         
         private final Population population;
+        private final ArrivalStream arrivalStream;
+        private final OutcomeArchiveWriter outcomeArchiveWriter;
+        private final boolean profiling;
+        private final EventListType eventListType;
+        private final boolean estimatingDerivatives;
         
-        CashierSelector(Population population) {
+        CashierSelector(Population population, 
+                        ArrivalStream arrivalStream,
+                        OutcomeArchiveWriter outcomeArchiveWriter,
+                        boolean profiling,
+                        EventListType eventListType,
+                        boolean estimatingDerivatives) {
             this.population = population;
+            this.arrivalStream = arrivalStream;
+            this.outcomeArchiveWriter = outcomeArchiveWriter;
+            this.profiling = profiling;
+            this.eventListType = eventListType;
+            this.estimatingDerivatives = estimatingDerivatives;
         }
         
         public SimulationResult withCashier(Cashier cashier) {
             Objects.requireNonNull(cashier, "The input cashier is null.");
-            return new Simulator().simulate(population, cashier);
+            PhaseProfiler profiler = profiling ? 
+                                     PhaseProfiler.enabled() :
+                                     PhaseProfiler.disabled();
+            ServiceTimeGradient gradient = estimatingDerivatives ?
+                                           new ServiceTimeGradient() :
+                                           null;
+            
+            if (outcomeArchiveWriter != null) {
+                ArrivalStream stream = population == null ? 
+                                       arrivalStream : 
+                                       population.toArrivalStream();
+                
+                return simulate(stream, 
+                                cashier, 
+                                outcomeArchiveWriter, 
+                                profiler,
+                                gradient);
+            }
+            
+            if (population == null) {
+                return simulate(arrivalStream, 
+                                cashier, 
+                                null, 
+                                profiler, 
+                                gradient);
+            }
+            
+            return new Simulator(profiler).simulate(population, 
+                                                    cashier, 
+                                                    gradient);
+        }
+        
+        /**
+         * Makes the simulation measure the wall time and the bytes allocated
+         * by the calling thread in each phase. The measurements are available
+         * via {@link SimulationResult#getPhaseProfile()}. A simulation over
+         * an arrival stream has only the main loop and the postprocessing
+         * phases. Only the single cashier simulation can be profiled.
+         * 
+         * @return a cashier selector.
+         */
+        public CashierSelector withProfiling() {
+            return new CashierSelector(population,
+                                       arrivalStream,
+                                       outcomeArchiveWriter,
+                                       true,
+                                       eventListType,
+                                       estimatingDerivatives);
+        }
+        
+        /**
+         * Makes the simulation estimate the derivative of the mean wait time
+         * of each academic degree with respect to the mean service time of
+         * the cashier in the same run. The estimates are available via
+         * {@link SimulationResult#getMeanWaitTimeDerivative(AcademicDegree)}.
+         * Only the single cashier simulation estimates the derivatives.
+         * 
+         * @return a cashier selector.
+         */
+        public CashierSelector withServiceTimeDerivatives() {
+            return new CashierSelector(population,
+                                       arrivalStream,
+                                       outcomeArchiveWriter,
+                                       profiling,
+                                       eventListType,
+                                       true);
+        }
+        
+        /**
+         * Selects the future event list of the network, multi-line and 
+         * abandonment simulations. The default is 
+         * {@link EventListType#BINARY_HEAP}. The choice affects the speed 
+         * only, never the results.
+         * 
+         * @param  eventListType the type of the event list.
+         * @return a cashier selector.
+         */
+        public CashierSelector withEventList(EventListType eventListType) {
+            Objects.requireNonNull(eventListType, 
+                                   "The input event list type is null.");
+            return new CashierSelector(population,
+                                       arrivalStream,
+                                       outcomeArchiveWriter,
+                                       profiling,
+                                       eventListType,
+                                       estimatingDerivatives);
+        }
+        
+        /**
+         * Records the outcome of every served person to the given archive 
+         * writer in the order the people are served. The writer is not 
+         * closed. The result of a recorded simulation contains the aggregate
+         * statistics only, since the individual outcomes go to the archive.
+         * Only the single cashier simulation records the outcomes.
+         * 
+         * @param  outcomeArchiveWriter the archive writer.
+         * @return a cashier selector.
+         */
+        public CashierSelector 
+            recordingOutcomesTo(OutcomeArchiveWriter outcomeArchiveWriter) {
+            Objects.requireNonNull(outcomeArchiveWriter, 
+                                   "The input archive writer is null.");
+            return new CashierSelector(population, 
+                                       arrivalStream, 
+                                       outcomeArchiveWriter,
+                                       profiling,
+                                       eventListType,
+                                       estimatingDerivatives);
+        }
+        
+        /**
+         * Routes the people through a tandem network of stations instead of
+         * a single cashier.
+         * 
+         * @param  network the network of stations.
+         * @return the result of the network simulation.
+         * @throws IllegalStateException if profiling, derivative estimation
+         *                               or outcome recording is selected.
+         */
+        public NetworkSimulationResult withNetwork(QueueingNetwork network) {
+            Objects.requireNonNull(network, "The input network is null.");
+            checkSingleCashierOptionsNotSelected("network");
+            ArrivalStream stream = population == null ? 
+                                   arrivalStream : 
+                                   population.toArrivalStream();
+            
+            return new NetworkSimulation(network, eventListType).run(stream);
+        }
+        
+        /**
+         * Selects several cashiers, each serving a line chosen by a routing
+         * policy.
+         * 
+         * @param  cashiers the cashiers, one per line.
+         * @return a routing policy selector.
+         * @throws IllegalStateException if profiling, derivative estimation
+         *                               or outcome recording is selected.
+         */
+        public RoutingSelector withCashiers(List<Cashier> cashiers) {
+            Objects.requireNonNull(cashiers, "The input cashier list is null.");
+            checkSingleCashierOptionsNotSelected("multi-line");
+            
+            if (cashiers.isEmpty()) {
+                throw new IllegalArgumentException(
+                        "The input cashier list is empty.");
+            }
+            
+            for (Cashier cashier : cashiers) {
+                Objects.requireNonNull(cashier, "A cashier is null.");
+            }
+            
+            ArrivalStream stream = population == null ? 
+                                   arrivalStream : 
+                                   population.toArrivalStream();
+            
+            return new RoutingSelector(stream, 
+                                       new ArrayList<>(cashiers),
+                                       eventListType);
+        }
+        
+        /**
+         * Lets people balk and renege according to the given model.
+         * 
+         * @param  abandonmentModel the abandonment model.
+         * @return a cashier selector.
+         * @throws IllegalStateException if profiling, derivative estimation
+         *                               or outcome recording is selected.
+         */
+        public AbandoningCashierSelector 
+            withAbandonment(AbandonmentModel abandonmentModel) {
+            Objects.requireNonNull(abandonmentModel, 
+                                   "The input abandonment model is null.");
+            checkSingleCashierOptionsNotSelected("abandonment");
+            ArrivalStream stream = population == null ? 
+                                   arrivalStream : 
+                                   population.toArrivalStream();
+            
+            return new AbandoningCashierSelector(stream, 
+                                                 abandonmentModel,
+                                                 eventListType);
+        }
+        
+        // The other simulations would silently ignore these options.
+        private void checkSingleCashierOptionsNotSelected(String simulation) {
+            if (profiling) {
+                throw new IllegalStateException(
+                        "The " + simulation + " simulation does not " + 
+                        "support profiling.");
+            }
+            
+            if (estimatingDerivatives) {
+                throw new IllegalStateException(
+                        "The " + simulation + " simulation does not " + 
+                        "estimate service time derivatives.");
+            }
+            
+            if (outcomeArchiveWriter != null) {
+                throw new IllegalStateException(
+                        "The " + simulation + " simulation does not " + 
+                        "record outcomes.");
+            }
+        }
+    }
+    
+    public static final class RoutingSelector {
+        
+        private final ArrivalStream arrivalStream;
+        private final List<Cashier> cashiers;
+        private final EventListType eventListType;
+        
+        RoutingSelector(ArrivalStream arrivalStream, 
+                        List<Cashier> cashiers,
+                        EventListType eventListType) {
+            this.arrivalStream = arrivalStream;
+            this.cashiers = cashiers;
+            this.eventListType = eventListType;
+        }
+        
+        /**
+         * Runs the simulation routing the people by the given policy. The 
+         * result contains the aggregate statistics only; its cashier idle 
+         * times are over all the cashiers.
+         * 
+         * @param  policy the routing policy.
+         * @param  random the random number generator of randomized policies.
+         * @return the result of the simulation.
+         */
+        public SimulationResult withRouting(RoutingPolicy policy, 
+                                            Random random) {
+            Objects.requireNonNull(policy, "The input routing policy is null.");
+            Objects.requireNonNull(random, "The input Random is null.");
+            return new MultiLineSimulation(cashiers, 
+                                           policy, 
+                                           random, 
+                                           eventListType)
+                    .run(arrivalStream);
+        }
+        
+        /**
+         * Runs the simulation routing the people by the given policy using a
+         * default {@code Random}.
+         * 
+         * @param  policy the routing policy.
+         * @return the result of the simulation.
+         */
+        public SimulationResult withRouting(RoutingPolicy policy) {
+            return withRouting(policy, new Random());
         }
     }
     
-    private SimulationResult simulate(Population population, Cashier cashier) {
+    public static final class AbandoningCashierSelector {
+        
+        private final ArrivalStream arrivalStream;
+        private final AbandonmentModel abandonmentModel;
+        private final EventListType eventListType;
+        
+        AbandoningCashierSelector(ArrivalStream arrivalStream,
+                                  AbandonmentModel abandonmentModel,
+                                  EventListType eventListType) {
+            this.arrivalStream = arrivalStream;
+            this.abandonmentModel = abandonmentModel;
+            this.eventListType = eventListType;
+        }
+        
+        /**
+         * Runs the simulation. The result contains the aggregate statistics 
+         * over the served people and the abandonment counts.
+         * 
+         * @param  cashier the cashier.
+         * @return the result of the simulation.
+         */
+        public SimulationResult withCashier(Cashier cashier) {
+            Objects.requireNonNull(cashier, "The input cashier is null.");
+            return new AbandonmentSimulation(abandonmentModel, eventListType)
+                    .run(arrivalStream, cashier);
+        }
+    }
+    
+    private static SimulationResult simulate(
+            ArrivalStream arrivalStream,
+            Cashier cashier,
+            OutcomeArchiveWriter outcomeArchiveWriter,
+            PhaseProfiler profiler,
+            ServiceTimeGradient gradient) {
+        profiler.startPhase();
+        StatisticsAccumulator accumulator = new StatisticsAccumulator();
+        
+        if (!arrivalStream.hasNext()) {
+            profiler.endPhase(SimulationPhase.MAIN_LOOP);
+            return finish(accumulator, gradient, profiler);
+        }
+        
+        PrimitivePrioritizedQueue queue = new PrimitivePrioritizedQueue();
+        arrivalStream.next();
+        boolean arrivalPending = true;
+        int currentClock = arrivalStream.getArrivalTime();
+        int previousArrivalTime = currentClock;
+        
+        StatisticsBuffer buffer = new StatisticsBuffer(accumulator);
+        int idleTime = 0;
+        
+        while (true) {
+            // Load all hungry people that arrived during the service of the 
+            // previously served person.
+            while (arrivalPending 
+                    && arrivalStream.getArrivalTime() <= currentClock) {
+                int arrivalTime = arrivalStream.getArrivalTime();
+                
+                if (arrivalTime < previousArrivalTime) {
+                    throw new IllegalStateException(
+                            "The arrival stream is not sorted: " + 
+                            arrivalTime + " after " + previousArrivalTime);
+                }
+                
+                previousArrivalTime = arrivalTime;
+                int arrivalDegree = arrivalStream.getAcademicDegree().ordinal();
+                queue.push(arrivalDegree, arrivalTime, arrivalStream.getId());
+                
+                if (gradient != null) {
+                    gradient.addArrival(arrivalTime, arrivalDegree);
+                }
+                
+                arrivalPending = arrivalStream.hasNext();
+                
+                if (arrivalPending) {
+                    arrivalStream.next();
+                }
+            }
+            
+            if (queue.isEmpty()) {
+                if (!arrivalPending) {
+                    break;
+                }
+                
+                // The cashier is idle until the next arrival. Load all the 
+                // people arriving at that moment before admitting anyone.
+                idleTime = arrivalStream.getArrivalTime() - currentClock;
+                currentClock = arrivalStream.getArrivalTime();
+                continue;
+            }
+            
+            buffer.addIdleTime(idleTime);
+            idleTime = 0;
+            
+            // Admit an earliest + highest priority person to the cashier.
+            int degree = queue.pop();
+            
+            // Serving...
+            int serviceTime = cashier.getServiceTime();
+            currentClock += serviceTime;
+            int waitTime = currentClock - queue.getLastArrivalTime();
+            buffer.addWaitTime(degree, waitTime);
+            // Served!
+            
+            if (gradient != null) {
+                gradient.addService(degree, waitTime, serviceTime);
+            }
+            
+            if (outcomeArchiveWriter != null) {
+                try {
+                    outcomeArchiveWriter.add(queue.getLastId(), 
+                                             degree, 
+                                             queue.getLastArrivalTime(), 
+                                             waitTime, 
+                                             serviceTime);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+        }
+        
+        buffer.flush();
+        profiler.endPhase(SimulationPhase.MAIN_LOOP);
+        return finish(accumulator, gradient, profiler);
+    }
+    
+    private static SimulationResult finish(StatisticsAccumulator accumulator,
+                                           ServiceTimeGradient gradient,
+                                           PhaseProfiler profiler) {
+        profiler.startPhase();
+        SimulationResult result = accumulator.toSimulationResult();
+        
+        if (gradient != null) {
+            gradient.publish(result);
+        }
+        
+        profiler.endPhase(SimulationPhase.POSTPROCESS);
+        profiler.publish(result);
+        return result;
+    }
+    
+    private SimulationResult simulate(Population population, 
+                                      Cashier cashier,
+                                      ServiceTimeGradient gradient) {
         this.population = population;
+        profiler.startPhase();
         Queue<LunchQueueEvent> inputEventQueue = population.toEventQueue();
+        profiler.endPhase(SimulationPhase.TO_EVENT_QUEUE);
+        profiler.startPhase();
         preprocess(inputEventQueue);
+        profiler.endPhase(SimulationPhase.PREPROCESS);
         
         if (population.size() == 0) {
-            return new SimulationResult(arrivalEventMap, servedEventMap);
+            SimulationResult result = new SimulationResult(arrivalEventMap, 
+                                                           servedEventMap);
+            profiler.publish(result);
+            return result;
         }
         
+        profiler.startPhase();
+        
         PrioritizedQueue QUEUE = new PrioritizedQueue();
         int currentClock = inputEventQueue.peek().getTimestamp();
         
@@ -83,7 +533,12 @@ public final class Simulator {
             while (!inputEventQueue.isEmpty()
                     && inputEventQueue.peek().getTimestamp() 
                     <= currentClock) {
-                QUEUE.push(inputEventQueue.remove());
+                LunchQueueEvent event = inputEventQueue.remove();
+                QUEUE.push(event);
+                
+                if (gradient != null) {
+                    addArrival(gradient, event);
+                }
             }
             
             if (QUEUE.isEmpty()) {
@@ -92,6 +547,10 @@ public final class Simulator {
                                          currentClock);
                 currentClock = headEvent.getTimestamp();
                 QUEUE.push(headEvent);
+                
+                if (gradient != null) {
+                    addArrival(gradient, headEvent);
+                }
             } else {
                 cashierIdleIntervals.add(0);
             }
@@ -107,135 +566,68 @@ public final class Simulator {
                                                               currentClock);
             servedEventMap.put(currentPerson, servedEvent);
             // Served!
+            
+            if (gradient != null) {
+                gradient.addService(
+                        currentPerson.getAcademicDegree().ordinal(),
+                        currentClock - currentEvent.getTimestamp(),
+                        serviceTime);
+            }
+        }
+        
+        profiler.endPhase(SimulationPhase.MAIN_LOOP);
+        profiler.startPhase();
+        SimulationResult result = postprocess();
+        
+        if (gradient != null) {
+            gradient.publish(result);
         }
         
-        return postprocess();
+        profiler.endPhase(SimulationPhase.POSTPROCESS);
+        profiler.publish(result);
+        return result;
+    }
+    
+    private static void addArrival(ServiceTimeGradient gradient, 
+                                   LunchQueueEvent event) {
+        gradient.addArrival(event.getTimestamp(), 
+                            event.getPerson().getAcademicDegree().ordinal());
     }
     
     private void preprocess(Queue<LunchQueueEvent> inputEventQueue) {
-        // groupCounts.keySet() will now list only those academic degrees that
-        // are present in the population.
         for (LunchQueueEvent event : inputEventQueue) {
-            Person person = event.getPerson();
-            arrivalEventMap.put(person, event);
-            AcademicDegree degree = person.getAcademicDegree();
-            groupCounts.put(degree, groupCounts.getOrDefault(degree, 0) + 1);
+            arrivalEventMap.put(event.getPerson(), event);
         }
     }
     
     private SimulationResult postprocess() {
-        // Start computing system statistics.
-        
-        for (AcademicDegree degree : groupCounts.keySet()) {
-            mapMinimumWaitTime.put(degree, Integer.MAX_VALUE);
-            mapMaximumWaitTime.put(degree, Integer.MIN_VALUE);
-            mapWaitTimeSum.put(degree, 0);
-        }
+        // Gather the wait times and the idle times into primitive arrays, 
+        // and let the statistics kernel reduce them.
+        int[] degrees = new int[population.size()];
+        int[] waitTimes = new int[population.size()];
+        int index = 0;
         
-        // Computing minimum/maximum wait time for each academic degree.
         for (Person person : population.getPersonSet()) {
-            LunchQueueEvent arrivalEvent = arrivalEventMap.get(person);
-            LunchQueueEvent servedEvent  = servedEventMap.get(person);
-            
-            int waitTime = servedEvent.getTimestamp() - 
-                           arrivalEvent.getTimestamp();
-            
-            AcademicDegree degree = person.getAcademicDegree();
-            
-            if (mapMinimumWaitTime.get(degree) > waitTime) {
-                mapMinimumWaitTime.put(degree, waitTime);
-            }
-            
-            if (mapMaximumWaitTime.get(degree) < waitTime) {
-                mapMaximumWaitTime.put(degree, waitTime);
-            }
-            
-            mapWaitTimeSum.put(degree, mapWaitTimeSum.get(degree) + waitTime);
+            degrees[index] = person.getAcademicDegree().ordinal();
+            waitTimes[index] = servedEventMap.get(person).getTimestamp() - 
+                               arrivalEventMap.get(person).getTimestamp();
+            ++index;
         }
         
-        // Computing the average waiting time for each academic degree.
-        for (AcademicDegree degree : groupCounts.keySet()) {
-            int average = (int) Math.round(1.0 * mapWaitTimeSum.get(degree) / 
-                                           groupCounts.get(degree));
-            
-            mapAverageWaitTime.put(degree, average);
-            mapWaitTimeDeviation.put(degree, 0);
-        }
+        int[] idleTimes = new int[cashierIdleIntervals.size()];
+        index = 0;
         
-        for (Person person : population.getPersonSet()) {
-            AcademicDegree degree = person.getAcademicDegree();
-            
-            int duration = servedEventMap.get(person).getTimestamp() -
-                          arrivalEventMap.get(person).getTimestamp();
-            
-            int contribution = duration - mapAverageWaitTime.get(degree);
-            
-            contribution *= contribution;
-            mapWaitTimeDeviation.put(degree, 
-                                     mapWaitTimeDeviation.get(degree) +
-                                             contribution);
+        for (int value : cashierIdleIntervals) {
+            idleTimes[index++] = value;
         }
         
-        for (AcademicDegree degree : groupCounts.keySet()) {
-            int sum = mapWaitTimeDeviation.get(degree);
-            mapWaitTimeDeviation.put(degree, 
-                                     (int) Math.round(
-                                             Math.sqrt(sum / 
-                                                       groupCounts
-                                                               .get(degree))));
-        }
+        StatisticsAccumulator accumulator = new StatisticsAccumulator();
+        accumulator.addWaitTimes(degrees, waitTimes, waitTimes.length);
+        accumulator.addIdleTimes(idleTimes, idleTimes.length);
         
         SimulationResult result = new SimulationResult(arrivalEventMap, 
                                                        servedEventMap);
-        
-        for (AcademicDegree degree : groupCounts.keySet()) {
-            result.putWaitMinimumTime(degree, mapMinimumWaitTime.get(degree));
-            result.putWaitMaximumTime(degree, mapMaximumWaitTime.get(degree));
-            result.putAverageWaitTime(degree, mapAverageWaitTime.get(degree));
-            result.putWaitTimeStandardDeviation(degree,
-                                                mapWaitTimeDeviation
-                                                        .get(degree));
-        }
-        
-        // Process cashier idle time statistics:
-        if (cashierIdleIntervals.isEmpty()) {
-            return result;
-        }
-        
-        int sum = 0;
-        int min = cashierIdleIntervals.get(0);
-        int max = cashierIdleIntervals.get(0);
-        
-        for (int value : cashierIdleIntervals) {
-            sum += value;
-            
-            if (min > value) {
-                min = value;
-            } else if (max < value) {
-                max = value;
-            }
-        }
-        
-        double average = 1.0 * sum / cashierIdleIntervals.size();
-        
-        sum = 0;
-        
-        // Compute standard deviation:
-        for (int value : cashierIdleIntervals) {
-            double diff = average - value;
-            diff *= diff;
-            sum += diff;
-        }
-        
-        int standardDeviation = 
-                (int)(Math.round(
-                        Math.sqrt(1.0 *sum / cashierIdleIntervals.size())));
-        
-        result.putCashierMinimumIdleTime(min);
-        result.putCashierAverageIdleTime((int)(Math.round(average)));
-        result.putCashierMaximumIdleTime(max);
-        result.putCashierStandardDeviation(standardDeviation);
-        
+        accumulator.publish(result);
         return result;
     }
 }
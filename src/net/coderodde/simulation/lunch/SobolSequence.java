@@ -0,0 +1,111 @@
+package net.coderodde.simulation.lunch;
+
+import java.util.Random;
+
+/**
+ * This class generates a Sobol sequence in the unit cube of up to
+ * {@link #MAXIMUM_DIMENSIONS} dimensions, with the direction numbers of Joe
+ * and Kuo. The points are produced in the Gray code order, each one from the
+ * previous one by a single exclusive or per dimension. A random digital
+ * shift, applied to all the points, keeps the structure of the sequence
+ * while making the averages over it unbiased, so independent shifts give
+ * independent estimates.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+final class SobolSequence {
+
+    private static final int BITS = 32;
+
+    /**
+     * The degree {@code s}, the coefficient {@code a} of the primitive
+     * polynomial and the initial direction numbers {@code m} of each
+     * dimension but the first.
+     */
+    private static final int[][] PARAMETERS = {
+        { 1,  0, 1 },
+        { 2,  1, 1, 3 },
+        { 3,  1, 1, 3, 1 },
+        { 3,  2, 1, 1, 1 },
+        { 4,  1, 1, 1, 3, 3 },
+        { 4,  4, 1, 3, 5, 13 },
+        { 5,  2, 1, 1, 5, 5, 17 },
+        { 5,  4, 1, 1, 5, 5, 5 },
+        { 5,  7, 1, 1, 7, 11, 19 },
+        { 5, 11, 1, 1, 5, 1, 1 },
+        { 5, 13, 1, 1, 1, 3, 11 },
+        { 5, 14, 1, 3, 5, 5, 31 },
+        { 6,  1, 1, 3, 3, 9, 7, 49 },
+        { 6, 13, 1, 1, 1, 15, 21, 21 },
+        { 6, 16, 1, 3, 1, 13, 27, 49 },
+        { 6, 19, 1, 1, 1, 15, 7, 5 },
+        { 6, 22, 1, 3, 1, 15, 13, 25 },
+        { 6, 25, 1, 1, 5, 5, 19, 61 },
+        { 7,  1, 1, 3, 7, 11, 23, 15, 103 },
+        { 7,  4, 1, 3, 7, 13, 13, 15, 69 },
+    };
+
+    static final int MAXIMUM_DIMENSIONS = PARAMETERS.length + 1;
+
+    private final int[][] directions;
+    private final int[] shifts;
+    private final int[] state;
+    private int index;
+
+    SobolSequence(int dimensions, Random random) {
+        if (dimensions < 1 || dimensions > MAXIMUM_DIMENSIONS) {
+            throw new IllegalArgumentException(
+                    "Unsupported number of dimensions: " + dimensions);
+        }
+
+        this.directions = new int[dimensions][BITS];
+        this.shifts = new int[dimensions];
+        this.state = new int[dimensions];
+
+        for (int k = 0; k < BITS; ++k) {
+            directions[0][k] = 1 << (BITS - 1 - k);
+        }
+
+        for (int j = 1; j < dimensions; ++j) {
+            int[] parameters = PARAMETERS[j - 1];
+            int[] v = directions[j];
+            int s = parameters[0];
+            int a = parameters[1];
+
+            for (int k = 0; k < s; ++k) {
+                v[k] = parameters[k + 2] << (BITS - 1 - k);
+            }
+
+            for (int k = s; k < BITS; ++k) {
+                v[k] = v[k - s] ^ (v[k - s] >>> s);
+
+                for (int i = 1; i < s; ++i) {
+                    v[k] ^= ((a >>> (s - 1 - i)) & 1) * v[k - i];
+                }
+            }
+        }
+
+        for (int j = 0; j < dimensions; ++j) {
+            shifts[j] = random.nextInt();
+        }
+    }
+
+    /**
+     * Writes the next point of the sequence.
+     *
+     * @param point the array receiving the coordinates.
+     */
+    void next(double[] point) {
+        for (int j = 0; j < state.length; ++j) {
+            point[j] = ((state[j] ^ shifts[j]) & 0xffffffffL) * 0x1p-32;
+        }
+
+        // The next point differs in the bit of the lowest zero of the index.
+        int bit = Integer.numberOfTrailingZeros(~index++);
+
+        for (int j = 0; j < state.length; ++j) {
+            state[j] ^= directions[j][bit];
+        }
+    }
+}
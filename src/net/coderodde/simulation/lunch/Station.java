@@ -0,0 +1,191 @@
+package net.coderodde.simulation.lunch;
+
+import java.util.Objects;
+
+/**
+ * This class describes a service station of a {@link QueueingNetwork}, such
+ * as a cashier, a tray return or the seating. A station has a number of 
+ * parallel servers, a finite or an unlimited capacity (the number of people 
+ * at the station either waiting or being served) and a queue discipline. The
+ * service times are drawn from a {@link Cashier}, which here merely serves as
+ * a service time distribution.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public final class Station {
+    
+    /**
+     * Denotes a station that never blocks the upstream stations.
+     */
+    public static final int UNLIMITED_CAPACITY = Integer.MAX_VALUE;
+    
+    private final String name;
+    private final int servers;
+    private final int capacity;
+    private final QueueDiscipline discipline;
+    private final Cashier serviceTimes;
+    
+    /**
+     * Initiates the strong fluent API for constructing a {@code Station}.
+     * 
+     * @param  name the name of the station.
+     * @return a server count selector.
+     */
+    public static ServerCountSelector withName(String name) {
+        Objects.requireNonNull(name, "The station name is null.");
+        Configuration configuration = new Configuration();
+        configuration.name = name;
+        return new ServerCountSelector(configuration);
+    }
+    
+    public static final class ServerCountSelector {
+        
+        private final Configuration configuration;
+        
+        private ServerCountSelector(Configuration configuration) {
+            this.configuration = configuration;
+        }
+        
+        /**
+         * Selects the number of parallel servers.
+         * 
+         * @param  servers the number of servers.
+         * @return a capacity selector.
+         */
+        public CapacitySelector withServers(int servers) {
+            if (servers < 1) {
+                throw new IllegalArgumentException(
+                        "The number of servers is not positive: " + servers);
+            }
+            
+            configuration.servers = servers;
+            return new CapacitySelector(configuration);
+        }
+    }
+    
+    public static final class CapacitySelector {
+        
+        private final Configuration configuration;
+        
+        private CapacitySelector(Configuration configuration) {
+            this.configuration = configuration;
+        }
+        
+        /**
+         * Selects the maximum number of people at the station, including the
+         * ones being served. When a station is full, a person finishing at 
+         * the preceding station keeps blocking its server until a place 
+         * frees up.
+         * 
+         * @param  capacity the capacity, at least the number of servers.
+         * @return a discipline selector.
+         */
+        public DisciplineSelector withCapacity(int capacity) {
+            if (capacity < configuration.servers) {
+                throw new IllegalArgumentException(
+                        "The capacity " + capacity + " is less than the " +
+                        "number of servers " + configuration.servers + ".");
+            }
+            
+            configuration.capacity = capacity;
+            return new DisciplineSelector(configuration);
+        }
+        
+        /**
+         * Selects an unlimited capacity.
+         * 
+         * @return a discipline selector.
+         */
+        public DisciplineSelector withUnlimitedCapacity() {
+            return withCapacity(UNLIMITED_CAPACITY);
+        }
+    }
+    
+    public static final class DisciplineSelector {
+        
+        private final Configuration configuration;
+        
+        private DisciplineSelector(Configuration configuration) {
+            this.configuration = configuration;
+        }
+        
+        public ServiceTimeSelector withDiscipline(QueueDiscipline discipline) {
+            Objects.requireNonNull(discipline, "The discipline is null.");
+            configuration.discipline = discipline;
+            return new ServiceTimeSelector(configuration);
+        }
+    }
+    
+    public static final class ServiceTimeSelector {
+        
+        private final Configuration configuration;
+        
+        private ServiceTimeSelector(Configuration configuration) {
+            this.configuration = configuration;
+        }
+        
+        /**
+         * Selects the service time distribution and returns the station.
+         * 
+         * @param  serviceTimes the service time distribution.
+         * @return a {@code Station}.
+         */
+        public Station withServiceTimesFrom(Cashier serviceTimes) {
+            Objects.requireNonNull(serviceTimes, 
+                                   "The service time cashier is null.");
+            return new Station(configuration.name,
+                               configuration.servers,
+                               configuration.capacity,
+                               configuration.discipline,
+                               serviceTimes);
+        }
+    }
+    
+    private Station(String name,
+                    int servers, 
+                    int capacity,
+                    QueueDiscipline discipline,
+                    Cashier serviceTimes) {
+        this.name = name;
+        this.servers = servers;
+        this.capacity = capacity;
+        this.discipline = discipline;
+        this.serviceTimes = serviceTimes;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public int getServers() {
+        return servers;
+    }
+    
+    public int getCapacity() {
+        return capacity;
+    }
+    
+    public QueueDiscipline getDiscipline() {
+        return discipline;
+    }
+    
+    int getServiceTime() {
+        // Negative draws would travel back in time in the event calendar.
+        return Math.max(0, serviceTimes.getServiceTime());
+    }
+    
+    @Override
+    public String toString() {
+        return "[" + name + ", servers: " + servers + ", capacity: " + 
+               (capacity == UNLIMITED_CAPACITY ? "unlimited" : capacity) + 
+               ", " + discipline + "]";
+    }
+    
+    private static final class Configuration {
+        private String name;
+        private int servers;
+        private int capacity;
+        private QueueDiscipline discipline;
+    }
+}
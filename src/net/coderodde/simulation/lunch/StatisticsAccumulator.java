@@ -0,0 +1,398 @@
+package net.coderodde.simulation.lunch;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * This class accumulates the wait time and cashier idle time statistics in a
+ * single pass without remembering the individual observations. The derived
+ * statistics are rounded exactly as {@link Simulator} rounds them when it
+ * has the entire population at hand. All the accumulated quantities are 
+ * integral, so that merging accumulators is exact and does not depend on the
+ * merge order.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+final class StatisticsAccumulator {
+
+    /**
+     * The width of a wait time histogram bin in seconds.
+     */
+    static final int HISTOGRAM_BIN_WIDTH = 15;
+    
+    /**
+     * The number of wait time histogram bins. The last bin counts all the 
+     * wait times that do not fit in the preceding bins.
+     */
+    static final int HISTOGRAM_BINS = 240;
+    
+    private static final AcademicDegree[] DEGREES = AcademicDegree.values();
+
+    private final long[] waitCounts = new long[DEGREES.length];
+    private final long[] waitSums = new long[DEGREES.length];
+    private final long[] waitSquareSums = new long[DEGREES.length];
+    private final int[] waitMinimums = new int[DEGREES.length];
+    private final int[] waitMaximums = new int[DEGREES.length];
+    private final long[][] waitHistograms = 
+            new long[DEGREES.length][HISTOGRAM_BINS];
+
+    private long idleCount;
+    private long idleSum;
+    private long idleSquareSum;
+    private int idleMinimum;
+    private int idleMaximum;
+
+    StatisticsAccumulator() {
+        clear();
+    }
+
+    void addWaitTime(int degree, int waitTime) {
+        ++waitCounts[degree];
+        waitSums[degree] += waitTime;
+        waitSquareSums[degree] += (long) waitTime * waitTime;
+
+        if (waitMinimums[degree] > waitTime) {
+            waitMinimums[degree] = waitTime;
+        }
+
+        if (waitMaximums[degree] < waitTime) {
+            waitMaximums[degree] = waitTime;
+        }
+        
+        ++waitHistograms[degree][getHistogramBin(waitTime)];
+    }
+
+    void addIdleTime(int idleTime) {
+        ++idleCount;
+        idleSum += idleTime;
+        idleSquareSum += (long) idleTime * idleTime;
+
+        if (idleMinimum > idleTime) {
+            idleMinimum = idleTime;
+        }
+
+        if (idleMaximum < idleTime) {
+            idleMaximum = idleTime;
+        }
+    }
+
+    /**
+     * Adds the first {@code length} wait times in bulk. The moments and the
+     * histograms are computed by the 
+     * {@link StatisticsKernel#getInstance() default kernel} in one pass.
+     * 
+     * @param degrees   the degree ordinal of each wait time.
+     * @param waitTimes the wait times.
+     * @param length    the number of wait times.
+     */
+    void addWaitTimes(int[] degrees, int[] waitTimes, int length) {
+        StatisticsKernel.Moments moments = 
+                new StatisticsKernel.Moments(DEGREES.length, waitHistograms);
+        StatisticsKernel.getInstance()
+                        .accumulate(degrees, waitTimes, length, moments);
+        
+        for (int i = 0; i < DEGREES.length; ++i) {
+            waitCounts[i] += moments.counts[i];
+            waitSums[i] += moments.sums[i];
+            waitSquareSums[i] += moments.squareSums[i];
+            waitMinimums[i] = Math.min(waitMinimums[i], moments.minimums[i]);
+            waitMaximums[i] = Math.max(waitMaximums[i], moments.maximums[i]);
+        }
+    }
+    
+    /**
+     * Adds the first {@code length} idle times in bulk.
+     * 
+     * @param idleTimes the idle times.
+     * @param length    the number of idle times.
+     */
+    void addIdleTimes(int[] idleTimes, int length) {
+        StatisticsKernel.Moments moments = new StatisticsKernel.Moments(1);
+        StatisticsKernel.getInstance().accumulate(idleTimes, length, moments);
+        idleCount += moments.counts[0];
+        idleSum += moments.sums[0];
+        idleSquareSum += moments.squareSums[0];
+        idleMinimum = Math.min(idleMinimum, moments.minimums[0]);
+        idleMaximum = Math.max(idleMaximum, moments.maximums[0]);
+    }
+
+    void clear() {
+        for (int i = 0; i < DEGREES.length; ++i) {
+            waitCounts[i] = 0L;
+            waitSums[i] = 0L;
+            waitSquareSums[i] = 0L;
+            waitMinimums[i] = Integer.MAX_VALUE;
+            waitMaximums[i] = Integer.MIN_VALUE;
+            Arrays.fill(waitHistograms[i], 0L);
+        }
+
+        idleCount = 0L;
+        idleSum = 0L;
+        idleSquareSum = 0L;
+        idleMinimum = Integer.MAX_VALUE;
+        idleMaximum = Integer.MIN_VALUE;
+    }
+
+    void merge(StatisticsAccumulator other) {
+        for (int i = 0; i < DEGREES.length; ++i) {
+            waitCounts[i] += other.waitCounts[i];
+            waitSums[i] += other.waitSums[i];
+            waitSquareSums[i] += other.waitSquareSums[i];
+            waitMinimums[i] = Math.min(waitMinimums[i], other.waitMinimums[i]);
+            waitMaximums[i] = Math.max(waitMaximums[i], other.waitMaximums[i]);
+            
+            for (int bin = 0; bin < HISTOGRAM_BINS; ++bin) {
+                waitHistograms[i][bin] += other.waitHistograms[i][bin];
+            }
+        }
+        
+        idleCount += other.idleCount;
+        idleSum += other.idleSum;
+        idleSquareSum += other.idleSquareSum;
+        idleMinimum = Math.min(idleMinimum, other.idleMinimum);
+        idleMaximum = Math.max(idleMaximum, other.idleMaximum);
+    }
+    
+    StatisticsAccumulator copy() {
+        StatisticsAccumulator copy = new StatisticsAccumulator();
+        copy.merge(this);
+        return copy;
+    }
+    
+    long getWaitCount(int degree) {
+        return waitCounts[degree];
+    }
+    
+    long getWaitSum(int degree) {
+        return waitSums[degree];
+    }
+    
+    long getWaitSquareSum(int degree) {
+        return waitSquareSums[degree];
+    }
+    
+    int getWaitMinimum(int degree) {
+        return waitMinimums[degree];
+    }
+    
+    int getWaitMaximum(int degree) {
+        return waitMaximums[degree];
+    }
+    
+    long getWaitHistogramCount(int degree, int bin) {
+        return waitHistograms[degree][bin];
+    }
+    
+    long getIdleCount() {
+        return idleCount;
+    }
+    
+    long getIdleSum() {
+        return idleSum;
+    }
+    
+    long getIdleSquareSum() {
+        return idleSquareSum;
+    }
+    
+    int getIdleMinimum() {
+        return idleMinimum;
+    }
+    
+    int getIdleMaximum() {
+        return idleMaximum;
+    }
+    
+    static int getHistogramBin(int waitTime) {
+        if (waitTime < 0) {
+            return 0;
+        }
+        
+        return Math.min(waitTime / HISTOGRAM_BIN_WIDTH, HISTOGRAM_BINS - 1);
+    }
+    
+    /**
+     * Writes this accumulator in a compact binary form. Only the non-empty
+     * histogram bins are written.
+     * 
+     * @param  out the output to write to.
+     * @throws IOException if the output fails.
+     */
+    void writeTo(DataOutput out) throws IOException {
+        for (int i = 0; i < DEGREES.length; ++i) {
+            out.writeLong(waitCounts[i]);
+            
+            if (waitCounts[i] == 0L) {
+                continue;
+            }
+            
+            out.writeLong(waitSums[i]);
+            out.writeLong(waitSquareSums[i]);
+            out.writeInt(waitMinimums[i]);
+            out.writeInt(waitMaximums[i]);
+            
+            int nonEmptyBins = 0;
+            
+            for (long count : waitHistograms[i]) {
+                if (count != 0L) {
+                    ++nonEmptyBins;
+                }
+            }
+            
+            out.writeShort(nonEmptyBins);
+            
+            for (int bin = 0; bin < HISTOGRAM_BINS; ++bin) {
+                if (waitHistograms[i][bin] != 0L) {
+                    out.writeShort(bin);
+                    out.writeLong(waitHistograms[i][bin]);
+                }
+            }
+        }
+        
+        out.writeLong(idleCount);
+        out.writeLong(idleSum);
+        out.writeLong(idleSquareSum);
+        out.writeInt(idleMinimum);
+        out.writeInt(idleMaximum);
+    }
+    
+    /**
+     * Reads an accumulator written by {@link #writeTo(DataOutput)}.
+     * 
+     * @param  in the input to read from.
+     * @return the accumulator.
+     * @throws IOException if the input fails or holds a histogram bin out of
+     *                     range.
+     */
+    static StatisticsAccumulator readFrom(DataInput in) throws IOException {
+        StatisticsAccumulator accumulator = new StatisticsAccumulator();
+        
+        for (int i = 0; i < DEGREES.length; ++i) {
+            accumulator.waitCounts[i] = in.readLong();
+            
+            if (accumulator.waitCounts[i] == 0L) {
+                continue;
+            }
+            
+            accumulator.waitSums[i] = in.readLong();
+            accumulator.waitSquareSums[i] = in.readLong();
+            accumulator.waitMinimums[i] = in.readInt();
+            accumulator.waitMaximums[i] = in.readInt();
+            
+            int nonEmptyBins = in.readUnsignedShort();
+            
+            if (nonEmptyBins > HISTOGRAM_BINS) {
+                throw new IOException(
+                        "Too many histogram bins: " + nonEmptyBins);
+            }
+            
+            for (int j = 0; j < nonEmptyBins; ++j) {
+                int bin = in.readUnsignedShort();
+                
+                if (bin >= HISTOGRAM_BINS) {
+                    throw new IOException("Bad histogram bin: " + bin);
+                }
+                
+                accumulator.waitHistograms[i][bin] = in.readLong();
+            }
+        }
+        
+        accumulator.idleCount = in.readLong();
+        accumulator.idleSum = in.readLong();
+        accumulator.idleSquareSum = in.readLong();
+        accumulator.idleMinimum = in.readInt();
+        accumulator.idleMaximum = in.readInt();
+        return accumulator;
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        
+        StatisticsAccumulator other = (StatisticsAccumulator) obj;
+        return Arrays.equals(waitCounts, other.waitCounts)
+            && Arrays.equals(waitSums, other.waitSums)
+            && Arrays.equals(waitSquareSums, other.waitSquareSums)
+            && Arrays.equals(waitMinimums, other.waitMinimums)
+            && Arrays.equals(waitMaximums, other.waitMaximums)
+            && Arrays.deepEquals(waitHistograms, other.waitHistograms)
+            && idleCount == other.idleCount
+            && idleSum == other.idleSum
+            && idleSquareSum == other.idleSquareSum
+            && idleMinimum == other.idleMinimum
+            && idleMaximum == other.idleMaximum;
+    }
+    
+    @Override
+    public int hashCode() {
+        int hash = Arrays.hashCode(waitCounts);
+        hash = 31 * hash + Arrays.hashCode(waitSums);
+        hash = 31 * hash + Arrays.hashCode(waitSquareSums);
+        hash = 31 * hash + Long.hashCode(idleSum);
+        return hash;
+    }
+    
+    SimulationResult toSimulationResult() {
+        SimulationResult result =
+                new SimulationResult(Collections.emptyMap(),
+                                     Collections.emptyMap());
+        publish(result);
+        return result;
+    }
+    
+    /**
+     * Stores the statistics derived from this accumulator in the given result
+     * together with a copy of this accumulator.
+     * 
+     * @param result the result to populate.
+     */
+    void publish(SimulationResult result) {
+        result.setStatisticsAccumulator(copy());
+
+        for (int i = 0; i < DEGREES.length; ++i) {
+            long count = waitCounts[i];
+
+            if (count == 0L) {
+                continue;
+            }
+
+            // As in Simulator before 1.6 (Oct 19, 2026), the deviation is
+            // measured from the rounded average and the sum of squared
+            // deviations is divided as an integer, but in 64 bits, where the
+            // old int sums overflowed for large populations.
+            long average = Math.round(1.0 * waitSums[i] / count);
+            long deviationSum = waitSquareSums[i]
+                              - 2 * average * waitSums[i]
+                              + count * average * average;
+
+            AcademicDegree degree = DEGREES[i];
+            result.putWaitMinimumTime(degree, waitMinimums[i]);
+            result.putWaitMaximumTime(degree, waitMaximums[i]);
+            result.putAverageWaitTime(degree, (int) average);
+            result.putWaitTimeStandardDeviation(
+                    degree,
+                    (int) Math.round(Math.sqrt(deviationSum / count)));
+        }
+
+        if (idleCount == 0L) {
+            return;
+        }
+
+        // Unlike before 1.6 (Oct 19, 2026), the sum of squares is exact
+        // rather than truncated to an integer at each step.
+        double average = 1.0 * idleSum / idleCount;
+        double variance = 1.0 * idleSquareSum / idleCount - average * average;
+
+        result.putCashierMinimumIdleTime(idleMinimum);
+        result.putCashierAverageIdleTime((int)(Math.round(average)));
+        result.putCashierMaximumIdleTime(idleMaximum);
+        result.putCashierStandardDeviation(
+                (int)(Math.round(Math.sqrt(Math.max(0.0, variance)))));
+    }
+}
@@ -0,0 +1,75 @@
+package net.coderodde.simulation.lunch;
+
+/**
+ * This class collects the wait times and the idle times of a simulation into
+ * fixed blocks of primitive arrays, and adds each full block to a
+ * {@link StatisticsAccumulator} in bulk, so that the
+ * {@link StatisticsKernel} reduces the statistics of large simulations. The
+ * accumulator is up to date only after {@link #flush()}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+final class StatisticsBuffer {
+
+    /**
+     * The number of observations of each kind held before adding them to the
+     * accumulator. Small enough for the block to stay in the cache.
+     */
+    static final int BLOCK_SIZE = 4096;
+
+    private final StatisticsAccumulator accumulator;
+    private final int[] degrees = new int[BLOCK_SIZE];
+    private final int[] waitTimes = new int[BLOCK_SIZE];
+    private final int[] idleTimes = new int[BLOCK_SIZE];
+    private int waitTimeCount;
+    private int idleTimeCount;
+
+    StatisticsBuffer(StatisticsAccumulator accumulator) {
+        this.accumulator = accumulator;
+    }
+
+    void addWaitTime(int degree, int waitTime) {
+        if (waitTimeCount == BLOCK_SIZE) {
+            flushWaitTimes();
+        }
+
+        degrees[waitTimeCount] = degree;
+        waitTimes[waitTimeCount] = waitTime;
+        ++waitTimeCount;
+    }
+
+    void addIdleTime(int idleTime) {
+        if (idleTimeCount == BLOCK_SIZE) {
+            flushIdleTimes();
+        }
+
+        idleTimes[idleTimeCount++] = idleTime;
+    }
+
+    /**
+     * Adds all the buffered observations to the accumulator.
+     */
+    void flush() {
+        flushWaitTimes();
+        flushIdleTimes();
+    }
+
+    /**
+     * Discards all the buffered observations.
+     */
+    void clear() {
+        waitTimeCount = 0;
+        idleTimeCount = 0;
+    }
+
+    private void flushWaitTimes() {
+        accumulator.addWaitTimes(degrees, waitTimes, waitTimeCount);
+        waitTimeCount = 0;
+    }
+
+    private void flushIdleTimes() {
+        accumulator.addIdleTimes(idleTimes, idleTimeCount);
+        idleTimeCount = 0;
+    }
+}
@@ -0,0 +1,190 @@
+package net.coderodde.simulation.lunch;
+
+import java.util.Arrays;
+
+/**
+ * This class computes the counts, sums, sums of squares, minimums and 
+ * maximums of grouped {@code int} observations held in primitive arrays, and
+ * optionally bins them into the wait time histograms of 
+ * {@link StatisticsAccumulator} in the same pass. The
+ * {@link #getInstance() default instance} is the SIMD kernel built on the 
+ * incubating Vector API whenever it is on the class path and the module
+ * {@code jdk.incubator.vector} is available, and the scalar kernel
+ * otherwise. Both produce exactly the same moments.
+ * <p>
+ * The SIMD kernel lives in the optional source root {@code src-vector}, so
+ * that the default build of {@code src} needs neither the incubator module
+ * nor its warning. To include it, compile {@code src} first and then
+ * <tt>javac --add-modules jdk.incubator.vector -cp out -d out
+ * src-vector/net/coderodde/simulation/lunch/*.java</tt>, and run with
+ * {@code --add-modules jdk.incubator.vector}.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+abstract class StatisticsKernel {
+    
+    /**
+     * Setting this system property to {@code false} forces the scalar kernel.
+     */
+    static final String VECTOR_PROPERTY = 
+            "net.coderodde.simulation.lunch.vector";
+    
+    private static final String VECTOR_KERNEL_CLASS_NAME = 
+            "net.coderodde.simulation.lunch.VectorStatisticsKernel";
+    
+    private static final StatisticsKernel INSTANCE = loadKernel();
+    
+    static StatisticsKernel getInstance() {
+        return INSTANCE;
+    }
+    
+    static StatisticsKernel getScalarInstance() {
+        return ScalarStatisticsKernel.INSTANCE;
+    }
+    
+    /**
+     * Returns the vectorized kernel, or {@code null} if the Vector API is not
+     * available.
+     * 
+     * @return the vectorized kernel or {@code null}.
+     */
+    static StatisticsKernel getVectorInstance() {
+        try {
+            // Loaded reflectively, so that this class links without the 
+            // incubator module.
+            return (StatisticsKernel) Class.forName(VECTOR_KERNEL_CLASS_NAME)
+                                           .getDeclaredConstructor()
+                                           .newInstance();
+        } catch (ReflectiveOperationException | LinkageError ex) {
+            return null;
+        }
+    }
+    
+    /**
+     * Adds the first {@code length} observations to the moments. The group of
+     * {@code values[i]} is {@code groups[i]}, which must be a valid index in
+     * the moment arrays. If the moments have histograms, each observation is
+     * also counted in the histogram of its group, in the bin given by 
+     * {@link StatisticsAccumulator#getHistogramBin(int)}.
+     * 
+     * @param groups  the group of each observation.
+     * @param values  the observations.
+     * @param length  the number of observations.
+     * @param moments the moments to update.
+     */
+    abstract void accumulate(int[] groups, 
+                             int[] values, 
+                             int length, 
+                             Moments moments);
+    
+    /**
+     * Adds the first {@code length} observations to the moments of the group
+     * zero.
+     * 
+     * @param values  the observations.
+     * @param length  the number of observations.
+     * @param moments the moments to update.
+     */
+    abstract void accumulate(int[] values, int length, Moments moments);
+    
+    private static StatisticsKernel loadKernel() {
+        if (!Boolean.parseBoolean(System.getProperty(VECTOR_PROPERTY, 
+                                                     "true"))) {
+            return getScalarInstance();
+        }
+        
+        StatisticsKernel kernel = getVectorInstance();
+        return kernel == null ? getScalarInstance() : kernel;
+    }
+    
+    /**
+     * The moments of a number of groups of observations.
+     */
+    static final class Moments {
+        
+        final long[] counts;
+        final long[] sums;
+        final long[] squareSums;
+        final int[] minimums;
+        final int[] maximums;
+        
+        /**
+         * The histogram of each group, updated in place, or {@code null} if 
+         * the observations are not binned.
+         */
+        final long[][] histograms;
+        
+        Moments(int groups) {
+            this(groups, null);
+        }
+        
+        Moments(int groups, long[][] histograms) {
+            this.histograms = histograms;
+            counts = new long[groups];
+            sums = new long[groups];
+            squareSums = new long[groups];
+            minimums = new int[groups];
+            maximums = new int[groups];
+            Arrays.fill(minimums, Integer.MAX_VALUE);
+            Arrays.fill(maximums, Integer.MIN_VALUE);
+        }
+    }
+    
+    private static final class ScalarStatisticsKernel 
+            extends StatisticsKernel {
+        
+        static final ScalarStatisticsKernel INSTANCE = 
+                new ScalarStatisticsKernel();
+        
+        @Override
+        void accumulate(int[] groups, 
+                        int[] values, 
+                        int length, 
+                        Moments moments) {
+            long[] counts = moments.counts;
+            long[] sums = moments.sums;
+            long[] squareSums = moments.squareSums;
+            int[] minimums = moments.minimums;
+            int[] maximums = moments.maximums;
+            long[][] histograms = moments.histograms;
+            
+            for (int i = 0; i < length; ++i) {
+                int group = groups[i];
+                int value = values[i];
+                ++counts[group];
+                sums[group] += value;
+                squareSums[group] += (long) value * value;
+                minimums[group] = Math.min(minimums[group], value);
+                maximums[group] = Math.max(maximums[group], value);
+                
+                if (histograms != null) {
+                    ++histograms[group][
+                            StatisticsAccumulator.getHistogramBin(value)];
+                }
+            }
+        }
+
+        @Override
+        void accumulate(int[] values, int length, Moments moments) {
+            long sum = 0L;
+            long squareSum = 0L;
+            int minimum = moments.minimums[0];
+            int maximum = moments.maximums[0];
+            
+            for (int i = 0; i < length; ++i) {
+                int value = values[i];
+                sum += value;
+                squareSum += (long) value * value;
+                minimum = Math.min(minimum, value);
+                maximum = Math.max(maximum, value);
+            }
+            
+            moments.counts[0] += length;
+            moments.sums[0] += sum;
+            moments.squareSums[0] += squareSum;
+            moments.minimums[0] = minimum;
+            moments.maximums[0] = maximum;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package net.coderodde.simulation.lunch;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * This class compares the scalar and the vectorized statistics kernels over
+ * random wait times of 10<sup>6</sup>, 10<sup>7</sup> and 10<sup>8</sup> 
+ * people, binning them into histograms as {@link StatisticsAccumulator} 
+ * does. Compile the optional {@code src-vector} root as described in
+ * {@link StatisticsKernel} and run it with 
+ * <tt>java --add-modules jdk.incubator.vector -Xmx2g 
+ * net.coderodde.simulation.lunch.StatisticsKernelBenchmark</tt>; without the
+ * kernel or the module only the scalar kernel is measured. An optional 
+ * argument overrides the largest size.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public final class StatisticsKernelBenchmark {
+    
+    private static final int REPETITIONS = 10;
+    private static final int DEGREES = AcademicDegree.values().length;
+    
+    private StatisticsKernelBenchmark() {}
+    
+    public static void main(String... args) {
+        int maximumSize = args.length > 0 ? 
+                          Integer.parseInt(args[0]) : 
+                          100_000_000;
+        StatisticsKernel scalar = StatisticsKernel.getScalarInstance();
+        StatisticsKernel vector = StatisticsKernel.getVectorInstance();
+        
+        if (vector == null) {
+            System.out.println(
+                    "The Vector API is not available; " + 
+                    "compile src-vector and run with " +
+                    "--add-modules jdk.incubator.vector.");
+        }
+        
+        for (int size = 1_000_000; size <= maximumSize; size *= 10) {
+            int[] degrees = new int[size];
+            int[] waitTimes = new int[size];
+            SplittableRandom random = new SplittableRandom(size);
+            
+            for (int i = 0; i < size; ++i) {
+                degrees[i] = random.nextInt(DEGREES);
+                waitTimes[i] = random.nextInt(3600);
+            }
+            
+            long scalarNanos = measure(scalar, degrees, waitTimes);
+            System.out.printf("%,12d people, scalar: %8.2f ms", 
+                              size, scalarNanos / 1e6);
+            
+            if (vector != null) {
+                long vectorNanos = measure(vector, degrees, waitTimes);
+                System.out.printf(", vector: %8.2f ms, speedup: %.2f, " + 
+                                  "equal: %b",
+                                  vectorNanos / 1e6, 
+                                  1.0 * scalarNanos / vectorNanos,
+                                  equal(scalar, vector, degrees, waitTimes));
+            }
+            
+            System.out.println();
+        }
+    }
+    
+    // Returns the best time over a number of repetitions after a warmup.
+    private static long measure(StatisticsKernel kernel, 
+                                int[] degrees,
+                                int[] waitTimes) {
+        long best = Long.MAX_VALUE;
+        
+        for (int repetition = 0; repetition < 2 * REPETITIONS; ++repetition) {
+            StatisticsKernel.Moments moments = createMoments();
+            long startTime = System.nanoTime();
+            kernel.accumulate(degrees, waitTimes, waitTimes.length, moments);
+            long endTime = System.nanoTime();
+            
+            if (repetition >= REPETITIONS) {
+                best = Math.min(best, endTime - startTime);
+            }
+        }
+        
+        return best;
+    }
+    
+    private static boolean equal(StatisticsKernel kernel1,
+                                 StatisticsKernel kernel2,
+                                 int[] degrees,
+                                 int[] waitTimes) {
+        StatisticsKernel.Moments moments1 = createMoments();
+        StatisticsKernel.Moments moments2 = createMoments();
+        kernel1.accumulate(degrees, waitTimes, waitTimes.length, moments1);
+        kernel2.accumulate(degrees, waitTimes, waitTimes.length, moments2);
+        return Arrays.equals(moments1.counts, moments2.counts)
+            && Arrays.equals(moments1.sums, moments2.sums)
+            && Arrays.equals(moments1.squareSums, moments2.squareSums)
+            && Arrays.equals(moments1.minimums, moments2.minimums)
+            && Arrays.equals(moments1.maximums, moments2.maximums)
+            && Arrays.deepEquals(moments1.histograms, moments2.histograms);
+    }
+    
+    private static StatisticsKernel.Moments createMoments() {
+        return new StatisticsKernel.Moments(
+                DEGREES, 
+                new long[DEGREES][StatisticsAccumulator.HISTOGRAM_BINS]);
+    }
+}
@@ -0,0 +1,330 @@
+package net.coderodde.simulation.lunch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class runs the single cashier simulation one event at a time, so that
+ * the caller may observe the lunch queue as it evolves. There are three
+ * kinds of events: the arrival of a person, the admission of a person to the
+ * cashier and the departure of a served person. The events are processed in
+ * the order of their times; at equal times a departure precedes the arrivals,
+ * which precede the admission, exactly as in {@link Simulator}. Hence,
+ * stepping through the whole day gives the same served order and the same
+ * statistics as the batch simulation over the same population and cashier.
+ * <p>
+ * An instance may be reused for any number of simulations via
+ * {@link #reset(PackedPopulation, Cashier)}. The listeners are dispatched
+ * through a single field that is {@code null} while no listener is
+ * registered, so an unobserved simulation pays one branch per event.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public final class SteppingSimulator {
+
+    private static final AcademicDegree[] DEGREES = AcademicDegree.values();
+
+    private final PrimitivePrioritizedQueue queue =
+            new PrimitivePrioritizedQueue();
+    private final StatisticsAccumulator accumulator =
+            new StatisticsAccumulator();
+    private final List<SimulationListener> listeners = new ArrayList<>();
+
+    /**
+     * The listener to dispatch the events to, or {@code null} if there are
+     * no listeners.
+     */
+    private SimulationListener listener;
+
+    private int[] packedPeople = new int[0];
+    private Cashier cashier;
+    private int nextIndex;
+    private int clock;
+    private int lastDepartureTime;
+
+    private boolean busy;
+    private int departureTime;
+    private int servedDegree;
+    private int servedArrivalTime;
+    private long servedId;
+
+    /**
+     * Prepares this simulator for a new simulation. The listeners are kept.
+     *
+     * @param population the population to simulate.
+     * @param cashier    the cashier serving the population.
+     */
+    public void reset(PackedPopulation population, Cashier cashier) {
+        Objects.requireNonNull(population, "The input population is null.");
+        Objects.requireNonNull(cashier, "The input cashier is null.");
+        this.packedPeople = population.getPackedPeople();
+        this.cashier = cashier;
+        this.nextIndex = 0;
+        this.clock = packedPeople.length == 0 ?
+                     0 :
+                     PackedPopulation.unpackArrivalTime(packedPeople[0]);
+        this.lastDepartureTime = clock;
+        this.busy = false;
+        queue.clear();
+        accumulator.clear();
+    }
+
+    public void addListener(SimulationListener listener) {
+        Objects.requireNonNull(listener, "The input listener is null.");
+        listeners.add(listener);
+        updateListener();
+    }
+
+    public boolean removeListener(SimulationListener listener) {
+        boolean removed = listeners.remove(listener);
+        updateListener();
+        return removed;
+    }
+
+    public boolean isFinished() {
+        return !busy && queue.isEmpty() && nextIndex == packedPeople.length;
+    }
+
+    /**
+     * Returns the time of the latest processed event.
+     *
+     * @return the current time.
+     */
+    public int getClock() {
+        return clock;
+    }
+
+    /**
+     * Returns the time of the next event, or {@link Integer#MAX_VALUE} if
+     * the simulation is finished.
+     *
+     * @return the time of the next event.
+     */
+    public int getNextEventTime() {
+        if (busy) {
+            return nextIndex < packedPeople.length ?
+                   Math.min(departureTime, getNextArrivalTime()) :
+                   departureTime;
+        }
+
+        if (!queue.isEmpty()) {
+            return clock;
+        }
+
+        return nextIndex < packedPeople.length ?
+               getNextArrivalTime() :
+               Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns the number of people waiting, not counting the person being
+     * served.
+     *
+     * @return the queue length.
+     */
+    public int getQueueLength() {
+        return queue.size();
+    }
+
+    public boolean isCashierBusy() {
+        return busy;
+    }
+
+    /**
+     * Processes at most {@code events} events.
+     *
+     * @param  events the maximum number of events to process.
+     * @return the number of events processed, which is less than
+     *         {@code events} only if the simulation finished.
+     */
+    public int step(int events) {
+        if (events < 0) {
+            throw new IllegalArgumentException(
+                    "The number of events is negative: " + events);
+        }
+
+        int processed = 0;
+
+        while (processed < events && processNextEvent()) {
+            ++processed;
+        }
+
+        return processed;
+    }
+
+    /**
+     * Processes all the events occurring not later than {@code time}.
+     *
+     * @param  time the time to advance to.
+     * @return the number of events processed.
+     */
+    public int advanceTo(int time) {
+        int processed = 0;
+
+        while (getNextEventTime() <= time && processNextEvent()) {
+            ++processed;
+        }
+
+        return processed;
+    }
+
+    /**
+     * Processes all the remaining events and returns the result.
+     *
+     * @return the result of the simulation.
+     */
+    public SimulationResult finish() {
+        while (processNextEvent()) {}
+        return getResult();
+    }
+
+    /**
+     * Returns the statistics of the people served so far.
+     *
+     * @return the result of the simulation so far.
+     */
+    public SimulationResult getResult() {
+        return accumulator.toSimulationResult();
+    }
+
+    private boolean processNextEvent() {
+        if (busy) {
+            if (nextIndex < packedPeople.length
+                    && getNextArrivalTime() < departureTime) {
+                arrive();
+            } else {
+                depart();
+            }
+
+            return true;
+        }
+
+        if (nextIndex < packedPeople.length
+                && (queue.isEmpty() || getNextArrivalTime() <= clock)) {
+            arrive();
+            return true;
+        }
+
+        if (queue.isEmpty()) {
+            return false;
+        }
+
+        startService();
+        return true;
+    }
+
+    private void arrive() {
+        int packedPerson = packedPeople[nextIndex];
+        int degree = PackedPopulation.unpackDegree(packedPerson);
+        int arrivalTime = PackedPopulation.unpackArrivalTime(packedPerson);
+
+        // Also while the cashier is busy, so that the clock stays the time of
+        // the latest event; the departure sets it to the departure time.
+        if (arrivalTime > clock) {
+            clock = arrivalTime;
+        }
+
+        queue.push(degree, arrivalTime, nextIndex);
+
+        if (listener != null) {
+            listener.onArrival(nextIndex, DEGREES[degree], arrivalTime);
+        }
+
+        ++nextIndex;
+    }
+
+    private void startService() {
+        accumulator.addIdleTime(clock - lastDepartureTime);
+
+        // Admit an earliest + highest priority person to the cashier.
+        servedDegree = queue.pop();
+        servedArrivalTime = queue.getLastArrivalTime();
+        servedId = queue.getLastId();
+        busy = true;
+        departureTime = clock + cashier.getServiceTime();
+
+        if (listener != null) {
+            listener.onServiceStart(servedId,
+                                    DEGREES[servedDegree],
+                                    servedArrivalTime,
+                                    clock);
+        }
+    }
+
+    private void depart() {
+        clock = departureTime;
+        lastDepartureTime = departureTime;
+        busy = false;
+        accumulator.addWaitTime(servedDegree, clock - servedArrivalTime);
+
+        if (listener != null) {
+            listener.onDeparture(servedId,
+                                 DEGREES[servedDegree],
+                                 servedArrivalTime,
+                                 clock);
+        }
+    }
+
+    private int getNextArrivalTime() {
+        return PackedPopulation.unpackArrivalTime(packedPeople[nextIndex]);
+    }
+
+    private void updateListener() {
+        switch (listeners.size()) {
+            case 0:
+                listener = null;
+                break;
+
+            case 1:
+                listener = listeners.get(0);
+                break;
+
+            default:
+                listener = new MulticastListener(
+                        listeners.toArray(new SimulationListener[0]));
+        }
+    }
+
+    /**
+     * Dispatches the events to several listeners in the order of
+     * registration.
+     */
+    private static final class MulticastListener
+            implements SimulationListener {
+
+        private final SimulationListener[] listeners;
+
+        MulticastListener(SimulationListener[] listeners) {
+            this.listeners = listeners;
+        }
+
+        @Override
+        public void onArrival(long id, AcademicDegree degree, int time) {
+            for (SimulationListener listener : listeners) {
+                listener.onArrival(id, degree, time);
+            }
+        }
+
+        @Override
+        public void onServiceStart(long id,
+                                   AcademicDegree degree,
+                                   int arrivalTime,
+                                   int time) {
+            for (SimulationListener listener : listeners) {
+                listener.onServiceStart(id, degree, arrivalTime, time);
+            }
+        }
+
+        @Override
+        public void onDeparture(long id,
+                                AcademicDegree degree,
+                                int arrivalTime,
+                                int time) {
+            for (SimulationListener listener : listeners) {
+                listener.onDeparture(id, degree, arrivalTime, time);
+            }
+        }
+    }
+}
@@ -0,0 +1,398 @@
+package net.coderodde.simulation.lunch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * This class answers "what if" questions about the average wait times
+ * without running any simulation at query time. A base configuration is
+ * given together with ranges of some of its parameters: the group sizes,
+ * the lunch time standard deviation and the service time distribution. The
+ * model simulates a maximin Latin hypercube design over the ranges, a few
+ * independent replications per design point, and fits a Gaussian process
+ * per academic degree to the average wait times of the points. A query then
+ * takes microseconds and returns the predicted average wait time of each
+ * degree with its standard error.
+ * <p>
+ * The model refines itself on request: it picks the candidate point at which
+ * the surrogate is the most uncertain relative to the spread of the data,
+ * simulates it and refits. The parameters not given a range stay at their
+ * base values, and a query must agree with them.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public final class SurrogateModel {
+
+    private static final AcademicDegree[] DEGREES = AcademicDegree.values();
+
+    /**
+     * The number of random Latin hypercubes out of which the one with the
+     * largest minimum distance between its points is simulated.
+     */
+    private static final int MAXIMIN_TRIES = 32;
+
+    /**
+     * The number of random candidates scored when picking a refinement
+     * point.
+     */
+    private static final int REFINEMENT_CANDIDATES = 1024;
+
+    private final ParameterSpace space;
+    private final int replicationsPerPoint;
+    private final Random random;
+    private final ReusableSimulator simulator = new ReusableSimulator();
+
+    private final List<double[]> points = new ArrayList<>();
+    private final List<double[]> means = new ArrayList<>();
+    private final List<double[]> noiseVariances = new ArrayList<>();
+    private final GaussianProcess[] processes =
+            new GaussianProcess[DEGREES.length];
+
+    /**
+     * Initiates the strong fluent API for building a surrogate model.
+     *
+     * @param  configuration the base configuration.
+     * @return a range selector.
+     */
+    public static RangeSelector around(ReplicationConfiguration configuration) {
+        Objects.requireNonNull(configuration,
+                               "The input configuration is null.");
+        return new RangeSelector(configuration);
+    }
+
+    public static final class RangeSelector {
+
+        private final ParameterSpace space;
+
+        private RangeSelector(ReplicationConfiguration configuration) {
+            this.space = new ParameterSpace(configuration);
+        }
+
+        public RangeSelector varyingPeopleCount(AcademicDegree degree,
+                                                int minimum,
+                                                int maximum) {
+            space.varyPeopleCount(degree, minimum, maximum);
+            return this;
+        }
+
+        public RangeSelector varyingLunchTimeStandardDeviation(
+                double minimum,
+                double maximum) {
+            space.varyLunchTimeStandardDeviation(minimum, maximum);
+            return this;
+        }
+
+        public RangeSelector varyingMeanServiceTime(double minimum,
+                                                    double maximum) {
+            space.varyMeanServiceTime(minimum, maximum);
+            return this;
+        }
+
+        public RangeSelector varyingStandardDeviationOfServiceTime(
+                double minimum,
+                double maximum) {
+            space.varyStandardDeviationOfServiceTime(minimum, maximum);
+            return this;
+        }
+
+        /**
+         * Simulates the initial design and fits the surrogate.
+         *
+         * @param  points               the number of design points.
+         * @param  replicationsPerPoint the number of replications per point.
+         * @param  seed                 the seed of the design and of the
+         *                              replications.
+         * @return the fitted model.
+         */
+        public SurrogateModel withDesign(int points,
+                                         int replicationsPerPoint,
+                                         long seed) {
+            if (points < 2) {
+                throw new IllegalArgumentException(
+                        "Too few design points: " + points);
+            }
+
+            if (replicationsPerPoint < 2) {
+                throw new IllegalArgumentException(
+                        "Too few replications per point: " +
+                        replicationsPerPoint);
+            }
+
+            if (space.getDimensions() == 0) {
+                throw new IllegalStateException("No parameter is varied.");
+            }
+
+            SurrogateModel model = new SurrogateModel(space.copy(),
+                                                      replicationsPerPoint,
+                                                      seed);
+
+            for (double[] point : model.createDesign(points)) {
+                model.simulate(point);
+            }
+
+            model.fit();
+            return model;
+        }
+    }
+
+    private SurrogateModel(ParameterSpace space,
+                           int replicationsPerPoint,
+                           long seed) {
+        this.space = space;
+        this.replicationsPerPoint = replicationsPerPoint;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Predicts the average wait times of the given configuration. Its
+     * parameters must lie within the ranges of the model, and the parameters
+     * without a range must equal those of the base configuration.
+     *
+     * @param  configuration the configuration to predict.
+     * @return the prediction.
+     */
+    public SurrogatePrediction predict(ReplicationConfiguration configuration) {
+        Objects.requireNonNull(configuration,
+                               "The input configuration is null.");
+        double[] point = space.toPoint(configuration);
+        double[] predictedMeans = new double[DEGREES.length];
+        double[] standardErrors = new double[DEGREES.length];
+        double[] result = new double[2];
+
+        for (int degree = 0; degree < DEGREES.length; ++degree) {
+            if (processes[degree] == null) {
+                predictedMeans[degree] = Double.NaN;
+                standardErrors[degree] = Double.NaN;
+                continue;
+            }
+
+            processes[degree].predict(point, result);
+            predictedMeans[degree] = result[0];
+            standardErrors[degree] = Math.sqrt(result[1]);
+        }
+
+        return new SurrogatePrediction(predictedMeans, standardErrors);
+    }
+
+    /**
+     * Simulates the given number of additional points, each chosen where the
+     * surrogate is the most uncertain, and refits after each of them.
+     *
+     * @param points the number of points to add.
+     */
+    public void refine(int points) {
+        refineUntil(0.0, points);
+    }
+
+    /**
+     * Adds points as {@link #refine(int)} does until the half width of the
+     * 95% interval is at most {@code halfWidth} seconds for every degree at
+     * every scored candidate, or until {@code maximumPoints} points have
+     * been added.
+     *
+     * @param  halfWidth     the target half width in seconds.
+     * @param  maximumPoints the maximum number of points to add.
+     * @return the number of points added.
+     */
+    public int refineUntil(double halfWidth, int maximumPoints) {
+        if (maximumPoints < 0) {
+            throw new IllegalArgumentException(
+                    "The maximum number of points is negative: " +
+                    maximumPoints);
+        }
+
+        double[] result = new double[2];
+
+        for (int added = 0; added < maximumPoints; ++added) {
+            double[] bestPoint = null;
+            double bestScore = -1.0;
+            double widest = 0.0;
+
+            for (int i = 0; i < REFINEMENT_CANDIDATES; ++i) {
+                double[] candidate = space.round(randomPoint());
+                double score = 0.0;
+
+                for (GaussianProcess process : processes) {
+                    if (process == null) {
+                        continue;
+                    }
+
+                    process.predict(candidate, result);
+                    double standardError = Math.sqrt(result[1]);
+                    widest = Math.max(widest,
+                                      SurrogatePrediction.Z * standardError);
+                    score = Math.max(score,
+                                     standardError /
+                                     process.getOutputScale());
+                }
+
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestPoint = candidate;
+                }
+            }
+
+            if (widest <= halfWidth) {
+                return added;
+            }
+
+            simulate(bestPoint);
+            fit();
+        }
+
+        return maximumPoints;
+    }
+
+    public int getPointCount() {
+        return points.size();
+    }
+
+    public int getReplicationsPerPoint() {
+        return replicationsPerPoint;
+    }
+
+    /**
+     * Creates the Latin hypercube with the largest minimum distance between
+     * its points out of {@link #MAXIMIN_TRIES} random ones.
+     */
+    private double[][] createDesign(int size) {
+        double[][] best = null;
+        double bestDistance = -1.0;
+
+        for (int attempt = 0; attempt < MAXIMIN_TRIES; ++attempt) {
+            double[][] design = LatinHypercube.create(size,
+                                                      space.getDimensions(),
+                                                      random);
+            double distance = Double.POSITIVE_INFINITY;
+
+            for (int i = 0; i < size; ++i) {
+                design[i] = space.round(design[i]);
+
+                for (int k = 0; k < i; ++k) {
+                    distance = Math.min(distance,
+                                        squaredDistance(design[i],
+                                                        design[k]));
+                }
+            }
+
+            if (distance > bestDistance) {
+                bestDistance = distance;
+                best = design;
+            }
+        }
+
+        return best;
+    }
+
+    private double[] randomPoint() {
+        double[] point = new double[space.getDimensions()];
+
+        for (int j = 0; j < point.length; ++j) {
+            point[j] = random.nextDouble();
+        }
+
+        return point;
+    }
+
+    /**
+     * Runs the replications of a point and records, per degree, the average
+     * of the replication averages and its variance. A degree nobody of which
+     * was served is recorded as {@code NaN}.
+     */
+    private void simulate(double[] point) {
+        ReplicationConfiguration configuration = space.toConfiguration(point);
+        double[] sums = new double[DEGREES.length];
+        double[] squareSums = new double[DEGREES.length];
+        int[] counts = new int[DEGREES.length];
+
+        for (int replication = 0;
+                replication < replicationsPerPoint;
+                ++replication) {
+            Random replicationRandom = new Random(random.nextLong());
+            ReplicationSummary summary = new ReplicationSummary();
+            simulator.simulate(
+                    configuration.generatePackedPopulation(replicationRandom),
+                    configuration.createCashier(replicationRandom),
+                    summary);
+
+            for (AcademicDegree degree : DEGREES) {
+                double mean = summary.getMeanWaitTime(degree);
+
+                if (!Double.isNaN(mean)) {
+                    sums[degree.ordinal()] += mean;
+                    squareSums[degree.ordinal()] += mean * mean;
+                    ++counts[degree.ordinal()];
+                }
+            }
+        }
+
+        double[] pointMeans = new double[DEGREES.length];
+        double[] pointNoiseVariances = new double[DEGREES.length];
+
+        for (int degree = 0; degree < DEGREES.length; ++degree) {
+            int count = counts[degree];
+
+            if (count < 2) {
+                pointMeans[degree] = Double.NaN;
+                pointNoiseVariances[degree] = Double.NaN;
+                continue;
+            }
+
+            double mean = sums[degree] / count;
+            double variance = (squareSums[degree] - count * mean * mean) /
+                              (count - 1);
+            pointMeans[degree] = mean;
+            pointNoiseVariances[degree] = Math.max(0.0, variance) / count;
+        }
+
+        points.add(point);
+        means.add(pointMeans);
+        noiseVariances.add(pointNoiseVariances);
+    }
+
+    private void fit() {
+        for (int degree = 0; degree < DEGREES.length; ++degree) {
+            List<Integer> observed = new ArrayList<>();
+
+            for (int i = 0; i < points.size(); ++i) {
+                if (!Double.isNaN(means.get(i)[degree])) {
+                    observed.add(i);
+                }
+            }
+
+            if (observed.size() < 2) {
+                processes[degree] = null;
+                continue;
+            }
+
+            double[][] inputs = new double[observed.size()][];
+            double[] outputs = new double[observed.size()];
+            double[] variances = new double[observed.size()];
+
+            for (int k = 0; k < observed.size(); ++k) {
+                int i = observed.get(k);
+                inputs[k] = points.get(i);
+                outputs[k] = means.get(i)[degree];
+                variances[k] = noiseVariances.get(i)[degree];
+            }
+
+            processes[degree] = new GaussianProcess(inputs,
+                                                    outputs,
+                                                    variances);
+        }
+    }
+
+    private static double squaredDistance(double[] point1, double[] point2) {
+        double distance = 0.0;
+
+        for (int j = 0; j < point1.length; ++j) {
+            double delta = point1[j] - point2[j];
+            distance += delta * delta;
+        }
+
+        return distance;
+    }
+}
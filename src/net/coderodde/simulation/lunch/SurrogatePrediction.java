@@ -0,0 +1,76 @@
+package net.coderodde.simulation.lunch;
+
+/**
+ * This class holds a prediction of {@link SurrogateModel}: for each academic
+ * degree, the predicted average wait time together with its standard error
+ * and a 95% interval. The standard error measures how uncertain the
+ * surrogate is about the average wait time of the queried configuration; it
+ * is small near the simulated design points and grows away from them.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public final class SurrogatePrediction {
+
+    /**
+     * The 97.5% quantile of the standard normal distribution.
+     */
+    static final double Z = 1.959963984540054;
+
+    private static final String NL = "\n";
+    private static final String SKIP = "    ";
+
+    private final double[] means;
+    private final double[] standardErrors;
+
+    SurrogatePrediction(double[] means, double[] standardErrors) {
+        this.means = means;
+        this.standardErrors = standardErrors;
+    }
+
+    /**
+     * Returns the predicted average wait time of the given degree, or
+     * {@code NaN} if the surrogate has no data about the degree.
+     *
+     * @param  degree the academic degree.
+     * @return the predicted average wait time in seconds.
+     */
+    public double getMeanWaitTime(AcademicDegree degree) {
+        return means[degree.ordinal()];
+    }
+
+    public double getStandardError(AcademicDegree degree) {
+        return standardErrors[degree.ordinal()];
+    }
+
+    public double getLowerBound(AcademicDegree degree) {
+        return getMeanWaitTime(degree) - Z * getStandardError(degree);
+    }
+
+    public double getUpperBound(AcademicDegree degree) {
+        return getMeanWaitTime(degree) + Z * getStandardError(degree);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+
+        for (AcademicDegree degree : AcademicDegree.values()) {
+            if (Double.isNaN(getMeanWaitTime(degree))) {
+                continue;
+            }
+
+            sb.append(degree).append(":").append(NL)
+              .append(SKIP).append("Average wait time: ")
+              .append(String.format("%.2f", getMeanWaitTime(degree)))
+              .append(" seconds.").append(NL)
+              .append(SKIP).append("95% interval:      [")
+              .append(String.format("%.2f", getLowerBound(degree)))
+              .append(", ")
+              .append(String.format("%.2f", getUpperBound(degree)))
+              .append("]").append(NL);
+        }
+
+        return sb.toString().trim();
+    }
+}
@@ -0,0 +1,81 @@
+package net.coderodde.simulation.lunch;
+
+/**
+ * This class checks {@link TailProbabilityEstimator} for bias: it estimates
+ * the long wait probabilities of a small, congested population once by
+ * plain replications and once by splitting at dense levels, where a single
+ * service often crosses several levels at once, and fails unless the two
+ * estimates agree within four combined standard errors for every degree. An
+ * optional argument overrides the number of replications.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public final class TailProbabilityCheck {
+
+    private static final int WAIT_THRESHOLD = 120;
+    private static final int SPLITTING_FACTOR = 2;
+    private static final int[] LEVELS = {
+        2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12
+    };
+
+    /**
+     * The largest accepted difference of the estimates in combined standard
+     * errors.
+     */
+    private static final double TOLERANCE = 4.0;
+
+    private TailProbabilityCheck() {}
+
+    public static void main(String... args) {
+        int replications = args.length > 0 ?
+                           Integer.parseInt(args[0]) :
+                           5_000;
+        ReplicationConfiguration configuration =
+                ReplicationConfiguration
+                        .with(7).peopleWithDegree(AcademicDegree.DOCTOR)
+                        .with(20).peopleWithDegree(AcademicDegree.MASTER)
+                        .with(25).peopleWithDegree(AcademicDegree.BACHELOR)
+                        .with(25).peopleWithDegree(
+                                AcademicDegree.UNDERGRADUATE)
+                        .withMeanLunchTime(43200.0)
+                        .withLunchTimeStandardDeviation(300.0)
+                        .withMeanServiceTime(12.0)
+                        .withStandardDeviationOfServiceTime(3.0);
+        TailProbabilityEstimator.SplittingSelector selector =
+                TailProbabilityEstimator.of(configuration)
+                                        .withWaitThreshold(WAIT_THRESHOLD);
+        TailProbabilityEstimate plain =
+                selector.withoutSplitting().withSeeds(0L, replications);
+        TailProbabilityEstimate split =
+                selector.withSplitting(SPLITTING_FACTOR, LEVELS)
+                        .withSeeds(0L, replications);
+        boolean agree = true;
+
+        for (AcademicDegree degree : AcademicDegree.values()) {
+            double difference = split.getProbability(degree) -
+                                plain.getProbability(degree);
+            double standardError =
+                    Math.hypot(plain.getStandardError(degree),
+                               split.getStandardError(degree));
+            boolean agrees =
+                    Math.abs(difference) <= TOLERANCE * standardError;
+            agree &= agrees;
+            System.out.printf("%-13s plain: %.4f +- %.4f, " +
+                              "splitting: %.4f +- %.4f%s\n",
+                              degree,
+                              plain.getProbability(degree),
+                              plain.getStandardError(degree),
+                              split.getProbability(degree),
+                              split.getStandardError(degree),
+                              agrees ? "" : "  DISAGREE");
+        }
+
+        if (!agree) {
+            throw new IllegalStateException(
+                    "The splitting estimate disagrees with the plain one.");
+        }
+
+        System.out.println("The estimates agree.");
+    }
+}
@@ -0,0 +1,136 @@
+package net.coderodde.simulation.lunch;
+
+/**
+ * This class holds the estimates of {@link TailProbabilityEstimator}: for
+ * each academic degree, the probability that a person of that degree waits
+ * longer than the threshold, together with its standard error and a 95%
+ * confidence interval over the independent replications.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public final class TailProbabilityEstimate {
+
+    /**
+     * The 97.5% quantile of the standard normal distribution.
+     */
+    private static final double Z = 1.959963984540054;
+
+    private static final String NL = "\n";
+    private static final String SKIP = "    ";
+
+    private final int waitThreshold;
+    private final int replications;
+    private final double[] means;
+    private final double[] standardErrors;
+    private final long services;
+    private final long trajectories;
+
+    TailProbabilityEstimate(int waitThreshold,
+                            int replications,
+                            double[] sums,
+                            double[] squareSums,
+                            long services,
+                            long trajectories) {
+        this.waitThreshold = waitThreshold;
+        this.replications = replications;
+        this.means = new double[sums.length];
+        this.standardErrors = new double[sums.length];
+        this.services = services;
+        this.trajectories = trajectories;
+
+        for (int i = 0; i < sums.length; ++i) {
+            means[i] = sums[i] / replications;
+            double variance = (squareSums[i] - replications * means[i] *
+                               means[i]) / (replications - 1);
+            standardErrors[i] = Math.sqrt(Math.max(0.0, variance) /
+                                          replications);
+        }
+    }
+
+    public int getWaitThreshold() {
+        return waitThreshold;
+    }
+
+    public int getReplications() {
+        return replications;
+    }
+
+    /**
+     * Returns the estimated probability that a person of the given degree
+     * waits longer than the threshold.
+     *
+     * @param  degree the academic degree.
+     * @return the estimated probability.
+     */
+    public double getProbability(AcademicDegree degree) {
+        return means[degree.ordinal()];
+    }
+
+    public double getStandardError(AcademicDegree degree) {
+        return standardErrors[degree.ordinal()];
+    }
+
+    public double getConfidenceIntervalLowerBound(AcademicDegree degree) {
+        return Math.max(0.0, getProbability(degree) -
+                             Z * getStandardError(degree));
+    }
+
+    public double getConfidenceIntervalUpperBound(AcademicDegree degree) {
+        return getProbability(degree) + Z * getStandardError(degree);
+    }
+
+    /**
+     * Returns the standard error relative to the estimate, or {@code NaN} if
+     * the estimate is zero.
+     *
+     * @param  degree the academic degree.
+     * @return the relative error.
+     */
+    public double getRelativeError(AcademicDegree degree) {
+        double probability = getProbability(degree);
+        return probability == 0.0 ?
+               Double.NaN :
+               getStandardError(degree) / probability;
+    }
+
+    /**
+     * Returns the total number of services simulated over all the
+     * trajectories, which measures the work spent on the estimate.
+     *
+     * @return the number of services simulated.
+     */
+    public long getSimulatedServices() {
+        return services;
+    }
+
+    public long getTrajectories() {
+        return trajectories;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Wait threshold: ").append(waitThreshold)
+          .append(" seconds.").append(NL)
+          .append("Replications: ").append(replications)
+          .append(", trajectories: ").append(trajectories)
+          .append(", services: ").append(services).append(NL);
+
+        for (AcademicDegree degree : AcademicDegree.values()) {
+            sb.append(degree).append(":").append(NL)
+              .append(SKIP).append("P(wait > threshold): ")
+              .append(String.format("%.3e", getProbability(degree)))
+              .append(NL)
+              .append(SKIP).append("95% interval:        [")
+              .append(String.format("%.3e",
+                                    getConfidenceIntervalLowerBound(degree)))
+              .append(", ")
+              .append(String.format("%.3e",
+                                    getConfidenceIntervalUpperBound(degree)))
+              .append("]").append(NL);
+        }
+
+        return sb.toString().trim();
+    }
+}
@@ -0,0 +1,382 @@
+package net.coderodde.simulation.lunch;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * This class estimates the probability that a person of a given academic
+ * degree waits longer than a threshold when that probability is too small
+ * for plain replications. It uses the RESTART variant of multilevel
+ * splitting on the queue length: whenever a trajectory of the simulation
+ * crosses a queue length level upwards, it is split into
+ * {@code splittingFactor} trajectories that share the past but draw their
+ * future service times independently. When a single step crosses several
+ * levels, every trajectory created at a lower one of them splits again at
+ * the higher ones, just as if the levels were crossed one at a time. A
+ * trajectory created at a level is killed as soon as the queue length drops
+ * below that level. A person served
+ * while the queue length is at or above <i>i</i> levels is counted with the
+ * weight <tt>1 / splittingFactor<sup>i</sup></tt>, which makes the estimate
+ * unbiased while spending most of the work on the congested stretches of the
+ * day, where the long waits happen.
+ * <p>
+ * Each replication draws its own population and runs one splitting tree
+ * from the seed of the replication, so the estimates of different
+ * replications are independent and yield confidence intervals. Without
+ * levels, the estimator reduces to plain replications.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public final class TailProbabilityEstimator {
+
+    private static final AcademicDegree[] DEGREES = AcademicDegree.values();
+
+    /**
+     * Mixed into the seed of a replication to obtain the seed of the
+     * splitting decisions, so that the original trajectory draws exactly the
+     * same service times as a plain replication with the same seed.
+     */
+    private static final long SPLITTING_SEED_MIX = 0x9e3779b97f4a7c15L;
+
+    private final ReplicationConfiguration configuration;
+    private final int waitThreshold;
+    private final int splittingFactor;
+    private final int[] levels;
+
+    private TailProbabilityEstimator(ReplicationConfiguration configuration,
+                                     int waitThreshold,
+                                     int splittingFactor,
+                                     int[] levels) {
+        this.configuration = configuration;
+        this.waitThreshold = waitThreshold;
+        this.splittingFactor = splittingFactor;
+        this.levels = levels;
+    }
+
+    /**
+     * Initiates the strong fluent API for estimating tail probabilities.
+     *
+     * @param  configuration the configuration of every replication.
+     * @return a wait threshold selector.
+     */
+    public static WaitThresholdSelector of(
+            ReplicationConfiguration configuration) {
+        Objects.requireNonNull(configuration,
+                               "The input configuration is null.");
+        return new WaitThresholdSelector(configuration);
+    }
+
+    public static final class WaitThresholdSelector {
+
+        private final ReplicationConfiguration configuration;
+
+        private WaitThresholdSelector(ReplicationConfiguration configuration) {
+            this.configuration = configuration;
+        }
+
+        /**
+         * Selects the wait time threshold. The estimated probabilities are
+         * those of waiting strictly longer than the threshold.
+         *
+         * @param  waitThreshold the wait time threshold in seconds.
+         * @return a splitting selector.
+         */
+        public SplittingSelector withWaitThreshold(int waitThreshold) {
+            if (waitThreshold < 0) {
+                throw new IllegalArgumentException(
+                        "The wait threshold is negative: " + waitThreshold);
+            }
+
+            return new SplittingSelector(configuration, waitThreshold);
+        }
+    }
+
+    public static final class SplittingSelector {
+
+        private final ReplicationConfiguration configuration;
+        private final int waitThreshold;
+
+        private SplittingSelector(ReplicationConfiguration configuration,
+                                  int waitThreshold) {
+            this.configuration = configuration;
+            this.waitThreshold = waitThreshold;
+        }
+
+        /**
+         * Selects the splitting factor and the queue length levels. A good
+         * choice spaces the levels so that a trajectory reaching a level
+         * reaches the next one with probability about
+         * {@code 1 / splittingFactor}; denser levels or a larger factor
+         * multiply the work without improving the estimate.
+         *
+         * @param  splittingFactor the number of trajectories a trajectory is
+         *                         split into at a level.
+         * @param  levels          the strictly increasing, positive queue
+         *                         length levels.
+         * @return the estimator.
+         */
+        public TailProbabilityEstimator withSplitting(int splittingFactor,
+                                                      int... levels) {
+            Objects.requireNonNull(levels, "The input level array is null.");
+
+            if (splittingFactor < 1) {
+                throw new IllegalArgumentException(
+                        "The splitting factor is not positive: " +
+                        splittingFactor);
+            }
+
+            for (int i = 0; i < levels.length; ++i) {
+                if (levels[i] < 1 || (i > 0 && levels[i] <= levels[i - 1])) {
+                    throw new IllegalArgumentException(
+                            "The levels are not strictly increasing " +
+                            "positive queue lengths: " +
+                            Arrays.toString(levels));
+                }
+            }
+
+            return new TailProbabilityEstimator(configuration,
+                                                waitThreshold,
+                                                splittingFactor,
+                                                levels.clone());
+        }
+
+        /**
+         * Selects no splitting at all, which amounts to plain replications.
+         *
+         * @return the estimator.
+         */
+        public TailProbabilityEstimator withoutSplitting() {
+            return withSplitting(1);
+        }
+    }
+
+    /**
+     * Runs the replications with the seeds
+     * <tt>firstSeed, firstSeed + 1, ..., firstSeed + count - 1</tt>.
+     *
+     * @param  firstSeed the seed of the first replication.
+     * @param  count     the number of replications, at least two.
+     * @return the estimate.
+     */
+    public TailProbabilityEstimate withSeeds(long firstSeed, int count) {
+        if (count < 2) {
+            throw new IllegalArgumentException(
+                    "At least two replications are needed for a confidence " +
+                    "interval, got " + count + ".");
+        }
+
+        double[] sums = new double[DEGREES.length];
+        double[] squareSums = new double[DEGREES.length];
+        long services = 0L;
+        long trajectories = 0L;
+
+        for (int replication = 0; replication < count; ++replication) {
+            Replication run = new Replication(firstSeed + replication);
+            run.run();
+            services += run.services;
+            trajectories += run.trajectories;
+
+            for (int degree = 0; degree < DEGREES.length; ++degree) {
+                double estimate = run.getEstimate(degree);
+                sums[degree] += estimate;
+                squareSums[degree] += estimate * estimate;
+            }
+        }
+
+        return new TailProbabilityEstimate(waitThreshold,
+                                           count,
+                                           sums,
+                                           squareSums,
+                                           services,
+                                           trajectories);
+    }
+
+    /**
+     * Returns the number of levels at or below the given queue length.
+     *
+     * @param  queueLength the queue length.
+     * @return the region of the queue length.
+     */
+    private int getRegion(int queueLength) {
+        int region = 0;
+
+        while (region < levels.length && levels[region] <= queueLength) {
+            ++region;
+        }
+
+        return region;
+    }
+
+    /**
+     * The splitting tree of a single replication.
+     */
+    private final class Replication {
+
+        private final int[] packedPeople;
+        private final int[] degreeCounts = new int[DEGREES.length];
+        private final Deque<Trajectory> pending = new ArrayDeque<>();
+        private final Random splittingRandom;
+
+        /**
+         * The number of long waits per degree and per region.
+         */
+        private final long[][] longWaitCounts =
+                new long[DEGREES.length][levels.length + 1];
+
+        private long services;
+        private long trajectories;
+
+        Replication(long seed) {
+            Random random = new Random(seed);
+            PackedPopulation population =
+                    configuration.generatePopulation(random)
+                                 .toPackedPopulation();
+
+            packedPeople = population.getPackedPeople();
+
+            for (int packedPerson : packedPeople) {
+                ++degreeCounts[PackedPopulation.unpackDegree(packedPerson)];
+            }
+
+            splittingRandom = new Random(seed ^ SPLITTING_SEED_MIX);
+            pending.push(new Trajectory(packedPeople.length == 0 ?
+                                        0 :
+                                        PackedPopulation.unpackArrivalTime(
+                                                packedPeople[0]),
+                                        0,
+                                        new PrimitivePrioritizedQueue(),
+                                        random,
+                                        0));
+        }
+
+        void run() {
+            while (!pending.isEmpty()) {
+                simulate(pending.pop());
+                ++trajectories;
+            }
+        }
+
+        double getEstimate(int degree) {
+            if (degreeCounts[degree] == 0) {
+                return 0.0;
+            }
+
+            double sum = 0.0;
+            double weight = 1.0;
+
+            for (int region = 0; region <= levels.length; ++region) {
+                sum += weight * longWaitCounts[degree][region];
+                weight /= splittingFactor;
+            }
+
+            return sum / degreeCounts[degree];
+        }
+
+        private void simulate(Trajectory trajectory) {
+            Cashier cashier = configuration.createCashier(trajectory.random);
+            PrimitivePrioritizedQueue queue = trajectory.queue;
+            int clock = trajectory.clock;
+            int nextIndex = trajectory.nextIndex;
+            // A retrial splits itself at the rest of the levels crossed by
+            // the step it was born in.
+            int region = trajectory.birthRegion;
+
+            while (true) {
+                nextIndex = loadArrivals(queue, clock, nextIndex);
+
+                if (queue.isEmpty()) {
+                    if (nextIndex == packedPeople.length) {
+                        return;
+                    }
+
+                    // The cashier is idle until the next arrival.
+                    clock = PackedPopulation.unpackArrivalTime(
+                            packedPeople[nextIndex]);
+                    continue;
+                }
+
+                int newRegion = getRegion(queue.size());
+
+                if (newRegion < trajectory.birthRegion) {
+                    // Dropped below the level this trajectory was born at.
+                    return;
+                }
+
+                for (int level = region + 1; level <= newRegion; ++level) {
+                    for (int i = 1; i < splittingFactor; ++i) {
+                        pending.push(
+                                new Trajectory(clock,
+                                               nextIndex,
+                                               queue.copy(),
+                                               new Random(
+                                                   splittingRandom.nextLong()),
+                                               level));
+                    }
+                }
+
+                region = newRegion;
+
+                // Admit an earliest + highest priority person to the cashier.
+                int degree = queue.pop();
+
+                // Serving...
+                clock += cashier.getServiceTime();
+                ++services;
+
+                if (clock - queue.getLastArrivalTime() > waitThreshold) {
+                    ++longWaitCounts[degree][region];
+                }
+                // Served!
+            }
+        }
+
+        private int loadArrivals(PrimitivePrioritizedQueue queue,
+                                 int clock,
+                                 int nextIndex) {
+            while (nextIndex < packedPeople.length) {
+                int packedPerson = packedPeople[nextIndex];
+                int arrivalTime =
+                        PackedPopulation.unpackArrivalTime(packedPerson);
+
+                if (arrivalTime > clock) {
+                    break;
+                }
+
+                queue.push(PackedPopulation.unpackDegree(packedPerson),
+                           arrivalTime,
+                           nextIndex);
+                ++nextIndex;
+            }
+
+            return nextIndex;
+        }
+    }
+
+    /**
+     * A trajectory waiting to be simulated.
+     */
+    private static final class Trajectory {
+
+        private final int clock;
+        private final int nextIndex;
+        private final PrimitivePrioritizedQueue queue;
+        private final Random random;
+        private final int birthRegion;
+
+        Trajectory(int clock,
+                   int nextIndex,
+                   PrimitivePrioritizedQueue queue,
+                   Random random,
+                   int birthRegion) {
+            this.clock = clock;
+            this.nextIndex = nextIndex;
+            this.queue = queue;
+            this.random = random;
+            this.birthRegion = birthRegion;
+        }
+    }
+}
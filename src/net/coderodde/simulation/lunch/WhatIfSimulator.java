@@ -0,0 +1,249 @@
+package net.coderodde.simulation.lunch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import static net.coderodde.simulation.lunch.Utils.checkMean;
+import static net.coderodde.simulation.lunch.Utils.checkStandardDeviation;
+
+/**
+ * This class answers "what if" questions of the form "what if the service 
+ * time distribution changed at time <i>t</i>?" without re-simulating the
+ * whole day. A baseline simulation is run once and its state is captured at
+ * a number of snapshot times. A fork restores the latest snapshot not after
+ * <i>t</i> and simulates only the rest of the day, drawing the service times
+ * from the very same random number sequence as the baseline did. Hence, a 
+ * fork is identical to a full simulation that switches the service time 
+ * distribution at time <i>t</i>.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 19, 2026)
+ */
+public final class WhatIfSimulator {
+    
+    private final PackedPopulation population;
+    private final double meanServiceTime;
+    private final double standardDeviationOfServiceTime;
+    private final List<SimulationEngine.Snapshot> snapshots;
+    private final SimulationResult baselineResult;
+    
+    /**
+     * Initiates the strong fluent API for constructing a 
+     * {@code WhatIfSimulator}.
+     * 
+     * @param  population the population to simulate.
+     * @return a cashier selector.
+     */
+    public static CashierSelector withPopulation(PackedPopulation population) {
+        Objects.requireNonNull(population, "The input population is null.");
+        return new CashierSelector(population);
+    }
+    
+    public static final class CashierSelector {
+        
+        private final PackedPopulation population;
+        
+        private CashierSelector(PackedPopulation population) {
+            this.population = population;
+        }
+        
+        /**
+         * Selects the cashier of the baseline. The cashier must be created by
+         * {@link Cashier#withSeed(long)}, since the snapshots copy the state
+         * of its random number generator. The cashier itself is left as it
+         * is; the baseline draws from a copy of its generator.
+         * 
+         * @param  cashier the cashier.
+         * @return a snapshot selector.
+         */
+        public SnapshotSelector withCashier(Cashier cashier) {
+            Objects.requireNonNull(cashier, "The input cashier is null.");
+            
+            if (!(cashier.getRandom() instanceof CopyableRandom)) {
+                throw new IllegalArgumentException(
+                        "The state of the random number generator " + 
+                        cashier.getRandom().getClass().getName() + 
+                        " cannot be copied; create the cashier with " + 
+                        "Cashier.withSeed(long).");
+            }
+            
+            return new SnapshotSelector(population, cashier);
+        }
+    }
+    
+    public static final class SnapshotSelector {
+        
+        private final PackedPopulation population;
+        private final Cashier cashier;
+        
+        private SnapshotSelector(PackedPopulation population, 
+                                 Cashier cashier) {
+            this.population = population;
+            this.cashier = cashier;
+        }
+        
+        /**
+         * Runs the baseline simulation taking a snapshot every 
+         * {@code interval} seconds counting from the first arrival.
+         * 
+         * @param  interval the time between two consecutive snapshots.
+         * @return the simulator.
+         */
+        public WhatIfSimulator withSnapshotsEvery(int interval) {
+            if (interval < 1) {
+                throw new IllegalArgumentException(
+                        "The snapshot interval is not positive: " + interval);
+            }
+            
+            int size = population.size();
+            
+            if (size == 0) {
+                return new WhatIfSimulator(population, cashier, new int[0]);
+            }
+            
+            long first = population.getArrivalTime(0);
+            long last = population.getArrivalTime(size - 1);
+            int[] times = new int[(int)((last - first) / interval) + 1];
+            
+            for (int i = 0; i < times.length; ++i) {
+                times[i] = (int)(first + (long) i * interval);
+            }
+            
+            return new WhatIfSimulator(population, cashier, times);
+        }
+        
+        /**
+         * Runs the baseline simulation taking a snapshot at each of the given
+         * times.
+         * 
+         * @param  times the snapshot times.
+         * @return the simulator.
+         */
+        public WhatIfSimulator withSnapshotsAt(int... times) {
+            Objects.requireNonNull(times, "The input times are null.");
+            int[] sortedTimes = times.clone();
+            Arrays.sort(sortedTimes);
+            return new WhatIfSimulator(population, cashier, sortedTimes);
+        }
+    }
+    
+    private WhatIfSimulator(PackedPopulation population,
+                            Cashier cashier,
+                            int[] snapshotTimes) {
+        this.population = population;
+        this.meanServiceTime = cashier.getMeanServiceTime();
+        this.standardDeviationOfServiceTime = 
+                cashier.getStandardDeviationOfServiceTime();
+        this.snapshots = new ArrayList<>(snapshotTimes.length + 1);
+        
+        SimulationEngine engine = new SimulationEngine();
+        engine.reset(population.getPackedPeople(), population.size());
+        CopyableRandom random = ((CopyableRandom) cashier.getRandom()).copy();
+        Cashier baselineCashier = 
+                Cashier.withRandom(random)
+                       .withMeanServiceTime(meanServiceTime)
+                       .withStandardDeviationOfServiceTime(
+                               standardDeviationOfServiceTime);
+        int timeIndex = 0;
+        
+        if (!engine.isFinished()) {
+            // The initial snapshot allows forking from any time.
+            snapshots.add(engine.takeSnapshot(random));
+        }
+        
+        while (!engine.isFinished()) {
+            int admissionTime = engine.getNextAdmissionTime();
+            
+            if (timeIndex < snapshotTimes.length 
+                    && snapshotTimes[timeIndex] <= admissionTime) {
+                snapshots.add(engine.takeSnapshot(random));
+                
+                while (timeIndex < snapshotTimes.length
+                        && snapshotTimes[timeIndex] <= admissionTime) {
+                    ++timeIndex;
+                }
+            }
+            
+            engine.serveNext(baselineCashier);
+        }
+        
+        this.baselineResult = engine.toSimulationResult();
+    }
+    
+    public SimulationResult getBaselineResult() {
+        return baselineResult;
+    }
+    
+    public int getSnapshotCount() {
+        return snapshots.size();
+    }
+    
+    /**
+     * Re-simulates the day such that every person admitted to the cashier at
+     * time {@code fromTime} or later is served with the given service time 
+     * distribution.
+     * 
+     * @param  fromTime                       the time of the change.
+     * @param  meanServiceTime                the new mean service time.
+     * @param  standardDeviationOfServiceTime the new standard deviation of the
+     *                                        service time.
+     * @return the result of the modified day.
+     */
+    public SimulationResult fork(int fromTime, 
+                                 double meanServiceTime,
+                                 double standardDeviationOfServiceTime) {
+        checkMean(meanServiceTime);
+        checkStandardDeviation(standardDeviationOfServiceTime);
+        
+        SimulationEngine engine = new SimulationEngine();
+        engine.reset(population.getPackedPeople(), population.size());
+        
+        if (snapshots.isEmpty()) {
+            return engine.toSimulationResult();
+        }
+        
+        SimulationEngine.Snapshot snapshot = findSnapshot(fromTime);
+        engine.restore(snapshot);
+        
+        // Both cashiers share one generator just like the baseline did.
+        Random random = snapshot.copyCashierRandom();
+        Cashier oldCashier = 
+                Cashier.withRandom(random)
+                       .withMeanServiceTime(this.meanServiceTime)
+                       .withStandardDeviationOfServiceTime(
+                               this.standardDeviationOfServiceTime);
+        Cashier newCashier = 
+                Cashier.withRandom(random)
+                       .withMeanServiceTime(meanServiceTime)
+                       .withStandardDeviationOfServiceTime(
+                               standardDeviationOfServiceTime);
+        
+        while (!engine.isFinished()) {
+            engine.serveNext(engine.getNextAdmissionTime() < fromTime ?
+                             oldCashier :
+                             newCashier);
+        }
+        
+        return engine.toSimulationResult();
+    }
+    
+    private SimulationEngine.Snapshot findSnapshot(int fromTime) {
+        int low = 0;
+        int high = snapshots.size() - 1;
+        
+        // The initial snapshot is a valid answer for any time.
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            
+            if (snapshots.get(middle).getAdmissionTime() <= fromTime) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        
+        return snapshots.get(low);
+    }
+}